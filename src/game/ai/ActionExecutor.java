@@ -0,0 +1,87 @@
+package game.ai;
+
+import game.building.Building;
+import game.building.TrainingCamp;
+import game.combat.CombatSystem;
+import game.engine.TurnEngine;
+import game.map.GameMap;
+import game.player.Player;
+import game.unit.Unit;
+
+/**
+ * Joue dans la partie réelle une action choisie sur un état capturé (SearchState)
+ *
+ * Les attaques et déplacements passent par le CombatSystem du moteur (mêmes
+ * vérifications et mêmes événements que pour un joueur humain) ; constructions et
+ * recrutements suivent ce que font les interfaces : payer, ajouter au joueur, poser
+ * sur la carte (la recrue sur la case de son camp).
+ */
+public final class ActionExecutor {
+
+    private ActionExecutor() {
+    }
+
+    /**
+     * @param state État capturé depuis la partie, dans la phase du camp qui joue
+     * @return true si l'action a eu lieu
+     */
+    public static boolean execute(TurnEngine engine, SearchState state, int action) {
+        CombatSystem combatSystem = engine.getCombatSystem();
+        GameMap map = engine.getMap();
+        Player self = state.getSideToMove() == 0 ? engine.getPlayer() : engine.getEnemy();
+        int subject = SearchAction.subject(action);
+        int object = SearchAction.object(action);
+        Unit unit = SearchAction.isUnitAction(action) ? state.getUnitRef(subject) : null;
+        if (SearchAction.isUnitAction(action) && unit == null) {
+            return false;
+        }
+
+        switch (SearchAction.type(action)) {
+            case SearchAction.ATTACK_UNIT: {
+                Unit target = state.getUnitRef(object);
+                return target != null && combatSystem.performAttack(unit, target);
+            }
+            case SearchAction.ATTACK_BUILDING: {
+                Building target = state.getBuildingRef(object);
+                return target != null && combatSystem.performAttack(unit, target);
+            }
+            case SearchAction.ADVANCE:
+            case SearchAction.ENGAGE: {
+                int cell = state.moveDestination(action);
+                int width = state.getBoard().getWidth();
+                return cell != SearchState.NO_CELL && combatSystem.moveUnit(unit, cell % width, cell / width);
+            }
+            case SearchAction.HOLD:
+                unit.setHasActed(true);
+                return true;
+            case SearchAction.BUILD: {
+                int cell = state.buildSite();
+                if (cell == SearchState.NO_CELL) {
+                    return false;
+                }
+                int width = state.getBoard().getWidth();
+                Building building = SearchState.newBuilding(subject, self, cell % width, cell / width);
+                if (!self.payResources(building.getCost())) {
+                    return false;
+                }
+                self.addBuilding(building);
+                map.setBuildingAt(building.getX(), building.getY(), building);
+                return true;
+            }
+            case SearchAction.RECRUIT: {
+                Building camp = state.getBuildingRef(object);
+                if (!(camp instanceof TrainingCamp) || map.hasUnitAt(camp.getX(), camp.getY())) {
+                    return false;
+                }
+                Unit recruit = SearchState.newUnit(subject, self, camp.getX(), camp.getY());
+                if (!((TrainingCamp) camp).recruit(recruit)) {
+                    return false;
+                }
+                map.setUnitAt(camp.getX(), camp.getY(), recruit);
+                return true;
+            }
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package game.ai;
+
+import java.util.Arrays;
+
+/**
+ * Recherche exhaustive alpha-bêta pour les combats locaux à quelques unités
+ *
+ * Le solveur explore les actions des unités engagées (attaques, déplacements,
+ * attente) des deux camps sur un SearchState, en approfondissement itératif :
+ * profondeur 1, 2, 3... jusqu'à l'épuisement du budget de temps. La ligne rendue est
+ * celle de la dernière profondeur terminée (à défaut, la meilleure trouvée jusque-là
+ * dans la première). Les unités non engagées attendent sans coûter de profondeur, et
+ * l'économie n'est pas explorée : sans unité engagée prête, le camp finit sa phase.
+ *
+ * Les dégâts sont fixés (facteur médian, pas de coup critique : SearchState.apply
+ * sans générateur), si bien que l'arbre est déterministe. Les scores sont vus du
+ * camp 0 : le camp 0 maximise, le camp 1 minimise ; une victoire vaut WIN moins la
+ * distance en demi-coups, pour préférer la plus rapide.
+ *
+ * Ordre des actions : celle de la table de transposition, puis les attaques (Centre
+ * de Commandement d'abord, puis la cible la plus affaiblie), puis les deux coups
+ * « killer » du niveau, puis le reste dans l'ordre de SearchState.legalActions.
+ *
+ * Un solveur n'est pas thread-safe ; sa table peut être partagée entre plusieurs.
+ */
+public final class AlphaBetaSolver {
+    /** Profondeur maximale en demi-coups (une décision d'unité ou une fin de phase) */
+    public static final int MAX_PLY = 48;
+    /** Score d'une victoire du camp 0 au niveau de la racine */
+    public static final int WIN = 30000;
+
+    private static final int WIN_BOUND = WIN - MAX_PLY;     // Au-delà, le score est une victoire
+    private static final int INFINITY = WIN + MAX_PLY + 1;
+    private static final int EVALUATION_RANGE = 10000;     // SearchState.evaluate ramené à ±EVALUATION_RANGE
+    private static final int TIME_CHECK_MASK = 1023;       // Horloge lue tous les 1024 nœuds
+
+    // Priorités de l'ordre des actions
+    private static final int HASH_MOVE_KEY = 1 << 30;
+    private static final int COMMAND_CENTER_KEY = 1 << 29;
+    private static final int UNIT_CAPTURE_KEY = 1 << 28;
+    private static final int BUILDING_CAPTURE_KEY = 1 << 27;
+    private static final int KILLER_KEY = 1 << 26;
+    private static final int MAX_HP_KEY = 0xFFFF;
+
+    private final TranspositionTable table;
+    private final SearchState[] states = new SearchState[MAX_PLY + 1];
+    private final int[][] moves = new int[MAX_PLY][];
+    private final int[][] keys = new int[MAX_PLY][];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];   // Ligne principale de chaque niveau
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    private boolean[] engaged;
+    private long engagedSalt;       // Mêlé aux empreintes : la table sert à plusieurs ensembles d'unités engagées
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int lastDepth;
+    private int lastScore;
+    private long lastNodes;
+
+    public AlphaBetaSolver(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Cherche la meilleure ligne pour le camp qui joue dans root
+     * @param engaged Unités engagées, par emplacement de root (les autres attendent)
+     * @param budgetNanos Temps de recherche
+     * @param maxDepth Profondeur maximale (au plus MAX_PLY)
+     * @return Actions de la ligne principale, vide si la partie est finie
+     */
+    public int[] solve(SearchState root, boolean[] engaged, long budgetNanos, int maxDepth) {
+        this.deadline = System.nanoTime() + budgetNanos;
+        this.engaged = engaged;
+        this.engagedSalt = salt(engaged);
+        this.aborted = false;
+        this.nodes = 0;
+        prepare(root);
+
+        states[0].copyFrom(root);       // root a pu changer depuis le dernier appel
+        int[] line = new int[0];
+        lastDepth = 0;
+        lastScore = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            states[0].resetTo(root);
+            int score = search(0, depth, -INFINITY, INFINITY);
+            if (aborted) {
+                if (line.length == 0) {
+                    line = Arrays.copyOf(pv[0], pvLength[0]);
+                }
+                break;
+            }
+            line = Arrays.copyOf(pv[0], pvLength[0]);
+            lastDepth = depth;
+            lastScore = score;
+            if (line.length == 0 || Math.abs(score) > WIN_BOUND) {
+                break;      // Partie finie, ou issue forcée trouvée
+            }
+        }
+        lastNodes = nodes;
+        return line;
+    }
+
+    private void prepare(SearchState root) {
+        if (states[0] == null || states[0].getBoard() != root.getBoard()) {
+            for (int ply = 0; ply <= MAX_PLY; ply++) {
+                states[ply] = new SearchState(root);
+            }
+            for (int ply = 0; ply < MAX_PLY; ply++) {
+                states[ply].setFollower(states[ply + 1]);       // Remises case par case d'un niveau à l'autre
+            }
+        }
+        int capacity = root.maxActions();
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            if (moves[ply] == null || moves[ply].length < capacity) {
+                moves[ply] = new int[capacity];
+                keys[ply] = new int[capacity];
+            }
+            Arrays.fill(killers[ply], -1);
+        }
+    }
+
+    private int search(int ply, int depth, int alpha, int beta) {
+        pvLength[ply] = ply;
+        SearchState state = states[ply];
+        holdDisengaged(state);
+        if (state.isTerminal()) {
+            return state.getWinner() == 0 ? WIN - ply : ply - WIN;
+        }
+        if (depth <= 0 || ply == MAX_PLY) {
+            return (int) Math.round((state.evaluate() - 0.5) * 2 * EVALUATION_RANGE);
+        }
+        if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long key = state.hash() ^ engagedSalt;
+        long entry = table.probe(key);
+        int hashMove = -1;
+        if (entry != 0) {
+            hashMove = TranspositionTable.action(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int n = generate(state, ply, hashMove);
+        boolean maximizing = state.getSideToMove() == 0;
+        int alphaOrigin = alpha;
+        int betaOrigin = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = -1;
+        SearchState child = states[ply + 1];
+        for (int i = 0; i < n; i++) {
+            int move = pickNext(ply, i, n);
+            child.resetTo(state);
+            child.apply(move, null);
+            int score = search(ply + 1, depth - 1, alpha, beta);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = move;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                if (!isCapture(move)) {
+                    storeKiller(ply, move);
+                }
+                break;
+            }
+        }
+
+        int bound = best <= alphaOrigin ? TranspositionTable.UPPER
+                : best >= betaOrigin ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Fait attendre les unités non engagées qui précèdent la prochaine décision
+     */
+    private void holdDisengaged(SearchState state) {
+        for (int unit = state.currentUnit(); unit >= 0 && !isEngaged(unit); unit = state.currentUnit()) {
+            state.apply(SearchAction.of(SearchAction.HOLD, unit, 0), null);
+        }
+    }
+
+    private boolean isEngaged(int unit) {
+        return unit < engaged.length && engaged[unit];
+    }
+
+    /**
+     * Empreinte de l'ensemble des unités engagées : le même état n'a pas la même
+     * valeur si d'autres unités attendent
+     */
+    private static long salt(boolean[] engaged) {
+        long h = 0;
+        for (int u = 0; u < engaged.length; u++) {
+            if (engaged[u]) {
+                h = (h ^ (u + 1)) * 0x9E3779B97F4A7C15L;
+            }
+        }
+        return h ^ (h >>> 31);
+    }
+
+    // ===== Ordre des actions =====
+
+    /**
+     * Actions d'unité permises, ou la seule fin de phase, avec leur clé d'ordre
+     */
+    private int generate(SearchState state, int ply, int hashMove) {
+        int[] out = moves[ply];
+        int[] order = keys[ply];
+        if (state.currentUnit() < 0) {
+            out[0] = SearchAction.of(SearchAction.END_TURN, 0, 0);
+            order[0] = 0;
+            return 1;
+        }
+        int n = state.legalActions(out);
+        for (int i = 0; i < n; i++) {
+            int move = out[i];
+            int object = SearchAction.object(move);
+            if (move == hashMove) {
+                order[i] = HASH_MOVE_KEY;
+            } else if (SearchAction.type(move) == SearchAction.ATTACK_BUILDING) {
+                order[i] = state.getBuildingKind(object) == SearchState.COMMAND_CENTER
+                        ? COMMAND_CENTER_KEY : BUILDING_CAPTURE_KEY;
+            } else if (SearchAction.type(move) == SearchAction.ATTACK_UNIT) {
+                order[i] = UNIT_CAPTURE_KEY + MAX_HP_KEY - Math.min(state.getUnitHp(object), MAX_HP_KEY);
+            } else if (move == killers[ply][0]) {
+                order[i] = KILLER_KEY + 1;
+            } else if (move == killers[ply][1]) {
+                order[i] = KILLER_KEY;
+            } else {
+                order[i] = 0;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Sélection de la meilleure clé restante (tri incrémental : une coupure épargne le reste)
+     */
+    private int pickNext(int ply, int from, int n) {
+        int[] out = moves[ply];
+        int[] order = keys[ply];
+        int best = from;
+        for (int i = from + 1; i < n; i++) {
+            if (order[i] > order[best]) {
+                best = i;
+            }
+        }
+        int move = out[best];
+        int key = order[best];
+        out[best] = out[from];
+        order[best] = order[from];
+        out[from] = move;
+        order[from] = key;
+        return move;
+    }
+
+    private static boolean isCapture(int move) {
+        int type = SearchAction.type(move);
+        return type == SearchAction.ATTACK_UNIT || type == SearchAction.ATTACK_BUILDING;
+    }
+
+    private void storeKiller(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    // ===== Scores de victoire dans la table : distance comptée depuis le nœud =====
+
+    private static int toTable(int score, int ply) {
+        return score > WIN_BOUND ? score + ply : score < -WIN_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score > WIN_BOUND ? score - ply : score < -WIN_BOUND ? score + ply : score;
+    }
+
+    // ===== Getters =====
+
+    /**
+     * Dernière profondeur entièrement explorée lors du dernier appel à solve
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Score de la ligne rendue, vu du camp 0 (±WIN : victoire forcée)
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+}
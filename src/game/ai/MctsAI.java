@@ -0,0 +1,255 @@
+package game.ai;
+
+import game.engine.PlayerController;
+import game.engine.TurnEngine;
+import game.player.Player;
+import game.random.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adversaire par recherche arborescente Monte-Carlo (MCTS, sélection UCT)
+ *
+ * Au début de sa phase, l'IA capture la partie (SearchState) et cherche pendant un
+ * budget de temps fixe. L'arbre couvre les décisions des deux camps (attaques,
+ * déplacements, constructions, recrutements, fin de phase) jusqu'à HORIZON_TURNS
+ * tours ; chaque simulation finit par la politique de SearchState.playoutAction et
+ * l'évaluation de SearchState.evaluate. Les dégâts étant aléatoires, les états ne
+ * sont pas rangés dans l'arbre : chaque descente rejoue les actions depuis la racine
+ * et ignore celles que son propre tirage a rendues impossibles (MCTS « en boucle
+ * ouverte »).
+ *
+ * La recherche est parallèle sur l'arbre : tous les threads partagent les mêmes
+ * nœuds, sans verrou (MctsNode), avec perte virtuelle pour qu'ils se répartissent
+ * les branches. Plus de cœurs donnent plus de simulations dans le même budget.
+ *
+ * Le plan retenu suit les actions les plus visitées ; chacune est rejouée dans la
+ * partie réelle (ActionExecutor) sur une nouvelle capture, et les décisions que
+ * l'arbre n'a pas assez explorées reviennent à la politique de simulation.
+ */
+public class MctsAI implements PlayerController {
+    /** Budget de recherche par tour par défaut */
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+
+    private static final double EXPLORATION = 0.7;
+    private static final int VIRTUAL_LOSS = 3;
+    private static final int EXPANSION_VISITS = 2;      // Visites d'une feuille avant de la développer
+    private static final int HORIZON_TURNS = 3;
+    private static final int MIN_PLAN_VISITS = 8;       // En dessous, repli sur la politique de simulation
+
+    private final long budgetNanos;
+    private final int threads;
+    private SearchBoard board;
+    private long lastIterations;
+
+    public MctsAI() {
+        this(DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param budgetMillis Temps de recherche par tour
+     * @param threads Threads de recherche (le thread appelant compris)
+     */
+    public MctsAI(long budgetMillis, int threads) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public void playTurn(TurnEngine engine, Player self) {
+        if (board == null || !board.matches(engine)) {
+            board = new SearchBoard(engine);
+        }
+        SearchState root = SearchState.capture(engine, self, board, null, 0);
+        if (root.isTerminal()) {
+            return;
+        }
+        MctsNode tree = search(root, engine.getRandomStreams());
+        executePlan(engine, self, tree, root);
+    }
+
+    // ===== Recherche =====
+
+    private MctsNode search(SearchState root, RandomStreams streams) {
+        MctsNode tree = new MctsNode(-1, -1);
+        long deadline = System.nanoTime() + budgetNanos;
+        int horizon = root.getTurn() + HORIZON_TURNS;
+        AtomicLong iterations = new AtomicLong();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 1; w < threads; w++) {
+            SplittableRandom random = workerRandom(streams, root, w);
+            Thread worker = new Thread(() -> iterations.addAndGet(runWorker(tree, root, random, horizon, deadline)),
+                                       "mcts-" + w);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        iterations.addAndGet(runWorker(tree, root, workerRandom(streams, root, 0), horizon, deadline));
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        lastIterations = iterations.get();
+        return tree;
+    }
+
+    /**
+     * Flux du thread de travail : indexé par tour et par numéro de thread (voir
+     * RandomStreams.workerStream)
+     */
+    private SplittableRandom workerRandom(RandomStreams streams, SearchState root, int worker) {
+        return streams.workerStream(RandomStreams.Subsystem.AI, root.getTurn() * threads * 2
+                                    + root.getSideToMove() * threads + worker);
+    }
+
+    private long runWorker(MctsNode tree, SearchState root, SplittableRandom random, int horizon, long deadline) {
+        SearchState state = new SearchState(root);
+        int[] buffer = new int[root.maxActions()];
+        List<MctsNode> path = new ArrayList<>();
+        long count = 0;
+        do {
+            state.resetTo(root);
+            buffer = iterate(tree, state, random, horizon, buffer, path);
+            count++;
+        } while (System.nanoTime() < deadline);
+        return count;
+    }
+
+    /**
+     * Une simulation : sélection, développement, simulation, rétropropagation
+     * @return Tableau de travail (agrandi si besoin)
+     */
+    private int[] iterate(MctsNode tree, SearchState state, SplittableRandom random, int horizon,
+                          int[] buffer, List<MctsNode> path) {
+        path.clear();
+        MctsNode node = tree;
+        while (!state.isTerminal() && state.getTurn() < horizon) {
+            MctsNode[] children = node.getChildren();
+            if (children == null) {
+                if (node != tree && node.getVisits() < EXPANSION_VISITS) {
+                    break;
+                }
+                if (buffer.length < state.maxActions()) {
+                    buffer = new int[state.maxActions()];
+                }
+                children = node.expand(createChildren(state, buffer));
+            }
+            MctsNode child = select(node, children, state);
+            if (child == null) {
+                break;      // Aucune action de l'arbre n'est possible dans ce tirage
+            }
+            child.addVirtualLoss(VIRTUAL_LOSS);
+            path.add(child);
+            state.apply(child.action, random);
+            node = child;
+        }
+
+        double reward = state.playout(random, horizon, buffer);
+        tree.update(reward, 0);
+        for (MctsNode visited : path) {
+            visited.update(visited.side == 0 ? reward : 1 - reward, VIRTUAL_LOSS);
+        }
+        return buffer;
+    }
+
+    private static MctsNode[] createChildren(SearchState state, int[] buffer) {
+        int n = state.legalActions(buffer);
+        MctsNode[] children = new MctsNode[n];
+        for (int i = 0; i < n; i++) {
+            children[i] = new MctsNode(buffer[i], state.getSideToMove());
+        }
+        return children;
+    }
+
+    /**
+     * UCT parmi les enfants possibles dans cet état ; un enfant jamais visité passe en premier
+     */
+    private static MctsNode select(MctsNode node, MctsNode[] children, SearchState state) {
+        double logVisits = Math.log(Math.max(1, node.getVisits()));
+        MctsNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (MctsNode child : children) {
+            if (!state.isLegal(child.action)) {
+                continue;
+            }
+            int visits = child.getVisits();
+            if (visits == 0) {
+                return child;
+            }
+            double value = child.meanScore() + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    // ===== Plan =====
+
+    /**
+     * Joue la phase dans la partie réelle en suivant les actions les plus visitées
+     */
+    private void executePlan(TurnEngine engine, Player self, MctsNode tree, SearchState root) {
+        MctsNode node = tree;
+        SearchState current = root;
+        int economyActions = 0;
+        int[] buffer = new int[root.maxActions()];
+        int maxSteps = 2 * (root.getUnitCount() + SearchState.MAX_ECONOMY_ACTIONS) + 8;
+        for (int step = 0; step < maxSteps && !engine.isOver(); step++) {
+            if (step > 0) {
+                current = SearchState.capture(engine, self, board, current, economyActions);
+            }
+            MctsNode chosen = mostVisited(node, current);
+            if (buffer.length < current.maxActions()) {
+                buffer = new int[current.maxActions()];
+            }
+            int action = chosen != null ? chosen.action : current.playoutAction(null, buffer);
+            node = chosen;
+            int type = SearchAction.type(action);
+            if (type == SearchAction.END_TURN) {
+                return;
+            }
+            if (type == SearchAction.BUILD || type == SearchAction.RECRUIT) {
+                economyActions++;
+            }
+            if (!ActionExecutor.execute(engine, current, action) && SearchAction.isUnitAction(action)) {
+                current.getUnitRef(SearchAction.subject(action)).setHasActed(true);
+            }
+        }
+    }
+
+    private static MctsNode mostVisited(MctsNode node, SearchState state) {
+        MctsNode[] children = node != null ? node.getChildren() : null;
+        if (children == null) {
+            return null;
+        }
+        MctsNode best = null;
+        for (MctsNode child : children) {
+            if (child.getVisits() >= MIN_PLAN_VISITS && state.isLegal(child.action)
+                    && (best == null || child.getVisits() > best.getVisits())) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Simulations faites lors de la dernière recherche (tous threads confondus)
+     */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,73 @@
+package game.ai;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Nœud de l'arbre de MctsAI, partagé sans verrou par tous les threads de la recherche
+ *
+ * Visites et score cumulé sont mis à jour atomiquement ; les enfants sont publiés
+ * une seule fois par compareAndSet (le thread perdant adopte le tableau du gagnant).
+ * La perte virtuelle compte une descente en cours comme des visites sans gain, pour
+ * que les autres threads explorent d'autres branches en attendant son résultat.
+ */
+final class MctsNode {
+    private static final AtomicIntegerFieldUpdater<MctsNode> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(MctsNode.class, "visits");
+    private static final AtomicLongFieldUpdater<MctsNode> SCORE =
+            AtomicLongFieldUpdater.newUpdater(MctsNode.class, "score");
+    private static final AtomicReferenceFieldUpdater<MctsNode, MctsNode[]> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(MctsNode.class, MctsNode[].class, "children");
+
+    // Score en virgule fixe : gain entre 0 et 1 multiplié par SCORE_SCALE
+    private static final double SCORE_SCALE = 1 << 20;
+
+    final int action;       // Action qui mène à ce nœud (SearchAction)
+    final int side;         // Camp qui l'a jouée : le score est vu de ce camp
+    private volatile int visits;
+    private volatile long score;
+    private volatile MctsNode[] children;
+
+    MctsNode(int action, int side) {
+        this.action = action;
+        this.side = side;
+    }
+
+    int getVisits() {
+        return visits;
+    }
+
+    /**
+     * Gain moyen du camp qui a joué l'action (perte virtuelle en cours comprise)
+     */
+    double meanScore() {
+        int n = visits;
+        return n > 0 ? score / SCORE_SCALE / n : 0;
+    }
+
+    MctsNode[] getChildren() {
+        return children;
+    }
+
+    /**
+     * Publie les enfants s'il n'y en a pas encore
+     * @return Enfants effectivement publiés (ceux d'un autre thread s'il a été plus rapide)
+     */
+    MctsNode[] expand(MctsNode[] created) {
+        return CHILDREN.compareAndSet(this, null, created) ? created : children;
+    }
+
+    void addVirtualLoss(int virtualLoss) {
+        VISITS.getAndAdd(this, virtualLoss);
+    }
+
+    /**
+     * Résultat d'une simulation : remplace la perte virtuelle par une visite réelle
+     * @param reward Gain du camp qui a joué l'action, entre 0 et 1
+     */
+    void update(double reward, int virtualLoss) {
+        VISITS.getAndAdd(this, 1 - virtualLoss);
+        SCORE.getAndAdd(this, Math.round(reward * SCORE_SCALE));
+    }
+}
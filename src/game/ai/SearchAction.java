@@ -0,0 +1,61 @@
+package game.ai;
+
+/**
+ * Actions du modèle de recherche (SearchState), codées sur un int
+ *
+ * Type sur 8 bits, sujet et objet sur 12 bits chacun. Pour les actions d'unité, le
+ * sujet est l'emplacement de l'unité qui agit et l'objet celui de sa cible ; pour
+ * BUILD, le sujet est le type de bâtiment ; pour RECRUIT, le sujet est le type
+ * d'unité et l'objet l'emplacement du Camp d'Entraînement.
+ */
+public final class SearchAction {
+    /** Fin de la phase du camp qui joue */
+    public static final int END_TURN = 0;
+    /** L'unité ne fait rien ce tour */
+    public static final int HOLD = 1;
+    public static final int ATTACK_UNIT = 2;
+    public static final int ATTACK_BUILDING = 3;
+    /** Avance le long du champ de distances vers le Centre de Commandement adverse */
+    public static final int ADVANCE = 4;
+    /** Marche vers l'unité ennemie la plus proche jusqu'à l'avoir à portée */
+    public static final int ENGAGE = 5;
+    public static final int BUILD = 6;
+    public static final int RECRUIT = 7;
+
+    private static final int FIELD_BITS = 12;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final String[] NAMES = {
+        "FIN", "ATTENTE", "ATTAQUE", "SIEGE", "AVANCE", "ENGAGE", "CONSTRUIT", "RECRUTE"
+    };
+
+    private SearchAction() {
+    }
+
+    public static int of(int type, int subject, int object) {
+        return (type << (2 * FIELD_BITS)) | (subject << FIELD_BITS) | object;
+    }
+
+    public static int type(int action) {
+        return action >>> (2 * FIELD_BITS);
+    }
+
+    public static int subject(int action) {
+        return (action >>> FIELD_BITS) & FIELD_MASK;
+    }
+
+    public static int object(int action) {
+        return action & FIELD_MASK;
+    }
+
+    /**
+     * Vrai pour les actions d'une unité (le sujet est son emplacement)
+     */
+    public static boolean isUnitAction(int action) {
+        int type = type(action);
+        return type >= HOLD && type <= ENGAGE;
+    }
+
+    public static String describe(int action) {
+        return NAMES[type(action)] + "(" + subject(action) + ", " + object(action) + ")";
+    }
+}
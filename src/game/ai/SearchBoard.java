@@ -0,0 +1,89 @@
+package game.ai;
+
+import game.building.CommandCenter;
+import game.engine.TurnEngine;
+import game.map.GameMap;
+import game.map.TileType;
+import game.pathfinding.FlowField;
+import game.pathfinding.GridPathfinder;
+
+/**
+ * Terrain d'une partie vu par les IA de recherche, partagé en lecture par tous les
+ * états (SearchState) et tous les threads d'une recherche
+ *
+ * Par case : coût d'entrée (GridPathfinder.stepCost, -1 si infranchissable) et bonus
+ * de défense. S'y ajoutent la règle de zone de contrôle et, pour chaque camp, le champ
+ * de distances vers son Centre de Commandement : celui de FlowFieldService, que suivent
+ * aussi les unités réelles. Le terrain ne change pas ; un champ n'est modifié que par
+ * la carte réelle, jamais pendant une recherche.
+ */
+public final class SearchBoard {
+    private final GameMap map;
+    private final int width;
+    private final int height;
+    private final int[] stepCosts;
+    private final int[] defenseBonuses;
+    private final boolean zoneOfControl;
+    private final FlowField[] commandFields;    // [camp] : vers le Centre de Commandement du camp
+
+    public SearchBoard(TurnEngine engine) {
+        this.map = engine.getMap();
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+        this.stepCosts = new int[width * height];
+        this.defenseBonuses = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                TileType type = map.getTileType(x, y);
+                stepCosts[y * width + x] = GridPathfinder.stepCost(type);
+                defenseBonuses[y * width + x] = type.getDefenseBonus();
+            }
+        }
+        this.zoneOfControl = map.hasZoneOfControl();
+        this.commandFields = new FlowField[] {
+            engine.getFlowFields().getField(engine.getPlayer(), CommandCenter.class),
+            engine.getFlowFields().getField(engine.getEnemy(), CommandCenter.class)
+        };
+    }
+
+    /**
+     * Vrai si le plateau décrit toujours la partie (même carte, même règle de zone de contrôle)
+     */
+    public boolean matches(TurnEngine engine) {
+        return engine.getMap() == map && map.hasZoneOfControl() == zoneOfControl;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isValidPosition(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Coût d'entrée d'une case (index y * largeur + x), -1 si infranchissable
+     */
+    public int getStepCost(int cell) {
+        return stepCosts[cell];
+    }
+
+    public int getDefenseBonus(int cell) {
+        return defenseBonuses[cell];
+    }
+
+    public boolean hasZoneOfControl() {
+        return zoneOfControl;
+    }
+
+    /**
+     * Champ de distances vers le Centre de Commandement d'un camp (0 : joueur, 1 : adversaire)
+     */
+    public FlowField getCommandField(int side) {
+        return commandFields[side];
+    }
+}
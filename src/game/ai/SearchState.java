@@ -0,0 +1,1234 @@
+package game.ai;
+
+import game.building.Building;
+import game.building.CommandCenter;
+import game.building.Farm;
+import game.building.Mine;
+import game.building.Sawmill;
+import game.building.TrainingCamp;
+import game.combat.CombatSystem;
+import game.engine.MatchState;
+import game.engine.TurnEngine;
+import game.map.Bitboard;
+import game.map.GameMap;
+import game.pathfinding.FlowField;
+import game.pathfinding.GridPathfinder;
+import game.player.Player;
+import game.resource.ResourceType;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Modèle compact d'une partie pour les IA de recherche
+ *
+ * L'état tient dans des tableaux d'entiers : unités et bâtiments par emplacement
+ * (stable : une unité morte garde le sien), occupation des cases, ressources, camp qui
+ * joue, numéro de tour. Il se capture depuis un TurnEngine (capture) et rejoue les
+ * règles du jeu sans objet Unit ni Building : dégâts tirés par CombatSystem.rollStrike
+ * et ses variantes, déplacements selon GridPathfinder et FlowFieldService, production
+ * et construction comme TurnEngine (camp 0 puis camp 1, puis production des deux).
+ *
+ * Comme sur la carte réelle, une unité morte reste sur sa case. Les unités ennemies
+ * que le camp qui capture ne voit pas sont absentes du modèle.
+ *
+ * Une décision à la fois : chaque unité prête du camp qui joue choisit son action
+ * (attaque, avance, engagement, attente), dans l'ordre des emplacements ; viennent
+ * ensuite au plus MAX_ECONOMY_ACTIONS constructions ou recrutements, puis END_TURN.
+ *
+ * Un état n'est pas thread-safe ; l'état capturé sert de racine en lecture seule et
+ * chaque thread rejoue ses simulations dans sa propre copie (resetTo).
+ */
+public final class SearchState {
+    // Types d'unités (indices de UNIT_ARCHETYPES)
+    public static final int SOLDIER = 0;
+    public static final int ARCHER = 1;
+    public static final int CAVALRY = 2;
+
+    // Types de bâtiments (indices de BUILDING_ARCHETYPES)
+    public static final int COMMAND_CENTER = 0;
+    public static final int FARM = 1;
+    public static final int MINE = 2;
+    public static final int SAWMILL = 3;
+    public static final int TRAINING_CAMP = 4;
+
+    /** Constructions et recrutements au plus par phase */
+    public static final int MAX_ECONOMY_ACTIONS = 2;
+    /** Case absente (unité hors carte, bâtiment détruit, pas de site) */
+    public static final int NO_CELL = -1;
+
+    private static final Unit[] UNIT_ARCHETYPES = {
+        new Soldier(null, 0, 0), new Archer(null, 0, 0), new Cavalry(null, 0, 0)
+    };
+    private static final Building[] BUILDING_ARCHETYPES = {
+        new CommandCenter(null, 0, 0), new Farm(null, 0, 0), new Mine(null, 0, 0),
+        new Sawmill(null, 0, 0), new TrainingCamp(null, 0, 0)
+    };
+    private static final int RESOURCES = ResourceType.values().length;
+    private static final int[][] UNIT_COSTS = new int[UNIT_ARCHETYPES.length][RESOURCES];
+    private static final int[][] BUILDING_COSTS = new int[BUILDING_ARCHETYPES.length][RESOURCES];
+    private static final int[][] BUILDING_PRODUCTION = new int[BUILDING_ARCHETYPES.length][RESOURCES];
+    private static final int[] UNIT_VALUES = new int[UNIT_ARCHETYPES.length];
+    private static final int[] BUILDING_VALUES = new int[BUILDING_ARCHETYPES.length];
+
+    // Évaluation : valeur d'une ressource en stock, et écart de valeur qui vaut ~73% de victoire
+    private static final double RESOURCE_WEIGHT = 0.05;
+    private static final double EVALUATION_SCALE = 200;
+
+    private static final int BUILD_RADIUS = 3;      // Sites de construction autour du Centre de Commandement
+    private static final int[] BUILD_SITE_OFFSETS = buildSiteOffsets();
+    private static final int CAPACITY_MARGIN = 8;
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    static {
+        for (int kind = 0; kind < UNIT_ARCHETYPES.length; kind++) {
+            UNIT_VALUES[kind] = fill(UNIT_COSTS[kind], UNIT_ARCHETYPES[kind].getCost());
+        }
+        for (int kind = 0; kind < BUILDING_ARCHETYPES.length; kind++) {
+            BUILDING_VALUES[kind] = fill(BUILDING_COSTS[kind], BUILDING_ARCHETYPES[kind].getCost());
+            fill(BUILDING_PRODUCTION[kind], BUILDING_ARCHETYPES[kind].getProduction());
+        }
+    }
+
+    private final SearchBoard board;
+    private final int width;
+
+    // Unités, par emplacement
+    private int unitCount;
+    private int[] unitKind;
+    private int[] unitSide;
+    private int[] unitCell;
+    private int[] unitHp;
+    private int[] unitMaxHp;
+    private int[] unitAttack;
+    private int[] unitDefense;
+    private int[] unitRange;
+    private int[] unitBudget;       // Points de mouvement en centièmes (GridPathfinder.movementBudget)
+    private boolean[] unitActed;
+
+    // Bâtiments, par emplacement
+    private int buildingCount;
+    private int[] buildingKind;
+    private int[] buildingSide;
+    private int[] buildingCell;
+    private int[] buildingHp;
+    private int[] buildingRemaining;    // Tours de construction restants (0 : construit)
+
+    // Occupation des cases : emplacement + 1, 0 si libre
+    private final int[] unitAt;
+    private final int[] buildingAt;
+
+    private final int[] resources;      // camp * RESOURCES + ResourceType.ordinal()
+    private int sideToMove;
+    private int turn;
+    private int economyActions;         // Constructions et recrutements de la phase en cours
+    private int cursor;                 // Aucune unité prête avant cet emplacement
+    private int winner;                 // Camp vainqueur, -1 si la partie continue
+
+    // Objets réels de l'état capturé, partagés par ses copies (null au-delà)
+    private Unit[] unitRefs;
+    private Building[] buildingRefs;
+
+    // Copie d'un état racine : cases d'occupation modifiées depuis la dernière remise à zéro
+    private SearchState origin;
+    private int[] touched;
+    private int touchedCount;
+    private SearchState follower;       // Copie de cet état prévenue de ses changements (voir setFollower)
+
+    private SearchState(SearchBoard board, int units, int buildings) {
+        this.board = board;
+        this.width = board.getWidth();
+        int cells = width * board.getHeight();
+        this.unitAt = new int[cells];
+        this.buildingAt = new int[cells];
+        this.resources = new int[2 * RESOURCES];
+        this.touched = new int[16];
+        allocateUnits(units);
+        allocateBuildings(buildings);
+        this.winner = -1;
+    }
+
+    /**
+     * Copie de travail d'un état (voir resetTo)
+     */
+    public SearchState(SearchState root) {
+        this(root.board, root.unitKind.length, root.buildingKind.length);
+        resetTo(root);
+    }
+
+    // ===== Capture =====
+
+    /**
+     * Capture la partie au début (ou en cours) de la phase d'un camp
+     * @param layout État capturé plus tôt dans la même phase : ses unités et bâtiments
+     *               gardent leurs emplacements (null : nouvel ordre)
+     * @param economyActions Constructions et recrutements déjà faits dans la phase
+     */
+    public static SearchState capture(TurnEngine engine, Player self, SearchBoard board,
+                                      SearchState layout, int economyActions) {
+        GameMap map = engine.getMap();
+        Player opponent = engine.getOpponent(self);
+
+        List<Unit> units = new ArrayList<>();
+        Set<Unit> seenUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Building> buildings = new ArrayList<>();
+        Set<Building> seenBuildings = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (layout != null) {
+            for (int i = 0; i < layout.unitCount; i++) {
+                addOnce(units, seenUnits, layout.unitRefs[i]);
+            }
+            for (int i = 0; i < layout.buildingCount; i++) {
+                addOnce(buildings, seenBuildings, layout.buildingRefs[i]);
+            }
+        }
+        for (Unit unit : self.getUnits()) {
+            addOnce(units, seenUnits, unit);
+        }
+        for (Unit unit : opponent.getUnits()) {
+            if (engine.getVisibility().isVisible(self, unit.getX(), unit.getY())) {
+                addOnce(units, seenUnits, unit);
+            }
+        }
+        // Les unités mortes restent sur leur case et la bloquent
+        Bitboard occupied = map.getUnitBoard();
+        for (int cell = occupied.nextSetBit(0); cell >= 0; cell = occupied.nextSetBit(cell + 1)) {
+            Unit occupant = map.getUnitAt(cell % map.getWidth(), cell / map.getWidth());
+            if (occupant != null && !occupant.isAlive()) {
+                addOnce(units, seenUnits, occupant);
+            }
+        }
+        for (Building building : self.getBuildings()) {
+            addOnce(buildings, seenBuildings, building);
+        }
+        for (Building building : opponent.getBuildings()) {
+            addOnce(buildings, seenBuildings, building);
+        }
+
+        SearchState state = new SearchState(board, units.size() + CAPACITY_MARGIN,
+                                            buildings.size() + CAPACITY_MARGIN);
+        state.unitRefs = units.toArray(new Unit[0]);
+        state.buildingRefs = buildings.toArray(new Building[0]);
+        for (Unit unit : units) {
+            state.captureUnit(map, engine.getPlayer(), unit);
+        }
+        for (Building building : buildings) {
+            state.captureBuilding(map, engine.getPlayer(), building);
+        }
+        for (ResourceType type : ResourceType.values()) {
+            state.resources[type.ordinal()] = engine.getPlayer().getResource(type);
+            state.resources[RESOURCES + type.ordinal()] = engine.getEnemy().getResource(type);
+        }
+        state.sideToMove = self == engine.getPlayer() ? 0 : 1;
+        state.turn = engine.getTurn();
+        state.economyActions = economyActions;
+        if (engine.getState() == MatchState.PLAYER_WON) {
+            state.winner = 0;
+        } else if (engine.getState() == MatchState.ENEMY_WON) {
+            state.winner = 1;
+        }
+        return state;
+    }
+
+    private static <T> void addOnce(List<T> list, Set<T> seen, T item) {
+        if (item != null && seen.add(item)) {
+            list.add(item);
+        }
+    }
+
+    private void captureUnit(GameMap map, Player player, Unit unit) {
+        int slot = unitCount++;
+        unitKind[slot] = unit instanceof Archer ? ARCHER : unit instanceof Cavalry ? CAVALRY : SOLDIER;
+        unitSide[slot] = unit.getOwner() == player ? 0 : 1;
+        unitHp[slot] = unit.isAlive() ? unit.getCurrentHealth() : 0;
+        unitMaxHp[slot] = unit.getMaxHealth();
+        unitAttack[slot] = unit.getAttack();
+        unitDefense[slot] = unit.getDefense();
+        unitRange[slot] = unit.getRange();
+        unitBudget[slot] = GridPathfinder.movementBudget(unit);
+        unitActed[slot] = unit.hasActed();
+        unitCell[slot] = NO_CELL;
+        if (map.isValidPosition(unit.getX(), unit.getY()) && map.getUnitAt(unit.getX(), unit.getY()) == unit) {
+            unitCell[slot] = unit.getY() * width + unit.getX();
+            unitAt[unitCell[slot]] = slot + 1;
+        }
+    }
+
+    private void captureBuilding(GameMap map, Player player, Building building) {
+        int slot = buildingCount++;
+        buildingKind[slot] = buildingKind(building);
+        buildingSide[slot] = building.getOwner() == player ? 0 : 1;
+        buildingHp[slot] = building.getCurrentHealth();
+        buildingRemaining[slot] = building.isBuilt() ? 0 : Math.max(1, building.getRemainingTime());
+        buildingCell[slot] = NO_CELL;
+        if (!building.isDestroyed() && map.isValidPosition(building.getX(), building.getY())
+                && map.getBuildingAt(building.getX(), building.getY()) == building) {
+            buildingCell[slot] = building.getY() * width + building.getX();
+            buildingAt[buildingCell[slot]] = slot + 1;
+        }
+    }
+
+    private static int buildingKind(Building building) {
+        if (building instanceof CommandCenter) {
+            return COMMAND_CENTER;
+        } else if (building instanceof Farm) {
+            return FARM;
+        } else if (building instanceof Mine) {
+            return MINE;
+        } else if (building instanceof Sawmill) {
+            return SAWMILL;
+        }
+        return TRAINING_CAMP;
+    }
+
+    /**
+     * Nouvelle unité réelle d'un type du modèle
+     */
+    public static Unit newUnit(int kind, Player owner, int x, int y) {
+        switch (kind) {
+            case ARCHER:
+                return new Archer(owner, x, y);
+            case CAVALRY:
+                return new Cavalry(owner, x, y);
+            default:
+                return new Soldier(owner, x, y);
+        }
+    }
+
+    /**
+     * Nouveau bâtiment réel d'un type du modèle
+     */
+    public static Building newBuilding(int kind, Player owner, int x, int y) {
+        switch (kind) {
+            case COMMAND_CENTER:
+                return new CommandCenter(owner, x, y);
+            case FARM:
+                return new Farm(owner, x, y);
+            case MINE:
+                return new Mine(owner, x, y);
+            case SAWMILL:
+                return new Sawmill(owner, x, y);
+            default:
+                return new TrainingCamp(owner, x, y);
+        }
+    }
+
+    // ===== Copie =====
+
+    /**
+     * Remet cette copie dans l'état de la racine
+     * Après la première copie complète, seules les cases d'occupation modifiées depuis
+     * sont restaurées : le coût ne dépend pas de la taille de la carte.
+     */
+    public void resetTo(SearchState root) {
+        if (origin != root) {
+            System.arraycopy(root.unitAt, 0, unitAt, 0, unitAt.length);
+            System.arraycopy(root.buildingAt, 0, buildingAt, 0, buildingAt.length);
+            origin = root;
+            if (follower != null) {
+                follower.origin = null;
+            }
+        } else {
+            for (int i = 0; i < touchedCount; i++) {
+                int cell = touched[i];
+                if (unitAt[cell] != root.unitAt[cell] || buildingAt[cell] != root.buildingAt[cell]) {
+                    unitAt[cell] = root.unitAt[cell];
+                    buildingAt[cell] = root.buildingAt[cell];
+                    if (follower != null) {
+                        follower.markStale(this, cell);
+                    }
+                }
+            }
+        }
+        touchedCount = 0;
+
+        if (unitKind.length < root.unitCount) {
+            allocateUnits(root.unitKind.length);
+        }
+        int n = root.unitCount;
+        unitCount = n;
+        System.arraycopy(root.unitKind, 0, unitKind, 0, n);
+        System.arraycopy(root.unitSide, 0, unitSide, 0, n);
+        System.arraycopy(root.unitCell, 0, unitCell, 0, n);
+        System.arraycopy(root.unitHp, 0, unitHp, 0, n);
+        System.arraycopy(root.unitMaxHp, 0, unitMaxHp, 0, n);
+        System.arraycopy(root.unitAttack, 0, unitAttack, 0, n);
+        System.arraycopy(root.unitDefense, 0, unitDefense, 0, n);
+        System.arraycopy(root.unitRange, 0, unitRange, 0, n);
+        System.arraycopy(root.unitBudget, 0, unitBudget, 0, n);
+        System.arraycopy(root.unitActed, 0, unitActed, 0, n);
+
+        if (buildingKind.length < root.buildingCount) {
+            allocateBuildings(root.buildingKind.length);
+        }
+        int b = root.buildingCount;
+        buildingCount = b;
+        System.arraycopy(root.buildingKind, 0, buildingKind, 0, b);
+        System.arraycopy(root.buildingSide, 0, buildingSide, 0, b);
+        System.arraycopy(root.buildingCell, 0, buildingCell, 0, b);
+        System.arraycopy(root.buildingHp, 0, buildingHp, 0, b);
+        System.arraycopy(root.buildingRemaining, 0, buildingRemaining, 0, b);
+
+        System.arraycopy(root.resources, 0, resources, 0, resources.length);
+        sideToMove = root.sideToMove;
+        turn = root.turn;
+        economyActions = root.economyActions;
+        cursor = root.cursor;
+        winner = root.winner;
+        unitRefs = root.unitRefs;
+        buildingRefs = root.buildingRefs;
+    }
+
+    /**
+     * Copie complète d'un état quelconque, y compris un état modifié depuis la
+     * dernière copie (resetTo suppose que la racine ne change pas)
+     */
+    public void copyFrom(SearchState source) {
+        origin = null;
+        resetTo(source);
+    }
+
+    /**
+     * Déclare une copie de travail qui sera remise dans l'état de celui-ci (resetTo)
+     * alors qu'il change entre deux remises : chaque case d'occupation modifiée ici
+     * est ajoutée à celles qu'elle restaurera. Une chaîne de copies (une par niveau
+     * d'une recherche en profondeur) reste ainsi restaurée case par case.
+     */
+    public void setFollower(SearchState follower) {
+        this.follower = follower;
+    }
+
+    private void allocateUnits(int capacity) {
+        unitKind = new int[capacity];
+        unitSide = new int[capacity];
+        unitCell = new int[capacity];
+        unitHp = new int[capacity];
+        unitMaxHp = new int[capacity];
+        unitAttack = new int[capacity];
+        unitDefense = new int[capacity];
+        unitRange = new int[capacity];
+        unitBudget = new int[capacity];
+        unitActed = new boolean[capacity];
+    }
+
+    private void allocateBuildings(int capacity) {
+        buildingKind = new int[capacity];
+        buildingSide = new int[capacity];
+        buildingCell = new int[capacity];
+        buildingHp = new int[capacity];
+        buildingRemaining = new int[capacity];
+    }
+
+    private void growUnits() {
+        int capacity = unitKind.length * 2;
+        unitKind = Arrays.copyOf(unitKind, capacity);
+        unitSide = Arrays.copyOf(unitSide, capacity);
+        unitCell = Arrays.copyOf(unitCell, capacity);
+        unitHp = Arrays.copyOf(unitHp, capacity);
+        unitMaxHp = Arrays.copyOf(unitMaxHp, capacity);
+        unitAttack = Arrays.copyOf(unitAttack, capacity);
+        unitDefense = Arrays.copyOf(unitDefense, capacity);
+        unitRange = Arrays.copyOf(unitRange, capacity);
+        unitBudget = Arrays.copyOf(unitBudget, capacity);
+        unitActed = Arrays.copyOf(unitActed, capacity);
+    }
+
+    private void growBuildings() {
+        int capacity = buildingKind.length * 2;
+        buildingKind = Arrays.copyOf(buildingKind, capacity);
+        buildingSide = Arrays.copyOf(buildingSide, capacity);
+        buildingCell = Arrays.copyOf(buildingCell, capacity);
+        buildingHp = Arrays.copyOf(buildingHp, capacity);
+        buildingRemaining = Arrays.copyOf(buildingRemaining, capacity);
+    }
+
+    private void setUnitAt(int cell, int occupant) {
+        touch(cell);
+        unitAt[cell] = occupant;
+    }
+
+    private void setBuildingAt(int cell, int occupant) {
+        touch(cell);
+        buildingAt[cell] = occupant;
+    }
+
+    private void touch(int cell) {
+        if (touchedCount == touched.length) {
+            touched = Arrays.copyOf(touched, touchedCount * 2);
+        }
+        touched[touchedCount++] = cell;
+        if (follower != null) {
+            follower.markStale(this, cell);
+        }
+    }
+
+    /**
+     * Case changée dans l'origine : à restaurer à la prochaine remise ; au-delà d'un
+     * huitième de la carte, la copie complète revient moins cher
+     */
+    private void markStale(SearchState source, int cell) {
+        if (origin != source) {
+            return;     // Déjà bonne pour une copie complète
+        }
+        if (touchedCount >= unitAt.length >> 3) {
+            origin = null;
+            return;
+        }
+        if (touchedCount == touched.length) {
+            touched = Arrays.copyOf(touched, touchedCount * 2);
+        }
+        touched[touchedCount++] = cell;
+    }
+
+    // ===== Décisions =====
+
+    /**
+     * Emplacement de l'unité qui doit décider, -1 si toutes ont agi (phase d'économie)
+     */
+    public int currentUnit() {
+        while (cursor < unitCount && !isReady(cursor)) {
+            cursor++;
+        }
+        return cursor < unitCount ? cursor : -1;
+    }
+
+    private boolean isReady(int slot) {
+        return unitSide[slot] == sideToMove && unitHp[slot] > 0 && !unitActed[slot] && unitCell[slot] != NO_CELL;
+    }
+
+    /**
+     * Taille de tableau suffisante pour legalActions
+     */
+    public int maxActions() {
+        return unitCount + buildingCount + BUILDING_ARCHETYPES.length + UNIT_ARCHETYPES.length + 4;
+    }
+
+    /**
+     * Écrit les actions permises dans out (voir maxActions)
+     * @return Nombre d'actions (0 si la partie est finie)
+     */
+    public int legalActions(int[] out) {
+        if (winner >= 0) {
+            return 0;
+        }
+        int n = 0;
+        int unit = currentUnit();
+        if (unit >= 0) {
+            for (int t = 0; t < unitCount; t++) {
+                if (canAttackUnit(unit, t)) {
+                    out[n++] = SearchAction.of(SearchAction.ATTACK_UNIT, unit, t);
+                }
+            }
+            for (int b = 0; b < buildingCount; b++) {
+                if (canAttackBuilding(unit, b)) {
+                    out[n++] = SearchAction.of(SearchAction.ATTACK_BUILDING, unit, b);
+                }
+            }
+            if (advanceDestination(unit) != NO_CELL) {
+                out[n++] = SearchAction.of(SearchAction.ADVANCE, unit, 0);
+            }
+            if (engageDestination(unit) != NO_CELL) {
+                out[n++] = SearchAction.of(SearchAction.ENGAGE, unit, 0);
+            }
+            out[n++] = SearchAction.of(SearchAction.HOLD, unit, 0);
+            return n;
+        }
+
+        if (economyActions < MAX_ECONOMY_ACTIONS) {
+            if (buildSite() != NO_CELL) {
+                for (int kind = FARM; kind < BUILDING_ARCHETYPES.length; kind++) {
+                    if (canAfford(BUILDING_COSTS[kind])) {
+                        out[n++] = SearchAction.of(SearchAction.BUILD, kind, 0);
+                    }
+                }
+            }
+            int camp = recruitCamp();
+            if (camp >= 0) {
+                for (int kind = 0; kind < UNIT_ARCHETYPES.length; kind++) {
+                    if (canAfford(UNIT_COSTS[kind])) {
+                        out[n++] = SearchAction.of(SearchAction.RECRUIT, kind, camp);
+                    }
+                }
+            }
+        }
+        out[n++] = SearchAction.of(SearchAction.END_TURN, 0, 0);
+        return n;
+    }
+
+    /**
+     * Vrai si l'action est permise dans cet état (les simulations d'une recherche
+     * divergent : une action trouvée dans l'une peut ne plus l'être dans une autre)
+     */
+    public boolean isLegal(int action) {
+        if (winner >= 0) {
+            return false;
+        }
+        int type = SearchAction.type(action);
+        int subject = SearchAction.subject(action);
+        int object = SearchAction.object(action);
+        int unit = currentUnit();
+        if (SearchAction.isUnitAction(action)) {
+            if (subject != unit) {
+                return false;
+            }
+            switch (type) {
+                case SearchAction.ATTACK_UNIT:
+                    return object < unitCount && canAttackUnit(unit, object);
+                case SearchAction.ATTACK_BUILDING:
+                    return object < buildingCount && canAttackBuilding(unit, object);
+                case SearchAction.ADVANCE:
+                    return advanceDestination(unit) != NO_CELL;
+                case SearchAction.ENGAGE:
+                    return engageDestination(unit) != NO_CELL;
+                default:
+                    return true;
+            }
+        }
+        if (unit >= 0) {
+            return false;
+        }
+        switch (type) {
+            case SearchAction.BUILD:
+                return economyActions < MAX_ECONOMY_ACTIONS && subject > COMMAND_CENTER
+                        && subject < BUILDING_ARCHETYPES.length
+                        && canAfford(BUILDING_COSTS[subject]) && buildSite() != NO_CELL;
+            case SearchAction.RECRUIT:
+                return economyActions < MAX_ECONOMY_ACTIONS && subject < UNIT_ARCHETYPES.length
+                        && canAfford(UNIT_COSTS[subject]) && object == recruitCamp();
+            default:
+                return true;
+        }
+    }
+
+    private boolean canAttackUnit(int unit, int target) {
+        return unitSide[target] != unitSide[unit] && unitHp[target] > 0 && unitCell[target] != NO_CELL
+                && distance(unitCell[unit], unitCell[target]) <= unitRange[unit];
+    }
+
+    private boolean canAttackBuilding(int unit, int building) {
+        return buildingSide[building] != unitSide[unit] && buildingHp[building] > 0
+                && buildingCell[building] != NO_CELL
+                && distance(unitCell[unit], buildingCell[building]) <= unitRange[unit];
+    }
+
+    private boolean canAfford(int[] cost) {
+        int base = sideToMove * RESOURCES;
+        for (int r = 0; r < RESOURCES; r++) {
+            if (resources[base + r] < cost[r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int distance(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    // ===== Déplacements =====
+
+    /**
+     * Case où s'arrête l'unité pour une action ADVANCE ou ENGAGE, NO_CELL si elle ne bouge pas
+     */
+    public int moveDestination(int action) {
+        int unit = SearchAction.subject(action);
+        return SearchAction.type(action) == SearchAction.ADVANCE
+                ? advanceDestination(unit) : engageDestination(unit);
+    }
+
+    /**
+     * Comme FlowFieldService.findMoveDestination : suit le champ vers le Centre de
+     * Commandement adverse, traverse les alliés, s'arrête au contact de la cible,
+     * devant un ennemi ou en entrant en zone de contrôle
+     */
+    private int advanceDestination(int unit) {
+        FlowField field = board.getCommandField(1 - unitSide[unit]);
+        int side = unitSide[unit];
+        int x = unitCell[unit] % width;
+        int y = unitCell[unit] / width;
+        int spent = 0;
+        int destination = NO_CELL;
+        while (field.hasNextStep(x, y)) {
+            int nx = field.getNextX(x, y);
+            int ny = field.getNextY(x, y);
+            if (!field.hasNextStep(nx, ny)) {
+                break;      // La case suivante est la cible
+            }
+            int next = ny * width + nx;
+            spent += board.getStepCost(next);
+            if (spent > unitBudget[unit] || !canEnter(side, next)) {
+                break;
+            }
+            x = nx;
+            y = ny;
+            if (unitAt[next] == 0) {
+                destination = next;
+            }
+            if (board.hasZoneOfControl() && isNextToEnemy(side, next)) {
+                break;
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Marche gloutonne vers l'unité ennemie la plus proche, chaque pas rapprochant
+     * l'unité de sa cible, jusqu'à l'avoir à portée ; NO_CELL si elle l'a déjà
+     */
+    private int engageDestination(int unit) {
+        int target = nearestEnemy(unit);
+        if (target < 0) {
+            return NO_CELL;
+        }
+        int side = unitSide[unit];
+        int goal = unitCell[target];
+        int cell = unitCell[unit];
+        int spent = 0;
+        int destination = NO_CELL;
+        while (distance(cell, goal) > unitRange[unit]) {
+            int x = cell % width;
+            int y = cell / width;
+            int best = NO_CELL;
+            int bestCost = 0;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (!board.isValidPosition(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                int cost = board.getStepCost(next);
+                if (cost < 0 || !canEnter(side, next) || distance(next, goal) >= distance(cell, goal)) {
+                    continue;
+                }
+                if (best == NO_CELL || cost < bestCost) {
+                    best = next;
+                    bestCost = cost;
+                }
+            }
+            if (best == NO_CELL) {
+                break;
+            }
+            spent += bestCost;
+            if (spent > unitBudget[unit]) {
+                break;
+            }
+            cell = best;
+            if (unitAt[cell] == 0) {
+                destination = cell;
+            }
+            if (board.hasZoneOfControl() && isNextToEnemy(side, cell)) {
+                break;
+            }
+        }
+        return destination;
+    }
+
+    private int nearestEnemy(int unit) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int t = 0; t < unitCount; t++) {
+            if (unitSide[t] == unitSide[unit] || unitHp[t] <= 0 || unitCell[t] == NO_CELL) {
+                continue;
+            }
+            int d = distance(unitCell[unit], unitCell[t]);
+            if (d < bestDistance) {
+                best = t;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Comme GridPathfinder : unités et bâtiments ennemis bloquent le passage
+     */
+    private boolean canEnter(int side, int cell) {
+        if (board.getStepCost(cell) < 0) {
+            return false;
+        }
+        int occupant = unitAt[cell];
+        if (occupant != 0 && unitSide[occupant - 1] != side) {
+            return false;
+        }
+        int building = buildingAt[cell];
+        return building == 0 || buildingSide[building - 1] == side;
+    }
+
+    private boolean isNextToEnemy(int side, int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        for (int d = 0; d < DX.length; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (board.isValidPosition(nx, ny)) {
+                int occupant = unitAt[ny * width + nx];
+                if (occupant != 0 && unitSide[occupant - 1] != side) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ===== Économie =====
+
+    /**
+     * Site de la prochaine construction du camp qui joue : première case libre et
+     * praticable autour de son Centre de Commandement, NO_CELL s'il n'y en a pas
+     */
+    public int buildSite() {
+        int center = commandCenterCell(sideToMove);
+        if (center == NO_CELL) {
+            return NO_CELL;
+        }
+        int cx = center % width;
+        int cy = center / width;
+        for (int i = 0; i < BUILD_SITE_OFFSETS.length; i += 2) {
+            int x = cx + BUILD_SITE_OFFSETS[i];
+            int y = cy + BUILD_SITE_OFFSETS[i + 1];
+            if (board.isValidPosition(x, y)) {
+                int cell = y * width + x;
+                if (board.getStepCost(cell) >= 0 && unitAt[cell] == 0 && buildingAt[cell] == 0) {
+                    return cell;
+                }
+            }
+        }
+        return NO_CELL;
+    }
+
+    /**
+     * Premier Camp d'Entraînement construit du camp qui joue dont la case est libre,
+     * -1 s'il n'y en a pas (la recrue apparaît sur la case du camp)
+     */
+    public int recruitCamp() {
+        for (int b = 0; b < buildingCount; b++) {
+            if (buildingKind[b] == TRAINING_CAMP && buildingSide[b] == sideToMove && buildingHp[b] > 0
+                    && buildingRemaining[b] == 0 && buildingCell[b] != NO_CELL
+                    && unitAt[buildingCell[b]] == 0) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    private int commandCenterCell(int side) {
+        for (int b = 0; b < buildingCount; b++) {
+            if (buildingKind[b] == COMMAND_CENTER && buildingSide[b] == side && buildingHp[b] > 0
+                    && buildingCell[b] != NO_CELL) {
+                return buildingCell[b];
+            }
+        }
+        return NO_CELL;
+    }
+
+    // ===== Application =====
+
+    /**
+     * Joue une action permise (voir isLegal) ; les dégâts sont tirés avec random
+     * (null : dégâts médians sans coup critique, pour une recherche déterministe)
+     */
+    public void apply(int action, SplittableRandom random) {
+        int subject = SearchAction.subject(action);
+        int object = SearchAction.object(action);
+        switch (SearchAction.type(action)) {
+            case SearchAction.ATTACK_UNIT:
+                attackUnit(subject, object, random);
+                break;
+            case SearchAction.ATTACK_BUILDING:
+                attackBuilding(subject, object, random);
+                break;
+            case SearchAction.ADVANCE:
+            case SearchAction.ENGAGE:
+                moveUnit(subject, moveDestination(action));
+                break;
+            case SearchAction.HOLD:
+                unitActed[subject] = true;
+                break;
+            case SearchAction.BUILD:
+                build(subject, buildSite());
+                break;
+            case SearchAction.RECRUIT:
+                recruit(subject, object);
+                break;
+            default:
+                endPhase();
+                break;
+        }
+    }
+
+    private void attackUnit(int attacker, int defender, SplittableRandom random) {
+        int terrainBonus = board.getDefenseBonus(unitCell[defender]);
+        damageUnit(defender, CombatSystem.rollStrike(unitAttack[attacker], unitDefense[defender],
+                                                     terrainBonus, random));
+        unitActed[attacker] = true;
+        // Riposte du défenseur survivant, s'il a l'attaquant à portée et n'a pas agi
+        if (unitHp[defender] > 0 && !unitActed[defender]
+                && distance(unitCell[defender], unitCell[attacker]) <= unitRange[defender]) {
+            damageUnit(attacker, CombatSystem.rollCounterStrike(unitAttack[defender], unitDefense[attacker],
+                                                                random));
+        }
+    }
+
+    private void damageUnit(int unit, int damage) {
+        unitHp[unit] = Math.max(0, unitHp[unit] - damage);
+    }
+
+    private void attackBuilding(int attacker, int building, SplittableRandom random) {
+        int cell = buildingCell[building];
+        int damage = CombatSystem.rollBuildingStrike(unitAttack[attacker], board.getDefenseBonus(cell),
+                                                     buildingRemaining[building] == 0, random);
+        unitActed[attacker] = true;
+        buildingHp[building] = Math.max(0, buildingHp[building] - damage);
+        if (buildingHp[building] == 0) {
+            setBuildingAt(cell, 0);
+            buildingCell[building] = NO_CELL;
+            int side = buildingSide[building];
+            if (buildingKind[building] == COMMAND_CENTER && commandCenterCell(side) == NO_CELL) {
+                winner = 1 - side;
+            }
+        }
+    }
+
+    private void moveUnit(int unit, int destination) {
+        unitActed[unit] = true;
+        if (destination == NO_CELL) {
+            return;
+        }
+        setUnitAt(unitCell[unit], 0);
+        setUnitAt(destination, unit + 1);
+        unitCell[unit] = destination;
+    }
+
+    private void build(int kind, int cell) {
+        pay(BUILDING_COSTS[kind]);
+        economyActions++;
+        if (buildingCount == buildingKind.length) {
+            growBuildings();
+        }
+        int slot = buildingCount++;
+        buildingKind[slot] = kind;
+        buildingSide[slot] = sideToMove;
+        buildingCell[slot] = cell;
+        buildingHp[slot] = BUILDING_ARCHETYPES[kind].getMaxHealth();
+        buildingRemaining[slot] = BUILDING_ARCHETYPES[kind].getConstructionTime();
+        setBuildingAt(cell, slot + 1);
+    }
+
+    private void recruit(int kind, int camp) {
+        pay(UNIT_COSTS[kind]);
+        economyActions++;
+        if (unitCount == unitKind.length) {
+            growUnits();
+        }
+        Unit archetype = UNIT_ARCHETYPES[kind];
+        int slot = unitCount++;
+        unitKind[slot] = kind;
+        unitSide[slot] = sideToMove;
+        unitCell[slot] = buildingCell[camp];
+        unitHp[slot] = archetype.getMaxHealth();
+        unitMaxHp[slot] = archetype.getMaxHealth();
+        unitAttack[slot] = archetype.getAttack();
+        unitDefense[slot] = archetype.getDefense();
+        unitRange[slot] = archetype.getRange();
+        unitBudget[slot] = GridPathfinder.movementBudget(archetype);
+        unitActed[slot] = false;
+        setUnitAt(buildingCell[camp], slot + 1);
+    }
+
+    private void pay(int[] cost) {
+        int base = sideToMove * RESOURCES;
+        for (int r = 0; r < RESOURCES; r++) {
+            resources[base + r] -= cost[r];
+        }
+    }
+
+    /**
+     * Fin de phase ; après celle du camp 1 : construction et production des deux
+     * camps, unités prêtes, tour suivant (ordre de TurnEngine)
+     */
+    private void endPhase() {
+        if (sideToMove == 0) {
+            sideToMove = 1;
+        } else {
+            produce(0);
+            produce(1);
+            Arrays.fill(unitActed, 0, unitCount, false);
+            turn++;
+            sideToMove = 0;
+        }
+        economyActions = 0;
+        cursor = 0;
+    }
+
+    private void produce(int side) {
+        int base = side * RESOURCES;
+        for (int b = 0; b < buildingCount; b++) {
+            if (buildingSide[b] != side || buildingHp[b] <= 0) {
+                continue;
+            }
+            if (buildingRemaining[b] > 0) {
+                buildingRemaining[b]--;
+            }
+            if (buildingRemaining[b] == 0) {
+                int[] production = BUILDING_PRODUCTION[buildingKind[b]];
+                for (int r = 0; r < RESOURCES; r++) {
+                    resources[base + r] += production[r];
+                }
+            }
+        }
+    }
+
+    // ===== Simulation et évaluation =====
+
+    /**
+     * Action de la politique de simulation : attaquer le Centre de Commandement ou
+     * l'ennemi le plus affaibli à portée, sinon avancer (ou engager, une fois sur
+     * quatre) ; en phase d'économie, une construction ou un recrutement au hasard
+     * une fois sur deux
+     * @param random null : choix déterministes, sans économie (repli de MctsAI)
+     */
+    public int playoutAction(SplittableRandom random, int[] buffer) {
+        int unit = currentUnit();
+        if (unit < 0) {
+            if (random != null && winner < 0 && random.nextBoolean()) {
+                int n = legalActions(buffer);
+                if (n > 1) {
+                    return buffer[random.nextInt(n - 1)];     // END_TURN est la dernière
+                }
+            }
+            return SearchAction.of(SearchAction.END_TURN, 0, 0);
+        }
+
+        int building = -1;
+        for (int b = 0; b < buildingCount; b++) {
+            if (canAttackBuilding(unit, b) && (building < 0 || buildingKind[b] == COMMAND_CENTER)) {
+                building = b;
+            }
+        }
+        if (building >= 0 && buildingKind[building] == COMMAND_CENTER) {
+            return SearchAction.of(SearchAction.ATTACK_BUILDING, unit, building);
+        }
+        int target = -1;
+        for (int t = 0; t < unitCount; t++) {
+            if (canAttackUnit(unit, t) && (target < 0 || unitHp[t] < unitHp[target])) {
+                target = t;
+            }
+        }
+        if (target >= 0) {
+            return SearchAction.of(SearchAction.ATTACK_UNIT, unit, target);
+        }
+        if (building >= 0) {
+            return SearchAction.of(SearchAction.ATTACK_BUILDING, unit, building);
+        }
+        boolean engageFirst = random != null && random.nextInt(4) == 0;
+        if (engageFirst && engageDestination(unit) != NO_CELL) {
+            return SearchAction.of(SearchAction.ENGAGE, unit, 0);
+        }
+        if (advanceDestination(unit) != NO_CELL) {
+            return SearchAction.of(SearchAction.ADVANCE, unit, 0);
+        }
+        if (!engageFirst && engageDestination(unit) != NO_CELL) {
+            return SearchAction.of(SearchAction.ENGAGE, unit, 0);
+        }
+        return SearchAction.of(SearchAction.HOLD, unit, 0);
+    }
+
+    /**
+     * Joue la politique de simulation jusqu'à la fin de la partie ou au tour horizonTurn
+     * @return Évaluation finale (voir evaluate)
+     */
+    public double playout(SplittableRandom random, int horizonTurn, int[] buffer) {
+        while (winner < 0 && turn < horizonTurn) {
+            apply(playoutAction(random, buffer), random);
+        }
+        return evaluate();
+    }
+
+    /**
+     * Chances de victoire du camp 0 estimées entre 0 et 1 : 1 ou 0 si la partie est
+     * finie, sinon une sigmoïde de l'écart de valeur (unités et bâtiments au prorata
+     * de leurs PV, au prix de leur coût, plus les ressources en stock)
+     */
+    public double evaluate() {
+        if (winner >= 0) {
+            return winner == 0 ? 1.0 : 0.0;
+        }
+        double balance = material(0) - material(1);
+        return 1.0 / (1.0 + Math.exp(-balance / EVALUATION_SCALE));
+    }
+
+    private double material(int side) {
+        double value = 0;
+        for (int u = 0; u < unitCount; u++) {
+            if (unitSide[u] == side && unitHp[u] > 0) {
+                value += (double) UNIT_VALUES[unitKind[u]] * unitHp[u] / unitMaxHp[u];
+            }
+        }
+        for (int b = 0; b < buildingCount; b++) {
+            if (buildingSide[b] == side && buildingHp[b] > 0) {
+                int kind = buildingKind[b];
+                value += (double) BUILDING_VALUES[kind] * buildingHp[b] / BUILDING_ARCHETYPES[kind].getMaxHealth();
+            }
+        }
+        int base = side * RESOURCES;
+        for (int r = 0; r < RESOURCES; r++) {
+            value += resources[base + r] * RESOURCE_WEIGHT;
+        }
+        return value;
+    }
+
+    // ===== Empreinte =====
+
+    /**
+     * Empreinte 64 bits de l'état (unités, bâtiments, ressources, camp qui joue),
+     * pour les tables de transposition ; le numéro de tour n'y entre pas
+     * Le type et le camp de chaque emplacement y entrent : d'une capture à l'autre,
+     * les emplacements peuvent changer d'occupant.
+     */
+    public long hash() {
+        long h = sideToMove * 31L + economyActions;
+        for (int u = 0; u < unitCount; u++) {
+            h = mix(h, (long) unitKind[u] << 1 | unitSide[u]);
+            h = mix(h, unitCell[u]);
+            h = mix(h, (long) unitMaxHp[u] << 32 | (long) unitHp[u] << 1 | (unitActed[u] ? 1 : 0));
+        }
+        for (int b = 0; b < buildingCount; b++) {
+            h = mix(h, (long) buildingKind[b] << 1 | buildingSide[b]);
+            h = mix(h, buildingCell[b]);
+            h = mix(h, (long) buildingHp[b] << 8 | buildingRemaining[b]);
+        }
+        for (int r = 0; r < resources.length; r++) {
+            h = mix(h, resources[r]);
+        }
+        // Brassage final (fmix64 de MurmurHash3)
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+    }
+
+    // ===== Getters =====
+
+    public SearchBoard getBoard() {
+        return board;
+    }
+
+    public boolean isTerminal() {
+        return winner >= 0;
+    }
+
+    /**
+     * Camp vainqueur (0 : joueur, 1 : adversaire), -1 si la partie continue
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Camp qui joue (0 : joueur du TurnEngine, 1 : adversaire)
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    public int getUnitSide(int slot) {
+        return unitSide[slot];
+    }
+
+    /**
+     * Case d'une unité, NO_CELL si elle n'est pas sur la carte
+     */
+    public int getUnitCell(int slot) {
+        return unitCell[slot];
+    }
+
+    public int getUnitHp(int slot) {
+        return unitHp[slot];
+    }
+
+    public int getBuildingCount() {
+        return buildingCount;
+    }
+
+    public int getBuildingKind(int slot) {
+        return buildingKind[slot];
+    }
+
+    /**
+     * Case du Centre de Commandement d'un camp, NO_CELL s'il est détruit
+     */
+    public int getCommandCenterCell(int side) {
+        return commandCenterCell(side);
+    }
+
+    /**
+     * Unité réelle d'un emplacement, null pour une unité recrutée dans le modèle
+     */
+    public Unit getUnitRef(int slot) {
+        return slot < unitRefs.length ? unitRefs[slot] : null;
+    }
+
+    /**
+     * Bâtiment réel d'un emplacement, null pour un bâtiment construit dans le modèle
+     */
+    public Building getBuildingRef(int slot) {
+        return slot < buildingRefs.length ? buildingRefs[slot] : null;
+    }
+
+    // ===== Tables =====
+
+    private static int fill(int[] amounts, Map<ResourceType, Integer> source) {
+        int total = 0;
+        for (Map.Entry<ResourceType, Integer> entry : source.entrySet()) {
+            amounts[entry.getKey().ordinal()] = entry.getValue();
+            total += entry.getValue();
+        }
+        return total;
+    }
+
+    /**
+     * Décalages (dx, dy) des sites de construction, du plus proche au plus éloigné
+     */
+    private static int[] buildSiteOffsets() {
+        List<int[]> offsets = new ArrayList<>();
+        for (int dy = -BUILD_RADIUS; dy <= BUILD_RADIUS; dy++) {
+            for (int dx = -BUILD_RADIUS; dx <= BUILD_RADIUS; dx++) {
+                if (dx != 0 || dy != 0) {
+                    offsets.add(new int[] {dx, dy});
+                }
+            }
+        }
+        offsets.sort((a, b) -> Integer.compare(Math.max(Math.abs(a[0]), Math.abs(a[1])),
+                                               Math.max(Math.abs(b[0]), Math.abs(b[1]))));
+        int[] result = new int[offsets.size() * 2];
+        for (int i = 0; i < offsets.size(); i++) {
+            result[2 * i] = offsets.get(i)[0];
+            result[2 * i + 1] = offsets.get(i)[1];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package game.ai;
+
+import game.engine.PlayerController;
+import game.engine.SimpleAI;
+import game.engine.TurnEngine;
+import game.player.Player;
+
+/**
+ * Adversaire qui résout les combats locaux par alpha-bêta et délègue le reste
+ *
+ * Quand les unités des deux camps se rencontrent près d'un Centre de Commandement
+ * (à ENGAGEMENT_RADIUS cases au plus) et qu'elles sont au plus MAX_ENGAGED_UNITS,
+ * une recherche exhaustive (AlphaBetaSolver) vaut mieux qu'un échantillonnage : le
+ * contrôleur joue alors la première action de la meilleure ligne, capture la partie
+ * à nouveau (les vrais dégâts sont aléatoires) et recommence, jusqu'à ce que ses
+ * unités engagées aient toutes agi. Le reste de la phase (autres unités, économie)
+ * revient au contrôleur de repli.
+ *
+ * La table de transposition est gardée d'un tour à l'autre : les recherches d'une
+ * même phase repartent des résultats des précédentes.
+ */
+public class TacticalAI implements PlayerController {
+    /** Budget de recherche par tour par défaut */
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+    /** Distance (Manhattan) à un Centre de Commandement en deçà de laquelle une unité est engagée */
+    public static final int ENGAGEMENT_RADIUS = 5;
+    /** Au-delà, le combat n'est plus « local » et revient au contrôleur de repli */
+    public static final int MAX_ENGAGED_UNITS = 6;
+
+    private static final int MAX_DEPTH = 24;
+    private static final int TABLE_LOG2_ENTRIES = 18;      // 4 Mo
+
+    private final PlayerController fallback;
+    private final long budgetNanos;
+    private final AlphaBetaSolver solver;
+    private SearchBoard board;
+    private int lastDepth;
+
+    public TacticalAI() {
+        this(new SimpleAI(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param fallback Contrôleur du reste de la phase
+     * @param budgetMillis Temps de recherche par tour, réparti entre les unités engagées
+     */
+    public TacticalAI(PlayerController fallback, long budgetMillis) {
+        this.fallback = fallback;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.solver = new AlphaBetaSolver(new TranspositionTable(TABLE_LOG2_ENTRIES));
+    }
+
+    @Override
+    public void playTurn(TurnEngine engine, Player self) {
+        if (board == null || !board.matches(engine)) {
+            board = new SearchBoard(engine);
+        }
+        solver.getTable().newSearch();
+        long deadline = System.nanoTime() + budgetNanos;
+        SearchState state = SearchState.capture(engine, self, board, null, 0);
+        lastDepth = 0;
+        int planned = state.getUnitCount();
+        for (int step = 0; step < planned && !engine.isOver(); step++) {
+            if (step > 0) {
+                state = SearchState.capture(engine, self, board, state, 0);
+            }
+            boolean[] engaged = findEngagement(state);
+            if (engaged == null) {
+                break;
+            }
+            long budget = Math.max(0, deadline - System.nanoTime()) / Math.max(1, countOwn(state, engaged) - step);
+            int[] line = solver.solve(state, engaged, budget, MAX_DEPTH);
+            if (line.length == 0 || !SearchAction.isUnitAction(line[0])) {
+                break;      // Plus d'unité engagée prête
+            }
+            lastDepth = Math.max(lastDepth, solver.getLastDepth());
+            int action = line[0];
+            if (!ActionExecutor.execute(engine, state, action)) {
+                state.getUnitRef(SearchAction.subject(action)).setHasActed(true);
+            }
+        }
+        if (!engine.isOver()) {
+            fallback.playTurn(engine, self);
+        }
+    }
+
+    /**
+     * Unités engagées autour du premier Centre de Commandement (le sien d'abord) où
+     * les deux camps se font face en petit nombre, null s'il n'y en a pas
+     */
+    public static boolean[] findEngagement(SearchState state) {
+        int width = state.getBoard().getWidth();
+        int self = state.getSideToMove();
+        for (int side : new int[] {self, 1 - self}) {
+            int center = state.getCommandCenterCell(side);
+            if (center == SearchState.NO_CELL) {
+                continue;
+            }
+            boolean[] engaged = new boolean[state.getUnitCount()];
+            boolean[] present = new boolean[2];
+            int count = 0;
+            for (int u = 0; u < engaged.length; u++) {
+                int cell = state.getUnitCell(u);
+                if (state.getUnitHp(u) > 0 && cell != SearchState.NO_CELL
+                        && Math.abs(cell % width - center % width) + Math.abs(cell / width - center / width)
+                           <= ENGAGEMENT_RADIUS) {
+                    engaged[u] = true;
+                    present[state.getUnitSide(u)] = true;
+                    count++;
+                }
+            }
+            if (present[0] && present[1] && count <= MAX_ENGAGED_UNITS) {
+                return engaged;
+            }
+        }
+        return null;
+    }
+
+    private static int countOwn(SearchState state, boolean[] engaged) {
+        int count = 0;
+        for (int u = 0; u < engaged.length; u++) {
+            if (engaged[u] && state.getUnitSide(u) == state.getSideToMove()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Profondeur la plus grande atteinte par les recherches du dernier tour (0 : aucun combat local)
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+}
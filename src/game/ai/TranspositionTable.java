@@ -0,0 +1,124 @@
+package game.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table de transposition de taille fixe pour AlphaBetaSolver, partageable sans verrou
+ *
+ * Chaque entrée tient en deux longs : l'empreinte de l'état XOR les données, puis les
+ * données (meilleure action, score, profondeur, borne, génération). Une lecture
+ * n'est retenue que si les deux mots redonnent l'empreinte cherchée : une entrée à
+ * moitié écrite par un autre thread est vue comme absente, jamais comme fausse.
+ *
+ * Remplacement : une entrée d'une recherche précédente (autre génération) ou moins
+ * profonde cède sa place ; sinon, une autre empreinte ne la remplace pas.
+ */
+public final class TranspositionTable {
+    /** Borne du score enregistré */
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;     // Score au moins égal (coupure beta)
+    public static final int UPPER = 2;     // Score au plus égal (aucune action n'a atteint alpha)
+
+    // Données : action + 1 (28 bits), score + SCORE_OFFSET (16), profondeur (8), borne (2), génération (8)
+    private static final int SCORE_SHIFT = 28;
+    private static final int DEPTH_SHIFT = 44;
+    private static final int BOUND_SHIFT = 52;
+    private static final int GENERATION_SHIFT = 54;
+    private static final int SCORE_OFFSET = 1 << 15;
+    /** Écart maximal d'un score enregistré (en valeur absolue) */
+    public static final int MAX_SCORE = SCORE_OFFSET - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private volatile int generation;
+
+    /**
+     * @param log2Entries Taille en puissance de 2 (16 octets par entrée)
+     */
+    public TranspositionTable(int log2Entries) {
+        this.slots = new AtomicLongArray(2 << log2Entries);
+        this.mask = (1 << log2Entries) - 1;
+    }
+
+    /**
+     * Nouvelle recherche : les entrées existantes restent lisibles mais cèdent leur place
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Les entrées des générations précédentes restent servies : la clé doit décrire
+     * tout ce dont dépend le score (AlphaBetaSolver y mêle les unités engagées)
+     * @return Données de l'entrée (à lire avec action, score, depth, bound), 0 si absente
+     */
+    public long probe(long key) {
+        int index = index(key);
+        long data = slots.get(index + 1);
+        return (slots.get(index) ^ data) == key ? data : 0;
+    }
+
+    public void store(long key, int action, int score, int depth, int bound) {
+        int index = index(key);
+        long oldData = slots.get(index + 1);
+        long oldKey = slots.get(index) ^ oldData;
+        if (oldData != 0 && oldKey != key && generation(oldData) == generation && depth(oldData) > depth) {
+            return;
+        }
+        if (oldData != 0 && oldKey == key && action == -1) {
+            action = action(oldData);       // Garde l'action connue d'une recherche moins profonde
+        }
+        long data = (action + 1L)
+                | (long) (score + SCORE_OFFSET) << SCORE_SHIFT
+                | (long) Math.min(depth, 0xFF) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+        slots.set(index, key ^ data);
+        slots.set(index + 1, data);
+    }
+
+    private int index(long key) {
+        return ((int) (key ^ (key >>> 32)) & mask) << 1;
+    }
+
+    /**
+     * Nombre d'entrées de la génération en cours (parcourt toute la table)
+     */
+    public int occupancy() {
+        int count = 0;
+        for (int i = 1; i < slots.length(); i += 2) {
+            long data = slots.get(i);
+            if (data != 0 && generation(data) == generation) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // ===== Lecture des données =====
+
+    /** Meilleure action enregistrée, -1 s'il n'y en a pas */
+    public static int action(long data) {
+        return (int) (data & 0xFFFFFFFL) - 1;
+    }
+
+    public static int score(long data) {
+        return (int) (data >>> SCORE_SHIFT & 0xFFFF) - SCORE_OFFSET;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT & 0x3);
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT & 0xFF);
+    }
+}
@@ -0,0 +1,119 @@
+package game.benchmark;
+
+import game.ai.AlphaBetaSolver;
+import game.ai.SearchBoard;
+import game.ai.SearchState;
+import game.ai.TacticalAI;
+import game.ai.TranspositionTable;
+import game.engine.MatchResult;
+import game.engine.MatchState;
+import game.engine.PlayerController;
+import game.engine.SelfPlayRunner;
+import game.engine.SimpleAI;
+import game.engine.TurnEngine;
+import game.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Solveur alpha-bêta des combats locaux : profondeur atteinte et nœuds par seconde,
+ * avec et sans table de transposition, sur des positions relevées dans des parties
+ * SimpleAI contre SimpleAI ; puis résultats de TacticalAI contre SimpleAI
+ * Le coût d'un nœud ne doit pas dépendre de la taille de la carte : à comparer
+ * entre une petite carte et une grande.
+ *
+ * Usage : java game.benchmark.AlphaBetaBenchmark [positions] [budget ms] [parties] [taille]
+ */
+public class AlphaBetaBenchmark {
+    private static final long SEED = 42L;
+    private static final int DEFAULT_MAP_SIZE = 15;
+    private static final int MAX_TURNS = 60;
+    private static final int TABLE_LOG2_ENTRIES = 18;
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        int matches = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int mapSize = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAP_SIZE;
+
+        List<SearchState> fights = collectFights(positions, mapSize);
+        System.out.println(fights.size() + " combats locaux relevés sur une carte " + mapSize + "×" + mapSize
+                           + ", " + budget + " ms par recherche");
+        measure("Sans table  ", fights, budget, 0);
+        measure("Avec table  ", fights, budget, TABLE_LOG2_ENTRIES);
+
+        System.out.println("Carte " + mapSize + "×" + mapSize + ", " + matches
+                           + " parties, adversaire contre SimpleAI (joueur)");
+        play("SimpleAI    ", matches, mapSize, SimpleAI::new);
+        play("TacticalAI  ", matches, mapSize, () -> new TacticalAI(new SimpleAI(), budget));
+    }
+
+    /**
+     * Positions du joueur, en début de phase, où TacticalAI verrait un combat local
+     */
+    private static List<SearchState> collectFights(int positions, int mapSize) {
+        List<SearchState> fights = new ArrayList<>();
+        SelfPlayRunner runner = new SelfPlayRunner(1, mapSize, MAX_TURNS, SEED);
+        runner.setControllers(() -> new PlayerController() {
+            private final SimpleAI ai = new SimpleAI();
+            private SearchBoard board;
+
+            @Override
+            public void playTurn(TurnEngine engine, Player self) {
+                if (board == null) {
+                    board = new SearchBoard(engine);
+                }
+                SearchState state = SearchState.capture(engine, self, board, null, 0);
+                if (fights.size() < positions && TacticalAI.findEngagement(state) != null) {
+                    fights.add(state);
+                }
+                ai.playTurn(engine, self);
+            }
+        }, SimpleAI::new);
+        for (int m = 0; fights.size() < positions && m < 10 * positions; m++) {
+            runner.playMatch(m);
+        }
+        return fights;
+    }
+
+    /**
+     * Chaque position est résolue deux fois : la première sert de préchauffage
+     */
+    private static void measure(String label, List<SearchState> fights, long budget, int log2Entries) {
+        long nodes = 0;
+        long nanos = 0;
+        int depth = 0;
+        for (SearchState fight : fights) {
+            boolean[] engaged = TacticalAI.findEngagement(fight);
+            for (int pass = 0; pass < 2; pass++) {
+                AlphaBetaSolver solver = new AlphaBetaSolver(new TranspositionTable(log2Entries));
+                long start = System.nanoTime();
+                solver.solve(fight, engaged, budget * 1_000_000L, AlphaBetaSolver.MAX_PLY);
+                if (pass == 1) {
+                    nanos += System.nanoTime() - start;
+                    nodes += solver.getLastNodes();
+                    depth += solver.getLastDepth();
+                }
+            }
+        }
+        int n = Math.max(1, fights.size());
+        System.out.printf("%s: profondeur moyenne %.1f, %,d nœuds par seconde%n",
+                          label, (double) depth / n, nanos > 0 ? nodes * 1_000_000_000L / nanos : 0);
+    }
+
+    private static void play(String label, int matches, int mapSize,
+                             Supplier<PlayerController> enemy) {
+        SelfPlayRunner runner = new SelfPlayRunner(1, mapSize, MAX_TURNS, SEED);
+        runner.setControllers(SimpleAI::new, enemy);
+        int[] results = new int[MatchState.values().length];
+        for (int m = 0; m < matches; m++) {
+            MatchResult result = runner.playMatch(m);
+            results[result.getState().ordinal()]++;
+        }
+        System.out.printf("%s: victoires %d, défaites %d, nulles %d%n", label,
+                          results[MatchState.ENEMY_WON.ordinal()], results[MatchState.PLAYER_WON.ordinal()],
+                          results[MatchState.RUNNING.ordinal()]);
+    }
+}
@@ -0,0 +1,121 @@
+package game.benchmark;
+
+import game.combat.BattleArmy;
+import game.combat.BattleSimulator;
+import game.combat.CombatBatch;
+import game.combat.CombatSystem;
+import game.map.GameMap;
+import game.player.Player;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manche simultanée d'une bataille de masse : objets Unit résolus par CombatBatch
+ * contre camps en structure de tableaux (BattleSimulator)
+ *
+ * Chaque unité de chaque camp frappe son vis-à-vis ; on mesure le coût par frappe.
+ *
+ * Usage : java game.benchmark.BattleSimulationBenchmark [unités par camp]
+ */
+public class BattleSimulationBenchmark {
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 30;
+
+    public static void main(String[] args) {
+        int perSide = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        GameMap map = new GameMap(512, 512, SEED);
+        map.generateAllChunks();
+        CombatSystem combatSystem = new CombatSystem(map);
+        CombatBatch batch = new CombatBatch(combatSystem, 2 * perSide);
+        BattleSimulator simulator = new BattleSimulator(SEED);
+        Player blue = new Player("Bleu");
+        Player red = new Player("Rouge");
+
+        long batchTime = 0;
+        long conversionTime = 0;
+        long simulatorTime = 0;
+        long batchDamage = 0;
+        long simulatorDamage = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Unit> blues = new ArrayList<>();
+            List<Unit> reds = new ArrayList<>();
+            spawn(map, blue, red, blues, reds, perSide);
+
+            long t0 = System.nanoTime();
+            BattleArmy first = BattleArmy.of(blues, map);
+            BattleArmy second = BattleArmy.of(reds, map);
+            long tc = System.nanoTime();
+            simulator.round(first, second);
+            long t1 = System.nanoTime();
+
+            batch.clear();
+            for (int i = 0; i < perSide; i++) {
+                batch.add(blues.get(i), reds.get(i));
+                batch.add(reds.get(i), blues.get(i));
+            }
+            batch.resolve(CombatBatch.Resolution.SIMULTANEOUS);
+            long t2 = System.nanoTime();
+
+            if (round >= ROUNDS / 2) {
+                conversionTime += tc - t0;
+                simulatorTime += t1 - tc;
+                batchTime += t2 - t1;
+                simulatorDamage += lostHealth(blues, first) + lostHealth(reds, second);
+                for (int i = 0; i < batch.size(); i++) {
+                    batchDamage += batch.getDamage(i);
+                }
+            }
+        }
+
+        long strikes = 2L * perSide * (ROUNDS - ROUNDS / 2);
+        System.out.println(perSide + " unités par camp");
+        System.out.printf("CombatBatch (objets Unit)   : %.3f µs/frappe%n", batchTime / 1e3 / strikes);
+        System.out.printf("BattleSimulator (tableaux)  : %.3f µs/frappe, + %.3f µs/unité pour BattleArmy.of%n",
+                          simulatorTime / 1e3 / strikes, conversionTime / 1e3 / strikes);
+        System.out.printf("Dégâts moyens par frappe    : %.3f (objets) / %.3f (tableaux)%n",
+                          (double) batchDamage / strikes, (double) simulatorDamage / strikes);
+    }
+
+    /**
+     * Dégâts encaissés par un camp (PV de départ - PV restants)
+     */
+    private static long lostHealth(List<Unit> units, BattleArmy army) {
+        int[] remaining = army.getRemainingHealth();
+        long lost = 0;
+        for (int i = 0; i < units.size(); i++) {
+            lost += units.get(i).getMaxHealth() - remaining[i];
+        }
+        return lost;
+    }
+
+    /**
+     * Paires de vis-à-vis sur des cases praticables adjacentes
+     */
+    private static void spawn(GameMap map, Player blue, Player red,
+                              List<Unit> blues, List<Unit> reds, int count) {
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            while (!map.isAccessible(x, y) || !map.isAccessible(x + 1, y)) {
+                x += 2;
+                if (x + 1 >= map.getWidth()) {
+                    x = 0;
+                    y++;
+                }
+            }
+            blues.add(i % 3 == 0 ? new Archer(blue, x, y) : new Soldier(blue, x, y));
+            reds.add(i % 3 == 1 ? new Cavalry(red, x + 1, y) : new Soldier(red, x + 1, y));
+            x += 2;
+            if (x + 1 >= map.getWidth()) {
+                x = 0;
+                y++;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package game.benchmark;
+
+import game.combat.CombatOddsCalculator;
+import game.combat.CombatOddsTable;
+import game.combat.CombatOutcome;
+import game.map.TileType;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chances de combat d'engagements hypothétiques : calcul exact à chaque fois
+ * (CombatOddsCalculator) contre lecture dans la table mémoïsée (CombatOddsTable)
+ *
+ * Usage : java game.benchmark.CombatOddsBenchmark [engagements]
+ */
+public class CombatOddsBenchmark {
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 6;
+
+    public static void main(String[] args) {
+        int engagements = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        Unit[] attackers = new Unit[engagements];
+        Unit[] defenders = new Unit[engagements];
+        TileType[] terrains = new TileType[engagements];
+        TileType[] walkable = {TileType.GRASS, TileType.FOREST, TileType.MOUNTAIN, TileType.DESERT};
+        for (int i = 0; i < engagements; i++) {
+            attackers[i] = randomUnit(random);
+            defenders[i] = randomUnit(random);
+            terrains[i] = walkable[random.nextInt(walkable.length)];
+        }
+
+        CombatOddsTable table = new CombatOddsTable();
+        long warmStart = System.nanoTime();
+        table.warmUp();
+        long warmTime = System.nanoTime() - warmStart;
+
+        CombatOddsCalculator calculator = new CombatOddsCalculator();
+        long exactTime = 0;
+        long tableTime = 0;
+        double maxError = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            double exactSum = 0;
+            double tableSum = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < engagements; i++) {
+                CombatOutcome outcome = calculator.evaluate(attackers[i], defenders[i],
+                                                            terrains[i].getDefenseBonus());
+                exactSum += outcome.getAttackerWinProbability();
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < engagements; i++) {
+                tableSum += table.getAttackerWinProbability(attackers[i], defenders[i], terrains[i]);
+            }
+            long t2 = System.nanoTime();
+            maxError = Math.max(maxError, Math.abs(exactSum - tableSum) / engagements);
+            if (round >= ROUNDS / 2) {
+                exactTime += t1 - t0;
+                tableTime += t2 - t1;
+            }
+        }
+
+        int measured = engagements * (ROUNDS - ROUNDS / 2);
+        System.out.println(engagements + " engagements (types, PV et terrains aléatoires)");
+        System.out.printf("Préchauffage de la table : %.0f ms pour %d entrées (%d Ko)%n",
+                          warmTime / 1e6, table.getDenseSize(), table.getDenseSize() * 8 / 1024);
+        System.out.printf("Calcul exact  : %.2f µs/engagement%n", exactTime / 1e3 / measured);
+        System.out.printf("Table         : %.3f µs/engagement%n", tableTime / 1e3 / measured);
+        System.out.printf("Écart moyen des probabilités : %.1e%n", maxError);
+    }
+
+    private static Unit randomUnit(SplittableRandom random) {
+        Unit unit;
+        switch (random.nextInt(3)) {
+            case 0:
+                unit = new Soldier(null, 0, 0);
+                break;
+            case 1:
+                unit = new Archer(null, 0, 0);
+                break;
+            default:
+                unit = new Cavalry(null, 0, 0);
+                break;
+        }
+        unit.takeDamage(random.nextInt(unit.getMaxHealth()));
+        return unit;
+    }
+}
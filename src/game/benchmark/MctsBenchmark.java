@@ -0,0 +1,63 @@
+package game.benchmark;
+
+import game.ai.MctsAI;
+import game.engine.MatchResult;
+import game.engine.MatchState;
+import game.engine.SelfPlayRunner;
+import game.engine.SimpleAI;
+import game.engine.TurnEngine;
+import game.player.Player;
+import game.random.RandomStreams;
+
+/**
+ * MCTS parallèle sur l'arbre : simulations par recherche et résultats contre SimpleAI
+ * selon le nombre de threads, à budget de temps égal
+ *
+ * Usage : java game.benchmark.MctsBenchmark [parties] [budget ms] [threads max]
+ */
+public class MctsBenchmark {
+    private static final long SEED = 42L;
+    private static final int MAP_SIZE = 15;
+    private static final int MAX_TURNS = 60;
+
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Carte " + MAP_SIZE + "×" + MAP_SIZE + ", " + matches + " parties par réglage, "
+                           + budget + " ms par tour, MCTS (adversaire) contre SimpleAI (joueur)");
+        measureSearch(budget, 1);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int searchThreads = threads;
+            SelfPlayRunner runner = new SelfPlayRunner(1, MAP_SIZE, MAX_TURNS, SEED);
+            runner.setControllers(SimpleAI::new, () -> new MctsAI(budget, searchThreads));
+            int[] results = new int[MatchState.values().length];
+            for (int m = 0; m < matches; m++) {
+                MatchResult result = runner.playMatch(m);
+                results[result.getState().ordinal()]++;
+            }
+            System.out.printf("%2d threads : %8d simulations par recherche, victoires %d, défaites %d, nulles %d%n",
+                              threads, measureSearch(budget, threads), results[MatchState.ENEMY_WON.ordinal()],
+                              results[MatchState.PLAYER_WON.ordinal()], results[MatchState.RUNNING.ordinal()]);
+        }
+    }
+
+    /**
+     * Simulations d'une recherche sur la position de départ (la première sert de préchauffage)
+     */
+    private static long measureSearch(long budget, int threads) {
+        long total = 0;
+        int searches = 4;
+        for (int i = 0; i < searches; i++) {
+            TurnEngine engine = new TurnEngine(new RandomStreams(SEED), MAP_SIZE,
+                                               new Player("Bleu"), new Player("Rouge"));
+            MctsAI ai = new MctsAI(budget, threads);
+            ai.playTurn(engine, engine.getPlayer());
+            if (i > 0) {
+                total += ai.getLastIterations();
+            }
+        }
+        return total / (searches - 1);
+    }
+}
@@ -0,0 +1,150 @@
+package game.benchmark;
+
+import game.map.GameMap;
+import game.pathfinding.BitboardMoveGenerator;
+import game.pathfinding.GridPathfinder;
+import game.pathfinding.ReachableSet;
+import game.player.Player;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Comparaison de la génération des cases atteignables : Dijkstra case par case
+ * (GridPathfinder) contre bitboards (BitboardMoveGenerator), sur une carte peuplée
+ *
+ * Usage : java game.benchmark.MoveGenerationBenchmark [taille] [unités] [zoc]
+ * (zoc : règle de zone de contrôle active)
+ */
+public class MoveGenerationBenchmark {
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int unitCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        boolean zoneOfControl = args.length > 2 && args[2].equals("zoc");
+
+        GameMap map = new GameMap(size, size, SEED);
+        map.generateAllChunks();
+        map.setZoneOfControl(zoneOfControl);
+        List<Unit> units = populate(map, unitCount);
+        GridPathfinder pathfinder = new GridPathfinder(map);
+        BitboardMoveGenerator generator = new BitboardMoveGenerator(map);
+
+        long checksum = 0;
+        long gridTime = 0;
+        long bitboardTime = 0;
+        long gridTargetTime = 0;
+        long bitboardTargetTime = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (Unit unit : units) {
+                pathfinder.computeReachable(unit);
+                checksum += pathfinder.snapshotReachable().size();
+            }
+            long t1 = System.nanoTime();
+            for (Unit unit : units) {
+                ReachableSet range = generator.movementRange(unit);
+                checksum -= range.size();
+            }
+            long t2 = System.nanoTime();
+            for (Unit unit : units) {
+                checksum += countThreatenedTargets(map, pathfinder, unit);
+            }
+            long t3 = System.nanoTime();
+            for (Unit unit : units) {
+                checksum -= generator.threatenedTargets(unit).size();
+            }
+            long t4 = System.nanoTime();
+            if (round >= ROUNDS / 2) {      // La première moitié sert de préchauffage
+                gridTime += t1 - t0;
+                bitboardTime += t2 - t1;
+                gridTargetTime += t3 - t2;
+                bitboardTargetTime += t4 - t3;
+            }
+        }
+
+        int measured = units.size() * (ROUNDS - ROUNDS / 2);
+        System.out.println("Carte " + size + "×" + size + ", " + units.size() + " unités"
+                           + (zoneOfControl ? ", zone de contrôle" : ""));
+        System.out.println("Cases atteignables :");
+        System.out.printf("  GridPathfinder        : %.2f µs/unité%n", gridTime / 1e3 / measured);
+        System.out.printf("  BitboardMoveGenerator : %.2f µs/unité%n", bitboardTime / 1e3 / measured);
+        System.out.println("Cibles attaquables après déplacement :");
+        System.out.printf("  Case par case         : %.2f µs/unité%n", gridTargetTime / 1e3 / measured);
+        System.out.printf("  BitboardMoveGenerator : %.2f µs/unité%n", bitboardTargetTime / 1e3 / measured);
+        System.out.println("Résultats identiques : " + (checksum == 0));
+    }
+
+    /**
+     * Version case par case : Dijkstra puis parcours du losange de portée autour de
+     * chaque case d'arrivée (et de la case de départ)
+     */
+    private static int countThreatenedTargets(GameMap map, GridPathfinder pathfinder, Unit unit) {
+        int count = pathfinder.computeReachable(unit);
+        int range = unit.getRange();
+        int radius = range + GridPathfinder.movementBudget(unit) / GridPathfinder.minStepCost();
+        int side = 2 * radius + 1;
+        boolean[] seen = new boolean[side * side];
+        int targets = 0;
+        for (int i = -1; i < count; i++) {
+            int fromX = i < 0 ? unit.getX() : pathfinder.getReachableX(i);
+            int fromY = i < 0 ? unit.getY() : pathfinder.getReachableY(i);
+            for (int dy = -range; dy <= range; dy++) {
+                int span = range - Math.abs(dy);
+                for (int dx = -span; dx <= span; dx++) {
+                    int x = fromX + dx;
+                    int y = fromY + dy;
+                    if (!map.isValidPosition(x, y)) {
+                        continue;
+                    }
+                    int local = (y - unit.getY() + radius) * side + (x - unit.getX() + radius);
+                    Unit target = map.getUnitAt(x, y);
+                    if (!seen[local] && target != null && target.getOwner() != unit.getOwner()) {
+                        seen[local] = true;
+                        targets++;
+                    }
+                }
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Place des unités des deux camps sur des cases praticables libres
+     */
+    private static List<Unit> populate(GameMap map, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Player[] players = {new Player("Bleu"), new Player("Rouge")};
+        List<Unit> units = new ArrayList<>();
+        while (units.size() < count) {
+            int x = random.nextInt(map.getWidth());
+            int y = random.nextInt(map.getHeight());
+            if (!map.isAccessible(x, y)) {
+                continue;
+            }
+            Player owner = players[random.nextInt(players.length)];
+            Unit unit;
+            switch (random.nextInt(3)) {
+                case 0:
+                    unit = new Soldier(owner, x, y);
+                    break;
+                case 1:
+                    unit = new Archer(owner, x, y);
+                    break;
+                default:
+                    unit = new Cavalry(owner, x, y);
+                    break;
+            }
+            map.setUnitAt(x, y, unit);
+            units.add(unit);
+        }
+        return units;
+    }
+}
@@ -0,0 +1,116 @@
+package game.benchmark;
+
+import game.map.GameMap;
+import game.map.NoiseTerrainGenerator;
+import game.pathfinding.GridPathfinder;
+import game.pathfinding.HierarchicalPathfinder;
+
+import java.util.SplittableRandom;
+
+/**
+ * Comparaison entre l'A* à plat (GridPathfinder) et la recherche hiérarchique (HPA*)
+ * sur des requêtes à longue distance
+ *
+ * Usage : java game.benchmark.PathfindingBenchmark [taille...] (par défaut 512 2048)
+ */
+public class PathfindingBenchmark {
+    private static final long SEED = 42L;
+    private static final int QUERIES = 50;
+    private static final int WARMUP = 10;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[]{512, 2048} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        System.out.println("=== Carte " + size + "×" + size + " ===");
+        GameMap map = new GameMap(size, size, SEED, new NoiseTerrainGenerator());
+
+        long t0 = System.nanoTime();
+        map.generateAllChunks();
+        long t1 = System.nanoTime();
+        HierarchicalPathfinder hierarchical = new HierarchicalPathfinder(map);
+        long t2 = System.nanoTime();
+        GridPathfinder flat = new GridPathfinder(map);
+
+        System.out.printf("Génération du terrain : %.0f ms%n", (t1 - t0) / 1e6);
+        System.out.printf("Graphe abstrait : %.0f ms, %d entrées%n",
+                          (t2 - t1) / 1e6, hierarchical.getAbstractNodeCount());
+
+        int[] queries = pickQueries(map, WARMUP + QUERIES);
+        long flatTime = 0;
+        long hierarchicalTime = 0;
+        long flatCost = 0;
+        long hierarchicalCost = 0;
+        int solved = 0;
+        int missed = 0;
+
+        for (int q = 0; q < WARMUP + QUERIES; q++) {
+            int sx = queries[q * 4];
+            int sy = queries[q * 4 + 1];
+            int gx = queries[q * 4 + 2];
+            int gy = queries[q * 4 + 3];
+
+            long a = System.nanoTime();
+            int optimal = flat.findPath(null, sx, sy, gx, gy, Integer.MAX_VALUE);
+            long b = System.nanoTime();
+            int approx = hierarchical.findPath(sx, sy, gx, gy);
+            long c = System.nanoTime();
+
+            if (q < WARMUP) {
+                continue;
+            }
+            flatTime += b - a;
+            hierarchicalTime += c - b;
+            if (optimal >= 0 && approx >= 0) {
+                solved++;
+                flatCost += optimal;
+                hierarchicalCost += approx;
+            } else if (optimal >= 0) {
+                missed++;
+            }
+        }
+
+        System.out.printf("A* à plat : %.2f ms/requête%n", flatTime / 1e6 / QUERIES);
+        System.out.printf("HPA*      : %.2f ms/requête (chemin raffiné inclus)%n",
+                          hierarchicalTime / 1e6 / QUERIES);
+        if (solved > 0) {
+            System.out.printf("Surcoût moyen des chemins HPA* : %.2f %% (%d requêtes, %d manquées)%n",
+                              100.0 * (hierarchicalCost - flatCost) / flatCost, solved, missed);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tire des couples départ/arrivée franchissables, éloignés d'au moins la moitié de la carte
+     */
+    private static int[] pickQueries(GameMap map, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int size = map.getWidth();
+        int[] queries = new int[count * 4];
+        int q = 0;
+        while (q < count) {
+            int sx = random.nextInt(size);
+            int sy = random.nextInt(size);
+            int gx = random.nextInt(size);
+            int gy = random.nextInt(size);
+            if (Math.abs(sx - gx) + Math.abs(sy - gy) < size / 2
+                    || !map.getTileType(sx, sy).isWalkable()
+                    || !map.getTileType(gx, gy).isWalkable()) {
+                continue;
+            }
+            queries[q * 4] = sx;
+            queries[q * 4 + 1] = sy;
+            queries[q * 4 + 2] = gx;
+            queries[q * 4 + 3] = gy;
+            q++;
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,93 @@
+package game.benchmark;
+
+import game.map.GameMap;
+import game.map.SpatialIndex;
+import game.player.Player;
+import game.unit.Archer;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.SplittableRandom;
+
+/**
+ * Choix des cibles d'un tour d'IA : parcours de toutes les unités ennemies
+ * contre requêtes sur l'index spatial
+ *
+ * Usage : java game.benchmark.TargetSelectionBenchmark [taille] [unités par joueur]
+ */
+public class TargetSelectionBenchmark {
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int unitsPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        GameMap map = new GameMap(size, size, SEED);
+        Player blue = new Player("Bleu");
+        Player red = new Player("Rouge");
+        SplittableRandom random = new SplittableRandom(SEED);
+        populate(map, blue, unitsPerPlayer, random);
+        populate(map, red, unitsPerPlayer, random);
+        SpatialIndex index = new SpatialIndex(map);
+
+        long scanTime = 0;
+        long indexTime = 0;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (Unit unit : blue.getUnits()) {
+                checksum += weakestByScan(unit, red);
+            }
+            long t1 = System.nanoTime();
+            for (Unit unit : blue.getUnits()) {
+                checksum -= weakestByIndex(unit, index);
+            }
+            long t2 = System.nanoTime();
+            if (round >= ROUNDS / 2) {
+                scanTime += t1 - t0;
+                indexTime += t2 - t1;
+            }
+        }
+
+        int measured = ROUNDS - ROUNDS / 2;
+        System.out.println("Carte " + size + "×" + size + ", " + unitsPerPlayer + " unités par joueur");
+        System.out.printf("Parcours des unités : %.1f ms/tour%n", scanTime / 1e6 / measured);
+        System.out.printf("Index spatial       : %.1f ms/tour%n", indexTime / 1e6 / measured);
+        System.out.println("Résultats identiques : " + (checksum == 0));
+    }
+
+    private static int weakestByScan(Unit attacker, Player enemy) {
+        int weakest = Integer.MAX_VALUE;
+        for (Unit target : enemy.getUnits()) {
+            if (attacker.distanceTo(target.getX(), target.getY()) <= attacker.getRange()) {
+                weakest = Math.min(weakest, target.getCurrentHealth());
+            }
+        }
+        return weakest;
+    }
+
+    private static int weakestByIndex(Unit attacker, SpatialIndex index) {
+        int weakest = Integer.MAX_VALUE;
+        for (Unit target : index.getEnemyUnitsInRange(attacker.getOwner(), attacker.getX(),
+                                                      attacker.getY(), attacker.getRange())) {
+            weakest = Math.min(weakest, target.getCurrentHealth());
+        }
+        return weakest;
+    }
+
+    private static void populate(GameMap map, Player owner, int count, SplittableRandom random) {
+        int placed = 0;
+        while (placed < count) {
+            int x = random.nextInt(map.getWidth());
+            int y = random.nextInt(map.getHeight());
+            if (!map.isAccessible(x, y)) {
+                continue;
+            }
+            Unit unit = random.nextBoolean() ? new Soldier(owner, x, y) : new Archer(owner, x, y);
+            owner.addUnit(unit);
+            map.setUnitAt(x, y, unit);
+            placed++;
+        }
+    }
+}
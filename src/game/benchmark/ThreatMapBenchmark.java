@@ -0,0 +1,120 @@
+package game.benchmark;
+
+import game.map.GameMap;
+import game.pathfinding.ThreatMap;
+import game.player.Player;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Mise à jour de la carte des menaces après quelques déplacements : recalcul
+ * incrémental (ThreatMap.refresh) contre recalcul complet de toutes les unités
+ *
+ * Usage : java game.benchmark.ThreatMapBenchmark [taille] [unités] [déplacements par tour]
+ */
+public class ThreatMapBenchmark {
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 40;
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int unitCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        GameMap map = new GameMap(size, size, SEED);
+        map.generateAllChunks();
+        Player[] players = {new Player("Bleu"), new Player("Rouge")};
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Unit> units = populate(map, players, random, unitCount);
+        ThreatMap threatMap = new ThreatMap(map);
+        threatMap.refresh();
+
+        long incrementalTime = 0;
+        long fullTime = 0;
+        boolean identical = true;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < moves; i++) {
+                step(map, units.get(random.nextInt(units.size())), random);
+            }
+            long t0 = System.nanoTime();
+            threatMap.refresh();
+            long t1 = System.nanoTime();
+            int incremental = threatCells(threatMap, players);
+            long t2 = System.nanoTime();
+            threatMap.recomputeAll();
+            long t3 = System.nanoTime();
+            identical &= incremental == threatCells(threatMap, players);
+            if (round >= ROUNDS / 2) {      // La première moitié sert de préchauffage
+                incrementalTime += t1 - t0;
+                fullTime += t3 - t2;
+            }
+        }
+
+        int measured = ROUNDS - ROUNDS / 2;
+        System.out.println("Carte " + size + "×" + size + ", " + units.size() + " unités, "
+                           + moves + " déplacements par tour");
+        System.out.printf("Recalcul incrémental : %.3f ms/tour%n", incrementalTime / 1e6 / measured);
+        System.out.printf("Recalcul complet     : %.3f ms/tour%n", fullTime / 1e6 / measured);
+        System.out.println("Résultats identiques : " + identical);
+    }
+
+    private static int threatCells(ThreatMap threatMap, Player[] players) {
+        int cells = 0;
+        for (Player player : players) {
+            cells += threatMap.getThreatBoard(player).cardinality();
+        }
+        return cells;
+    }
+
+    /**
+     * Déplace l'unité d'une case vers une voisine libre et praticable, s'il y en a une
+     */
+    private static void step(GameMap map, Unit unit, SplittableRandom random) {
+        int direction = random.nextInt(DX.length);
+        int x = unit.getX() + DX[direction];
+        int y = unit.getY() + DY[direction];
+        if (map.isValidPosition(x, y) && map.isAccessible(x, y)) {
+            map.setUnitAt(unit.getX(), unit.getY(), null);
+            map.setUnitAt(x, y, unit);
+            unit.moveTo(x, y);
+        }
+    }
+
+    /**
+     * Place des unités des deux camps sur des cases praticables libres
+     */
+    private static List<Unit> populate(GameMap map, Player[] players, SplittableRandom random, int count) {
+        List<Unit> units = new ArrayList<>();
+        while (units.size() < count) {
+            int x = random.nextInt(map.getWidth());
+            int y = random.nextInt(map.getHeight());
+            if (!map.isAccessible(x, y)) {
+                continue;
+            }
+            Player owner = players[random.nextInt(players.length)];
+            Unit unit;
+            switch (random.nextInt(3)) {
+                case 0:
+                    unit = new Soldier(owner, x, y);
+                    break;
+                case 1:
+                    unit = new Archer(owner, x, y);
+                    break;
+                default:
+                    unit = new Cavalry(owner, x, y);
+                    break;
+            }
+            map.setUnitAt(x, y, unit);
+            units.add(unit);
+        }
+        return units;
+    }
+}
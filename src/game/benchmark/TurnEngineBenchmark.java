@@ -0,0 +1,48 @@
+package game.benchmark;
+
+import game.engine.MatchState;
+import game.engine.SimpleAI;
+import game.engine.TurnEngine;
+import game.player.Player;
+import game.random.RandomStreams;
+
+/**
+ * Moteur de tours sans interface : parties IA contre IA (SimpleAI des deux côtés)
+ * jouées d'un bout à l'autre, en tours par seconde
+ *
+ * Usage : java game.benchmark.TurnEngineBenchmark [taille] [parties] [tours max]
+ */
+public class TurnEngineBenchmark {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        long measuredTime = 0;
+        int measuredTurns = 0;
+        int[] results = new int[MatchState.values().length];
+        for (int m = 0; m < matches; m++) {
+            TurnEngine engine = new TurnEngine(new RandomStreams(SEED + m), size,
+                                               new Player("Bleu"), new Player("Rouge"));
+            engine.setPlayerController(new SimpleAI());
+            long t0 = System.nanoTime();
+            MatchState state = engine.run(maxTurns);
+            long t1 = System.nanoTime();
+            results[state.ordinal()]++;
+            if (m >= matches / 2) {         // La première moitié sert de préchauffage
+                measuredTime += t1 - t0;
+                measuredTurns += engine.getTurn();
+            }
+        }
+
+        System.out.println("Carte " + size + "×" + size + ", " + matches + " parties, "
+                           + maxTurns + " tours max");
+        System.out.printf("Tours par seconde : %.0f%n", measuredTurns / (measuredTime / 1e9));
+        System.out.printf("Temps par tour    : %.3f ms%n", measuredTime / 1e6 / measuredTurns);
+        for (MatchState state : MatchState.values()) {
+            System.out.println(state + " : " + results[state.ordinal()]);
+        }
+    }
+}
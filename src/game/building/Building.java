@@ -1,14 +1,19 @@
 package game.building;
 
+import game.event.GameEvents;
 import game.player.Player;
+import game.random.Zobrist;
 import game.resource.ResourceType;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Classe abstraite représentant un bâtiment
  * Tous les bâtiments héritent de cette classe
+ *
+ * Comme Unit, le bâtiment tient sa clé de Zobrist (type, propriétaire, tranche de
+ * PV, état de construction, position) à jour et la reporte sur son propriétaire.
  */
 public abstract class Building {
     protected String name;
@@ -22,6 +27,9 @@ public abstract class Building {
     protected boolean isBuilt;          // Si le bâtiment est terminé
     protected Map<ResourceType, Integer> cost;
     protected Map<ResourceType, Integer> production; // Production par tour
+    private final long typeKey;
+    private long zobristKey;
+    private boolean listed;             // Compté dans l'empreinte du propriétaire
 
     /**
      * Constructeur du bâtiment
@@ -32,10 +40,12 @@ public abstract class Building {
         this.x = x;
         this.y = y;
         this.isBuilt = false;
-        this.cost = new HashMap<>();
-        this.production = new HashMap<>();
+        this.cost = new EnumMap<>(ResourceType.class);
+        this.production = new EnumMap<>(ResourceType.class);
         initializeStats();
         this.remainingTime = this.constructionTime;
+        this.typeKey = Zobrist.type(getClass());
+        rekey();
     }
 
     /**
@@ -62,12 +72,13 @@ public abstract class Building {
         remainingTime--;
         if (remainingTime <= 0) {
             isBuilt = true;
-            System.out.println(" " + name + " est maintenant construit !");
+            rekey();
+            GameEvents.sink().onBuildingCompleted(this);
             return true;
         }
 
-        System.out.println(" " + name + " en construction... (" + 
-                         remainingTime + " tours restants)");
+        rekey();
+        GameEvents.sink().onConstructionProgress(this, remainingTime);
         return false;
     }
 
@@ -79,11 +90,9 @@ public abstract class Building {
             return;
         }
 
-        System.out.println(" " + name + " produit des ressources:");
         for (Map.Entry<ResourceType, Integer> entry : production.entrySet()) {
             owner.addResource(entry.getKey(), entry.getValue());
-            System.out.println("  +" + entry.getValue() + " " + 
-                             entry.getKey().getIcon() + " " + entry.getKey().getName());
+            GameEvents.sink().onResourcesProduced(this, entry.getKey(), entry.getValue());
         }
     }
 
@@ -94,6 +103,9 @@ public abstract class Building {
         this.currentHealth -= damage;
         if (this.currentHealth <= 0) {
             this.currentHealth = 0;
+        }
+        rekey();
+        if (this.currentHealth == 0) {
             destroy();
         }
     }
@@ -108,6 +120,7 @@ public abstract class Building {
         }
 
         this.currentHealth = Math.min(this.currentHealth + amount, this.maxHealth);
+        rekey();
         System.out.println(this.name + " réparé de " + amount + " PV !");
     }
 
@@ -115,7 +128,7 @@ public abstract class Building {
      * Détruit le bâtiment
      */
     protected void destroy() {
-        System.out.println(" " + name + " a été détruit !");
+        GameEvents.sink().onBuildingDestroyed(this);
         if (owner != null) {
             owner.removeBuilding(this);
         }
@@ -124,6 +137,19 @@ public abstract class Building {
         // Note: la carte doit être mise à jour par le code appelant
     }
 
+    /**
+     * Recalcule la clé de Zobrist après une modification et la reporte sur le propriétaire
+     */
+    protected void rekey() {
+        long previous = zobristKey;
+        zobristKey = Zobrist.building(typeKey, owner != null ? owner.getOwnerKey() : 0,
+                                      Zobrist.healthBucket(currentHealth, maxHealth),
+                                      isBuilt ? -1 : remainingTime, x, y);
+        if (listed && previous != zobristKey) {
+            owner.replaceKey(previous, zobristKey);
+        }
+    }
+
     /**
      * Vérifie si le bâtiment est détruit
      */
@@ -189,11 +215,32 @@ public abstract class Building {
     }
 
     public Map<ResourceType, Integer> getCost() {
-        return new HashMap<>(cost);
+        return new EnumMap<>(cost);
+    }
+
+    /**
+     * Clé de Zobrist de l'état du bâtiment (voir Zobrist.building)
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Clé du type de bâtiment (voir Zobrist.type)
+     */
+    public long getTypeKey() {
+        return typeKey;
+    }
+
+    /**
+     * Appelée par Player.addBuilding et removeBuilding (voir Unit.setListed)
+     */
+    public void setListed(boolean listed) {
+        this.listed = listed;
     }
 
     public Map<ResourceType, Integer> getProduction() {
-        return new HashMap<>(production);
+        return new EnumMap<>(production);
     }
 
     @Override
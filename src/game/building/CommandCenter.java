@@ -54,13 +54,6 @@ public class CommandCenter extends Building {
         System.out.println(" Fonds d'urgence activés ! +" + bonus + " Or");
     }
 
-    @Override
-    protected void destroy() {
-        super.destroy();
-        System.out.println(" Le Centre de Commandement a été détruit !");
-        System.out.println(" " + owner.getName() + " est en danger critique !");
-    }
-
     @Override
     public String toString() {
         return " " + super.toString();
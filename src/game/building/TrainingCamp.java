@@ -32,6 +32,19 @@ public class TrainingCamp extends Building {
         // Son action principale est de recruter des unités
     }
 
+    /**
+     * Recrute une unité déjà créée, sans message (IA, simulations) : paie son coût et
+     * l'ajoute au propriétaire ; la placer sur la carte reste à la charge de l'appelant
+     * @return true si le camp est construit et les ressources suffisantes
+     */
+    public boolean recruit(Unit unit) {
+        if (!isBuilt || !owner.payResources(unit.getCost())) {
+            return false;
+        }
+        owner.addUnit(unit);
+        return true;
+    }
+
     /**
      * Recrute un soldat
      * @return Le soldat créé ou null si impossible
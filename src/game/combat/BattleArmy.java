@@ -0,0 +1,111 @@
+package game.combat;
+
+import game.map.GameMap;
+import game.unit.Unit;
+
+import java.util.List;
+
+/**
+ * Camp d'une bataille de masse, en structure de tableaux (voir BattleSimulator)
+ *
+ * Les unités vivantes occupent les size premières lignes, dans l'ordre de départ :
+ * les morts sont retirées par compactage à la fin de chaque manche. origin[i] est
+ * l'indice, dans la liste de départ, de l'unité en ligne i.
+ */
+public final class BattleArmy {
+    final int[] attack;
+    final int[] defense;
+    final int[] health;
+    final int[] terrainBonus;   // Bonus de défense du terrain de chaque unité
+    final int[] origin;
+    final int[] incoming;       // Dégâts reçus pendant la manche en cours
+    final int unitCount;
+    int size;
+
+    /**
+     * Camp vide de capacité donnée, à remplir avec set
+     */
+    public BattleArmy(int unitCount) {
+        this.attack = new int[unitCount];
+        this.defense = new int[unitCount];
+        this.health = new int[unitCount];
+        this.terrainBonus = new int[unitCount];
+        this.origin = new int[unitCount];
+        this.incoming = new int[unitCount];
+        this.unitCount = unitCount;
+        this.size = unitCount;
+        for (int i = 0; i < unitCount; i++) {
+            origin[i] = i;
+        }
+    }
+
+    /**
+     * Camp construit à partir des statistiques actuelles des unités
+     * @param map Carte lue pour le bonus de défense du terrain (null : aucun bonus)
+     */
+    public static BattleArmy of(List<Unit> units, GameMap map) {
+        BattleArmy army = new BattleArmy(units.size());
+        for (int i = 0; i < units.size(); i++) {
+            Unit unit = units.get(i);
+            int bonus = map != null && map.isValidPosition(unit.getX(), unit.getY())
+                    ? map.getTileType(unit.getX(), unit.getY()).getDefenseBonus() : 0;
+            army.set(i, unit.getAttack(), unit.getDefense(), unit.getCurrentHealth(), bonus);
+        }
+        return army;
+    }
+
+    /**
+     * Définit l'unité d'indice i (avant le début de la bataille)
+     */
+    public void set(int i, int attackValue, int defenseValue, int healthValue, int bonus) {
+        attack[i] = attackValue;
+        defense[i] = defenseValue;
+        health[i] = healthValue;
+        terrainBonus[i] = bonus;
+    }
+
+    /**
+     * Retire les unités mortes en gardant l'ordre des survivantes
+     */
+    void compact() {
+        int alive = 0;
+        for (int i = 0; i < size; i++) {
+            if (health[i] > 0) {
+                attack[alive] = attack[i];
+                defense[alive] = defense[i];
+                health[alive] = health[i];
+                terrainBonus[alive] = terrainBonus[i];
+                origin[alive] = origin[i];
+                alive++;
+            }
+        }
+        size = alive;
+    }
+
+    public int getAliveCount() {
+        return size;
+    }
+
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    public long getTotalHealth() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += health[i];
+        }
+        return total;
+    }
+
+    /**
+     * PV restants de chaque unité, dans l'ordre de la liste de départ (0 pour les mortes)
+     */
+    public int[] getRemainingHealth() {
+        int[] result = new int[unitCount];
+        for (int i = 0; i < size; i++) {
+            result[origin[i]] = health[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package game.combat;
+
+/**
+ * Simulation de batailles de masse sur des camps en structure de tableaux (BattleArmy)
+ *
+ * Une manche est une résolution simultanée (comme CombatBatch.Resolution.SIMULTANEOUS
+ * quand chaque unité a son ordre) : l'unité vivante i de chaque camp frappe l'unité
+ * i mod n du camp adverse, toutes les frappes partent de l'état de début de manche,
+ * puis les dégâts sont appliqués et les mortes retirées. Toutes les unités agissant,
+ * aucune ne riposte.
+ *
+ * Chaque frappe suit exactement la loi de CombatSystem.performAttack :
+ * max(1, (int) ((ATK - DEF) × f)) avec f uniforme dans [0,8 ; 1,2), moins le bonus
+ * de terrain de la cible (minimum 1), puis × 1,5 tronqué sur un coup critique (10 %).
+ *
+ * Le calcul se fait par tableaux entiers, en boucles sans branche ni appel, que le
+ * compilateur JIT peut vectoriser ; le tirage aléatoire est un hachage du numéro de
+ * frappe (SplitMix64), sans état partagé entre les lignes. Une même graine donne
+ * toujours la même bataille.
+ */
+public class BattleSimulator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double UNIT_SCALE = 0x1.0p-32;
+
+    private final long seed;
+    private long counter;           // Numéro de la prochaine frappe
+    private int[] targetDefense;    // Statistiques de la cible, rassemblées par ligne d'attaquant
+    private int[] targetBonus;
+    private int[] damage;
+
+    public BattleSimulator(long seed) {
+        this.seed = seed;
+        this.targetDefense = new int[0];
+        this.targetBonus = new int[0];
+        this.damage = new int[0];
+    }
+
+    /**
+     * Combat jusqu'à l'élimination d'un camp ou la limite de manches
+     * @return Nombre de manches jouées
+     */
+    public int fight(BattleArmy first, BattleArmy second, int maxRounds) {
+        first.compact();
+        second.compact();
+        int rounds = 0;
+        while (rounds < maxRounds && first.size > 0 && second.size > 0) {
+            round(first, second);
+            rounds++;
+        }
+        return rounds;
+    }
+
+    /**
+     * Joue une manche simultanée entre deux camps
+     */
+    public void round(BattleArmy first, BattleArmy second) {
+        if (first.size == 0 || second.size == 0) {
+            return;
+        }
+        strike(first, second);
+        strike(second, first);
+        apply(first);
+        apply(second);
+    }
+
+    /**
+     * Frappes de toutes les unités de from sur to (cumulées dans to.incoming)
+     */
+    private void strike(BattleArmy from, BattleArmy to) {
+        int n = from.size;
+        int m = to.size;
+        ensureCapacity(n);
+        int[] attack = from.attack;
+        int[] defense = targetDefense;
+        int[] bonus = targetBonus;
+        int[] result = damage;
+
+        // Rassemblement : la cible de la ligne i est i mod m
+        for (int i = 0, t = 0; i < n; i++) {
+            defense[i] = to.defense[t];
+            bonus[i] = to.terrainBonus[t];
+            if (++t == m) {
+                t = 0;
+            }
+        }
+
+        // Noyau : dégâts de toutes les frappes
+        long base = seed + counter * GOLDEN_GAMMA;
+        for (int i = 0; i < n; i++) {
+            long z = mix(base + i * GOLDEN_GAMMA);
+            double factor = CombatOddsCalculator.MIN_FACTOR
+                    + ((z >>> 32) * UNIT_SCALE) * CombatOddsCalculator.FACTOR_SPAN;
+            int hit = Math.max(1, (int) ((attack[i] - defense[i]) * factor));
+            hit = Math.max(1, hit - bonus[i]);
+            int critical = (int) (((z & 0xFFFFFFFFL) * 100) >>> 32) < CombatSystem.CRITICAL_PERCENT ? 1 : 0;
+            result[i] = hit + critical * (CombatSystem.criticalDamage(hit) - hit);
+        }
+        counter += n;
+
+        // Dispersion sur les cibles
+        int[] incoming = to.incoming;
+        for (int i = 0, t = 0; i < n; i++) {
+            incoming[t] += result[i];
+            if (++t == m) {
+                t = 0;
+            }
+        }
+    }
+
+    private static void apply(BattleArmy army) {
+        int[] health = army.health;
+        int[] incoming = army.incoming;
+        for (int i = 0; i < army.size; i++) {
+            health[i] -= incoming[i];
+            incoming[i] = 0;
+        }
+        army.compact();
+    }
+
+    private void ensureCapacity(int n) {
+        if (damage.length < n) {
+            targetDefense = new int[n];
+            targetBonus = new int[n];
+            damage = new int[n];
+        }
+    }
+
+    /**
+     * Finaliseur de SplitMix64 : 64 bits bien mélangés à partir d'un compteur
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
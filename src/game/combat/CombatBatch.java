@@ -0,0 +1,297 @@
+package game.combat;
+
+import game.event.ActionRejection;
+import game.event.GameEventSink;
+import game.event.GameEvents;
+import game.unit.Unit;
+
+import java.util.Arrays;
+
+/**
+ * Résolution groupée d'ordres d'attaque (attaquant, cible)
+ *
+ * Les ordres sont d'abord tous validés en une passe (portée, hasActed, camps, PV),
+ * puis résolus dans un ordre défini :
+ *   SEQUENTIAL   : dans l'ordre d'ajout, exactement comme des appels successifs à
+ *                  CombatSystem.performAttack (un ordre dont l'attaquant ou la cible
+ *                  est mort entre-temps, ou dont l'attaquant a déjà frappé, est refusé)
+ *   SIMULTANEOUS : toutes les frappes validées partent de l'état initial, les dégâts
+ *                  sont cumulés puis appliqués ensemble ; ripostent seulement les
+ *                  cibles qui n'ont pas d'ordre propre dans le lot
+ *
+ * Les résultats tiennent dans un seul tableau d'entiers, RESULT_STRIDE par ordre :
+ * [statut, dégâts infligés, dégâts de riposte reçus]. Un lot se réutilise après
+ * clear() sans réallouer ses tableaux.
+ */
+public class CombatBatch {
+    public enum Resolution {
+        SEQUENTIAL,
+        SIMULTANEOUS
+    }
+
+    public static final int RESULT_STRIDE = 3;
+    public static final int STATUS = 0;
+    public static final int DAMAGE = 1;
+    public static final int COUNTER_DAMAGE = 2;
+
+    // Bits du statut ; une raison de refus est codée (ordinal + 1) << REJECTION_SHIFT
+    public static final int RESOLVED = 1;
+    public static final int CRITICAL = 1 << 1;
+    public static final int COUNTERED = 1 << 2;
+    public static final int TARGET_KILLED = 1 << 3;
+    public static final int ATTACKER_KILLED = 1 << 4;
+    private static final int REJECTION_SHIFT = 8;
+    private static final ActionRejection[] REJECTIONS = ActionRejection.values();
+
+    private final CombatSystem combatSystem;
+    private Unit[] attackers;
+    private Unit[] targets;
+    private int[] results;
+    private int size;
+
+    public CombatBatch(CombatSystem combatSystem) {
+        this(combatSystem, 64);
+    }
+
+    public CombatBatch(CombatSystem combatSystem, int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.combatSystem = combatSystem;
+        this.attackers = new Unit[capacity];
+        this.targets = new Unit[capacity];
+        this.results = new int[capacity * RESULT_STRIDE];
+    }
+
+    /**
+     * Ajoute un ordre d'attaque
+     * @return Indice de l'ordre dans le lot (et dans les résultats)
+     */
+    public int add(Unit attacker, Unit target) {
+        if (size == attackers.length) {
+            int capacity = size * 2;
+            attackers = Arrays.copyOf(attackers, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            results = Arrays.copyOf(results, capacity * RESULT_STRIDE);
+        }
+        attackers[size] = attacker;
+        targets[size] = target;
+        return size++;
+    }
+
+    /**
+     * Vide le lot (la capacité est conservée)
+     */
+    public void clear() {
+        Arrays.fill(attackers, 0, size, null);
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Valide puis résout tous les ordres du lot
+     * @return Le tableau des résultats (RESULT_STRIDE entiers par ordre), valable
+     *         jusqu'au prochain ajout ou à la prochaine résolution
+     */
+    public int[] resolve(Resolution resolution) {
+        Arrays.fill(results, 0, size * RESULT_STRIDE, 0);
+        validate();
+        if (resolution == Resolution.SEQUENTIAL) {
+            resolveSequential();
+        } else {
+            resolveSimultaneous();
+        }
+        return results;
+    }
+
+    /**
+     * Passe de validation : chaque ordre est vérifié contre l'état de départ
+     */
+    private void validate() {
+        GameEventSink sink = GameEvents.sink();
+        for (int i = 0; i < size; i++) {
+            ActionRejection rejection = combatSystem.checkAttack(attackers[i], targets[i]);
+            if (rejection != null) {
+                reject(sink, i, rejection);
+            }
+        }
+    }
+
+    private void resolveSequential() {
+        GameEventSink sink = GameEvents.sink();
+        for (int i = 0; i < size; i++) {
+            int base = i * RESULT_STRIDE;
+            if (results[base + STATUS] != 0) {
+                continue;
+            }
+            Unit attacker = attackers[i];
+            Unit target = targets[i];
+            // Un ordre précédent a pu tuer l'un des deux ou faire déjà agir l'attaquant
+            if (!attacker.isAlive()) {
+                reject(sink, i, ActionRejection.ATTACKER_DEAD);
+                continue;
+            }
+            if (!target.isAlive()) {
+                reject(sink, i, ActionRejection.TARGET_DEAD);
+                continue;
+            }
+            if (attacker.hasActed()) {
+                reject(sink, i, ActionRejection.ALREADY_ACTED);
+                continue;
+            }
+
+            int status = RESOLVED;
+            int terrainBonus = combatSystem.getTerrainDefenseBonus(target);
+            int damage = Math.max(1, combatSystem.calculateDamage(attacker, target) - terrainBonus);
+            if (combatSystem.rollCritical()) {
+                damage = CombatSystem.criticalDamage(damage);
+                status |= CRITICAL;
+            }
+            target.takeDamage(damage);
+            attacker.setHasActed(true);
+            sink.onAttack(attacker, target, damage, terrainBonus, (status & CRITICAL) != 0);
+
+            if (!target.isAlive()) {
+                status |= TARGET_KILLED;
+            } else if (combatSystem.canCounterAttack(target, attacker)) {
+                int counterDamage = combatSystem.calculateCounterDamage(target, attacker);
+                attacker.takeDamage(counterDamage);
+                sink.onCounterAttack(target, attacker, counterDamage);
+                results[base + COUNTER_DAMAGE] = counterDamage;
+                status |= COUNTERED;
+                if (!attacker.isAlive()) {
+                    status |= ATTACKER_KILLED;
+                }
+            }
+            results[base + STATUS] = status;
+            results[base + DAMAGE] = damage;
+        }
+    }
+
+    private void resolveSimultaneous() {
+        GameEventSink sink = GameEvents.sink();
+        // Les attaquants agissent tous : ceux qui ont un ordre ne ripostent pas,
+        // et un second ordre pour le même attaquant est refusé
+        for (int i = 0; i < size; i++) {
+            if (results[i * RESULT_STRIDE + STATUS] != 0) {
+                continue;
+            }
+            if (attackers[i].hasActed()) {
+                reject(sink, i, ActionRejection.ALREADY_ACTED);
+            } else {
+                attackers[i].setHasActed(true);
+                results[i * RESULT_STRIDE + STATUS] = RESOLVED;
+            }
+        }
+
+        // Tirage de toutes les frappes sur l'état de départ
+        for (int i = 0; i < size; i++) {
+            int base = i * RESULT_STRIDE;
+            if ((results[base + STATUS] & RESOLVED) == 0) {
+                continue;
+            }
+            Unit attacker = attackers[i];
+            Unit target = targets[i];
+            int status = RESOLVED;
+            int damage = Math.max(1, combatSystem.calculateDamage(attacker, target)
+                                     - combatSystem.getTerrainDefenseBonus(target));
+            if (combatSystem.rollCritical()) {
+                damage = CombatSystem.criticalDamage(damage);
+                status |= CRITICAL;
+            }
+            if (combatSystem.canCounterAttack(target, attacker)) {
+                results[base + COUNTER_DAMAGE] = combatSystem.calculateCounterDamage(target, attacker);
+                status |= COUNTERED;
+            }
+            results[base + STATUS] = status;
+            results[base + DAMAGE] = damage;
+        }
+
+        // Application groupée des dégâts
+        for (int i = 0; i < size; i++) {
+            int base = i * RESULT_STRIDE;
+            int status = results[base + STATUS];
+            if ((status & RESOLVED) == 0) {
+                continue;
+            }
+            Unit attacker = attackers[i];
+            Unit target = targets[i];
+            if (target.isAlive()) {
+                target.takeDamage(results[base + DAMAGE]);
+            }
+            sink.onAttack(attacker, target, results[base + DAMAGE],
+                          combatSystem.getTerrainDefenseBonus(target), (status & CRITICAL) != 0);
+            if ((status & COUNTERED) != 0) {
+                if (attacker.isAlive()) {
+                    attacker.takeDamage(results[base + COUNTER_DAMAGE]);
+                }
+                sink.onCounterAttack(target, attacker, results[base + COUNTER_DAMAGE]);
+            }
+        }
+
+        // Les morts ne sont connues qu'une fois tous les dégâts appliqués
+        for (int i = 0; i < size; i++) {
+            int base = i * RESULT_STRIDE;
+            if ((results[base + STATUS] & RESOLVED) == 0) {
+                continue;
+            }
+            if (!targets[i].isAlive()) {
+                results[base + STATUS] |= TARGET_KILLED;
+            }
+            if ((results[base + STATUS] & COUNTERED) != 0 && !attackers[i].isAlive()) {
+                results[base + STATUS] |= ATTACKER_KILLED;
+            }
+        }
+    }
+
+    private void reject(GameEventSink sink, int order, ActionRejection rejection) {
+        results[order * RESULT_STRIDE + STATUS] = rejectionStatus(rejection);
+        Unit target = targets[order];
+        sink.onActionRejected(attackers[order], target != null ? target.getX() : -1,
+                              target != null ? target.getY() : -1, rejection);
+    }
+
+    // ===== Lecture des résultats =====
+
+    public boolean isResolved(int order) {
+        return (results[order * RESULT_STRIDE + STATUS] & RESOLVED) != 0;
+    }
+
+    public boolean isCritical(int order) {
+        return (results[order * RESULT_STRIDE + STATUS] & CRITICAL) != 0;
+    }
+
+    public boolean isTargetKilled(int order) {
+        return (results[order * RESULT_STRIDE + STATUS] & TARGET_KILLED) != 0;
+    }
+
+    public boolean isAttackerKilled(int order) {
+        return (results[order * RESULT_STRIDE + STATUS] & ATTACKER_KILLED) != 0;
+    }
+
+    public int getDamage(int order) {
+        return results[order * RESULT_STRIDE + DAMAGE];
+    }
+
+    public int getCounterDamage(int order) {
+        return results[order * RESULT_STRIDE + COUNTER_DAMAGE];
+    }
+
+    /**
+     * Raison du refus d'un ordre, null s'il a été résolu
+     */
+    public ActionRejection getRejection(int order) {
+        return rejectionOf(results[order * RESULT_STRIDE + STATUS]);
+    }
+
+    static int rejectionStatus(ActionRejection rejection) {
+        return (rejection.ordinal() + 1) << REJECTION_SHIFT;
+    }
+
+    static ActionRejection rejectionOf(int status) {
+        int code = status >>> REJECTION_SHIFT;
+        return code == 0 ? null : REJECTIONS[code - 1];
+    }
+}
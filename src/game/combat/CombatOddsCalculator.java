@@ -0,0 +1,196 @@
+package game.combat;
+
+import game.unit.Unit;
+
+import java.util.Arrays;
+
+/**
+ * Calcul exact de l'issue d'un combat jusqu'à la mort, par programmation dynamique
+ * sur les états (PV attaquant, PV défenseur)
+ *
+ * Même modèle que CombatSystem.simulateCombat : l'attaquant frappe, puis le défenseur
+ * s'il survit, et ainsi de suite. Une frappe inflige max(1, (int) ((ATK - DEF) × f))
+ * avec f uniforme dans [0,8 ; 1,2) : la loi des dégâts est calculée exactement, en
+ * entiers, par recouvrement d'intervalles, au lieu de tirer 1000 combats au hasard.
+ *
+ * Les états sont parcourus par PV du défenseur décroissants (chaque frappe de
+ * l'attaquant en retire au moins 1) : chaque état atteignable est traité une seule
+ * fois, en O(PV attaquant × PV défenseur × étendue des dégâts) au pire.
+ *
+ * Une instance réutilise ses tableaux de travail : une par thread.
+ */
+public class CombatOddsCalculator {
+    /** Facteur aléatoire des dégâts : f dans [4/5, 6/5), en fractions de FACTOR_DENOMINATOR */
+    private static final int FACTOR_DENOMINATOR = 5;
+    private static final int MIN_FACTOR_NUMERATOR = 4;
+    private static final int FACTOR_SPAN_NUMERATOR = 2;
+    static final double MIN_FACTOR = (double) MIN_FACTOR_NUMERATOR / FACTOR_DENOMINATOR;
+    static final double FACTOR_SPAN = (double) FACTOR_SPAN_NUMERATOR / FACTOR_DENOMINATOR;
+
+    private double[] mass;      // Probabilité d'être en (h1, h2) au début d'une frappe de l'attaquant
+    private double[] mid;       // Probabilité d'être en (h1, h2) au début d'une riposte
+    private int[] massLow;      // Par ligne h2 : intervalle des h1 non nuls de mass
+    private int[] massHigh;
+    private int[] midLow;       // Par ligne h2 : intervalle des h1 non nuls de mid
+    private int[] midHigh;
+    private double[] attackerDamage;
+    private double[] defenderDamage;
+
+    public CombatOddsCalculator() {
+        this.mass = new double[0];
+        this.mid = new double[0];
+        this.massLow = new int[0];
+        this.massHigh = new int[0];
+        this.midLow = new int[0];
+        this.midHigh = new int[0];
+        this.attackerDamage = new double[0];
+        this.defenderDamage = new double[0];
+    }
+
+    /**
+     * Issue d'un combat entre deux unités, avec leurs PV actuels
+     */
+    public CombatOutcome evaluate(Unit attacker, Unit defender) {
+        return evaluate(attacker, defender, 0);
+    }
+
+    /**
+     * Issue d'un combat entre deux unités
+     * @param defenderBonus Réduction appliquée à chaque frappe reçue par le défenseur
+     *                      (bonus de terrain, comme dans CombatSystem.performAttack)
+     */
+    public CombatOutcome evaluate(Unit attacker, Unit defender, int defenderBonus) {
+        return evaluate(attacker.getCurrentHealth(), attacker.getAttack(), attacker.getDefense(),
+                        defender.getCurrentHealth(), defender.getAttack(), defender.getDefense(),
+                        defenderBonus);
+    }
+
+    /**
+     * Issue d'un combat à partir des statistiques brutes
+     */
+    public CombatOutcome evaluate(int attackerHp, int attackerAttack, int attackerDefense,
+                                  int defenderHp, int defenderAttack, int defenderDefense,
+                                  int defenderBonus) {
+        int h1Max = Math.max(0, attackerHp);
+        int h2Max = Math.max(0, defenderHp);
+        double[] attackerFinal = new double[h1Max + 1];
+        double[] defenderFinal = new double[h2Max + 1];
+        if (h1Max == 0 || h2Max == 0) {
+            attackerFinal[h1Max] = 1;
+            defenderFinal[h2Max] = 1;
+            return new CombatOutcome(attackerFinal, defenderFinal);
+        }
+
+        attackerDamage = damageDistribution(attackerAttack - defenderDefense, defenderBonus, attackerDamage);
+        defenderDamage = damageDistribution(defenderAttack - attackerDefense, 0, defenderDamage);
+        int stride = h1Max + 1;
+        int cells = stride * (h2Max + 1);
+        // mass et mid sont remis à zéro au fur et à mesure de leur lecture :
+        // ils sont entièrement nuls entre deux appels
+        if (mass.length < cells) {
+            mass = new double[cells];
+            mid = new double[cells];
+        }
+        if (massLow.length < h2Max + 1) {
+            massLow = new int[h2Max + 1];
+            massHigh = new int[h2Max + 1];
+            midLow = new int[h2Max + 1];
+            midHigh = new int[h2Max + 1];
+        }
+        Arrays.fill(massLow, 0, h2Max + 1, Integer.MAX_VALUE);
+        Arrays.fill(massHigh, 0, h2Max + 1, 0);
+        Arrays.fill(midLow, 0, h2Max + 1, Integer.MAX_VALUE);
+        Arrays.fill(midHigh, 0, h2Max + 1, 0);
+        mass[h2Max * stride + h1Max] = 1;
+        massLow[h2Max] = h1Max;
+        massHigh[h2Max] = h1Max;
+
+        // Les PV des deux camps baissent ensemble : seule une bande étroite de h1
+        // est atteignable à chaque ligne h2, on ne parcourt que celle-ci
+        for (int h2 = h2Max; h2 >= 1; h2--) {
+            int row = h2 * stride;
+
+            // Ripostes du défenseur arrivées à ce niveau de PV : h1 diminue, h2 ne bouge pas
+            for (int h1 = midLow[h2]; h1 <= midHigh[h2]; h1++) {
+                double p = mid[row + h1];
+                if (p == 0) {
+                    continue;
+                }
+                mid[row + h1] = 0;
+                for (int d = 1; d < defenderDamage.length; d++) {
+                    double q = defenderDamage[d];
+                    if (q == 0) {
+                        continue;
+                    }
+                    if (d >= h1) {
+                        attackerFinal[0] += p * q;
+                        defenderFinal[h2] += p * q;
+                    } else {
+                        mass[row + h1 - d] += p * q;
+                        massLow[h2] = Math.min(massLow[h2], h1 - d);
+                        massHigh[h2] = Math.max(massHigh[h2], h1 - d);
+                    }
+                }
+            }
+
+            // Frappes de l'attaquant depuis ce niveau : h2 diminue
+            for (int h1 = massLow[h2]; h1 <= massHigh[h2]; h1++) {
+                double p = mass[row + h1];
+                if (p == 0) {
+                    continue;
+                }
+                mass[row + h1] = 0;
+                for (int d = 1; d < attackerDamage.length; d++) {
+                    double q = attackerDamage[d];
+                    if (q == 0) {
+                        continue;
+                    }
+                    if (d >= h2) {
+                        defenderFinal[0] += p * q;
+                        attackerFinal[h1] += p * q;
+                    } else {
+                        mid[row - d * stride + h1] += p * q;
+                        midLow[h2 - d] = Math.min(midLow[h2 - d], h1);
+                        midHigh[h2 - d] = Math.max(midHigh[h2 - d], h1);
+                    }
+                }
+            }
+        }
+        return new CombatOutcome(attackerFinal, defenderFinal);
+    }
+
+    /**
+     * Loi exacte des dégâts d'une frappe : result[d] = P(dégâts = d)
+     * @param base ATK - DEF
+     * @param reduction Réduction plate appliquée après le tirage (minimum 1 conservé)
+     */
+    static double[] damageDistribution(int base, int reduction, double[] buffer) {
+        if (base <= 0) {
+            return single(Math.max(1, 1 - reduction), buffer);
+        }
+        // En multipliant par FACTOR_DENOMINATOR, tout est entier : base × f parcourt
+        // [4 × base, 6 × base) / 5 et la valeur k correspond à [5k, 5k + 5)
+        int from = MIN_FACTOR_NUMERATOR * base;
+        int to = from + FACTOR_SPAN_NUMERATOR * base;
+        int lowest = from / FACTOR_DENOMINATOR;
+        int highest = (to - 1) / FACTOR_DENOMINATOR;
+        double[] result = prepare(Math.max(1, highest - reduction) + 1, buffer);
+        for (int k = lowest; k <= highest; k++) {
+            int overlap = Math.min(to, (k + 1) * FACTOR_DENOMINATOR) - Math.max(from, k * FACTOR_DENOMINATOR);
+            result[Math.max(1, Math.max(1, k) - reduction)] += (double) overlap / (to - from);
+        }
+        return result;
+    }
+
+    private static double[] single(int damage, double[] buffer) {
+        double[] result = prepare(damage + 1, buffer);
+        result[damage] = 1;
+        return result;
+    }
+
+    private static double[] prepare(int length, double[] buffer) {
+        double[] result = buffer.length >= length ? buffer : new double[length];
+        Arrays.fill(result, 0);
+        return result;
+    }
+}
@@ -0,0 +1,327 @@
+package game.combat;
+
+import game.map.TileType;
+import game.unit.Archer;
+import game.unit.Cavalry;
+import game.unit.Soldier;
+import game.unit.Unit;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table mémoïsée des chances de combat, pour les IA qui évaluent un grand nombre
+ * d'engagements hypothétiques
+ *
+ * Pour les archétypes de base (Soldat, Archer, Cavalier avec leurs statistiques
+ * d'origine), l'issue d'un combat ne dépend que des deux types, des PV actuels et du
+ * bonus de défense du terrain du défenseur : ces clés sont rangées dans un tableau
+ * dense, rempli à la demande ou à l'avance par un thread de préchauffage.
+ * Les clés rares (défense modifiée par Mur de Boucliers, statistiques hors archétype)
+ * passent par un petit cache LRU de taille bornée.
+ *
+ * Chaque entrée est un résumé compact de CombatOutcome tenant sur un long :
+ * probabilité de victoire de l'attaquant et PV restants moyens des deux camps,
+ * en virgule fixe (voir winProbability, expectedAttackerHp, expectedDefenderHp).
+ * Pour la distribution complète, utiliser CombatOddsCalculator.
+ *
+ * Utilisable depuis plusieurs threads à la fois.
+ */
+public class CombatOddsTable {
+    private static final int DEFAULT_CACHE_CAPACITY = 4096;
+
+    // Résumé : bit 63 = présent, 21 bits de probabilité, puis 2 × 21 bits de PV en 1/1024
+    private static final long PRESENT = 1L << 63;
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final int WIN_SHIFT = 2 * FIELD_BITS;
+    private static final int ATTACKER_HP_SHIFT = FIELD_BITS;
+    private static final double WIN_SCALE = FIELD_MASK;
+    private static final double HP_SCALE = 1024;
+
+    // Clé des entrées rares : 7 champs de 9 bits (PV et statistiques < 512)
+    private static final int KEY_BITS = 9;
+    private static final int KEY_LIMIT = 1 << KEY_BITS;
+    private static final int BONUS_OFFSET = KEY_LIMIT / 2;
+
+    private static final Unit[] ARCHETYPES = {
+        new Soldier(null, 0, 0), new Archer(null, 0, 0), new Cavalry(null, 0, 0)
+    };
+
+    private final int[] bonuses;            // Bonus de défense distincts des terrains
+    private final int[] pairOffsets;        // Début de chaque (bonus, attaquant, défenseur) dans dense
+    private final AtomicLongArray dense;
+    private final Map<Long, Long> rare;
+    private final ThreadLocal<CombatOddsCalculator> calculators;
+    private volatile boolean warm;
+
+    public CombatOddsTable() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * @param cacheCapacity Nombre maximal d'entrées rares conservées
+     */
+    public CombatOddsTable(int cacheCapacity) {
+        this.bonuses = distinctBonuses();
+        int archetypes = ARCHETYPES.length;
+        this.pairOffsets = new int[bonuses.length * archetypes * archetypes];
+        int size = 0;
+        for (int b = 0; b < bonuses.length; b++) {
+            for (int a = 0; a < archetypes; a++) {
+                for (int d = 0; d < archetypes; d++) {
+                    pairOffsets[(b * archetypes + a) * archetypes + d] = size;
+                    size += ARCHETYPES[a].getMaxHealth() * ARCHETYPES[d].getMaxHealth();
+                }
+            }
+        }
+        this.dense = new AtomicLongArray(size);
+        this.rare = new LinkedHashMap<Long, Long>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+        this.calculators = ThreadLocal.withInitial(CombatOddsCalculator::new);
+    }
+
+    /**
+     * Table commune à tout le processus, préchauffée une seule fois en arrière-plan
+     * Les chances ne dépendent que des règles : toutes les parties peuvent la partager
+     */
+    public static CombatOddsTable shared() {
+        return SharedHolder.TABLE;
+    }
+
+    private static final class SharedHolder {
+        static final CombatOddsTable TABLE = new CombatOddsTable();
+
+        static {
+            TABLE.warmUpInBackground();
+        }
+    }
+
+    private static int[] distinctBonuses() {
+        int[] values = new int[TileType.values().length];
+        int count = 0;
+        for (TileType type : TileType.values()) {
+            if (indexOf(values, count, type.getDefenseBonus()) < 0) {
+                values[count++] = type.getDefenseBonus();
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ===== Lecture =====
+
+    /**
+     * Résumé de l'issue d'un combat, l'attaquant frappant en premier
+     * @param defenderTerrain Terrain du défenseur (son bonus de défense réduit chaque frappe reçue)
+     * @return Résumé à décoder avec winProbability, expectedAttackerHp et expectedDefenderHp
+     */
+    public long lookup(Unit attacker, Unit defender, TileType defenderTerrain) {
+        return lookup(attacker.getCurrentHealth(), attacker.getMaxHealth(), attacker.getAttack(),
+                      attacker.getDefense(), defender.getCurrentHealth(), defender.getMaxHealth(),
+                      defender.getAttack(), defender.getDefense(), defenderTerrain.getDefenseBonus());
+    }
+
+    public double getAttackerWinProbability(Unit attacker, Unit defender, TileType defenderTerrain) {
+        return winProbability(lookup(attacker, defender, defenderTerrain));
+    }
+
+    private long lookup(int attackerHp, int attackerMaxHp, int attackerAttack, int attackerDefense,
+                        int defenderHp, int defenderMaxHp, int defenderAttack, int defenderDefense,
+                        int bonus) {
+        int a = archetypeOf(attackerMaxHp, attackerAttack, attackerDefense);
+        int d = archetypeOf(defenderMaxHp, defenderAttack, defenderDefense);
+        int b = indexOf(bonuses, bonuses.length, bonus);
+        if (a >= 0 && d >= 0 && b >= 0
+                && attackerHp >= 1 && attackerHp <= attackerMaxHp
+                && defenderHp >= 1 && defenderHp <= defenderMaxHp) {
+            int index = denseIndex(b, a, d, attackerHp, defenderHp);
+            long summary = dense.get(index);
+            if (summary == 0) {
+                summary = compute(attackerHp, attackerAttack, attackerDefense,
+                                  defenderHp, defenderAttack, defenderDefense, bonus);
+                dense.set(index, summary);
+            }
+            return summary;
+        }
+        return lookupRare(attackerHp, attackerAttack, attackerDefense,
+                          defenderHp, defenderAttack, defenderDefense, bonus);
+    }
+
+    private long lookupRare(int attackerHp, int attackerAttack, int attackerDefense,
+                            int defenderHp, int defenderAttack, int defenderDefense, int bonus) {
+        long key = rareKey(attackerHp, attackerAttack, attackerDefense,
+                           defenderHp, defenderAttack, defenderDefense, bonus);
+        if (key < 0) {
+            // Hors des bornes de la clé : calcul direct, sans mémorisation
+            return compute(attackerHp, attackerAttack, attackerDefense,
+                           defenderHp, defenderAttack, defenderDefense, bonus);
+        }
+        synchronized (rare) {
+            Long cached = rare.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long summary = compute(attackerHp, attackerAttack, attackerDefense,
+                               defenderHp, defenderAttack, defenderDefense, bonus);
+        synchronized (rare) {
+            rare.put(key, summary);
+        }
+        return summary;
+    }
+
+    private static long rareKey(int... fields) {
+        long key = 0;
+        for (int i = 0; i < fields.length; i++) {
+            int value = i == fields.length - 1 ? fields[i] + BONUS_OFFSET : fields[i];
+            if (value < 0 || value >= KEY_LIMIT) {
+                return -1;
+            }
+            key = (key << KEY_BITS) | value;
+        }
+        return key;
+    }
+
+    private static int archetypeOf(int maxHp, int attack, int defense) {
+        for (int i = 0; i < ARCHETYPES.length; i++) {
+            Unit archetype = ARCHETYPES[i];
+            if (archetype.getMaxHealth() == maxHp && archetype.getAttack() == attack
+                    && archetype.getDefense() == defense) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int denseIndex(int bonus, int attacker, int defender, int attackerHp, int defenderHp) {
+        int archetypes = ARCHETYPES.length;
+        int offset = pairOffsets[(bonus * archetypes + attacker) * archetypes + defender];
+        return offset + (attackerHp - 1) * ARCHETYPES[defender].getMaxHealth() + (defenderHp - 1);
+    }
+
+    private long compute(int attackerHp, int attackerAttack, int attackerDefense,
+                         int defenderHp, int defenderAttack, int defenderDefense, int bonus) {
+        CombatOutcome outcome = calculators.get().evaluate(attackerHp, attackerAttack, attackerDefense,
+                                                           defenderHp, defenderAttack, defenderDefense,
+                                                           bonus);
+        return pack(outcome);
+    }
+
+    private static long pack(CombatOutcome outcome) {
+        long win = Math.round(outcome.getAttackerWinProbability() * WIN_SCALE);
+        long attackerHp = Math.min(FIELD_MASK, Math.round(outcome.getExpectedAttackerHp() * HP_SCALE));
+        long defenderHp = Math.min(FIELD_MASK, Math.round(outcome.getExpectedDefenderHp() * HP_SCALE));
+        return PRESENT | (win << WIN_SHIFT) | (attackerHp << ATTACKER_HP_SHIFT) | defenderHp;
+    }
+
+    // ===== Décodage d'un résumé =====
+
+    /**
+     * Probabilité de victoire de l'attaquant (précision 5 × 10⁻⁷)
+     */
+    public static double winProbability(long summary) {
+        return ((summary >>> WIN_SHIFT) & FIELD_MASK) / WIN_SCALE;
+    }
+
+    /**
+     * PV restants moyens de l'attaquant (précision 1/1024)
+     */
+    public static double expectedAttackerHp(long summary) {
+        return ((summary >>> ATTACKER_HP_SHIFT) & FIELD_MASK) / HP_SCALE;
+    }
+
+    /**
+     * PV restants moyens du défenseur (précision 1/1024)
+     */
+    public static double expectedDefenderHp(long summary) {
+        return (summary & FIELD_MASK) / HP_SCALE;
+    }
+
+    // ===== Préchauffage =====
+
+    /**
+     * Remplit tout le tableau dense dans un thread démon de basse priorité
+     * Les lectures restent possibles pendant ce temps : une clé pas encore remplie
+     * est calculée à la demande
+     */
+    public Thread warmUpInBackground() {
+        Thread thread = new Thread(this::warmUp, "combat-odds-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Remplit tout le tableau dense dans le thread courant
+     * Les combats à PV pleins passent en premier : ce sont les plus demandés
+     */
+    public void warmUp() {
+        int archetypes = ARCHETYPES.length;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int b = 0; b < bonuses.length; b++) {
+                for (int a = 0; a < archetypes; a++) {
+                    for (int d = 0; d < archetypes; d++) {
+                        warmPair(b, a, d, pass == 0);
+                    }
+                }
+            }
+        }
+        warm = true;
+    }
+
+    private void warmPair(int b, int a, int d, boolean fullHealthOnly) {
+        Unit attacker = ARCHETYPES[a];
+        Unit defender = ARCHETYPES[d];
+        int minAttackerHp = fullHealthOnly ? attacker.getMaxHealth() : 1;
+        int minDefenderHp = fullHealthOnly ? defender.getMaxHealth() : 1;
+        for (int h1 = attacker.getMaxHealth(); h1 >= minAttackerHp; h1--) {
+            for (int h2 = defender.getMaxHealth(); h2 >= minDefenderHp; h2--) {
+                int index = denseIndex(b, a, d, h1, h2);
+                if (dense.get(index) == 0) {
+                    dense.set(index, compute(h1, attacker.getAttack(), attacker.getDefense(),
+                                             h2, defender.getAttack(), defender.getDefense(),
+                                             bonuses[b]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Vrai quand le tableau dense est entièrement rempli
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Nombre d'entrées du tableau dense (8 octets chacune)
+     */
+    public int getDenseSize() {
+        return dense.length();
+    }
+
+    /**
+     * Nombre d'entrées rares actuellement en cache
+     */
+    public int getCachedRareCount() {
+        synchronized (rare) {
+            return rare.size();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package game.combat;
+
+/**
+ * Distribution exacte de l'issue d'un combat jusqu'à la mort (voir CombatOddsCalculator)
+ * Immuable : peut être conservée et partagée entre threads
+ */
+public final class CombatOutcome {
+    private final double[] attackerHp;      // attackerHp[h] = P(l'attaquant finit avec h PV), [0] = mort
+    private final double[] defenderHp;
+    private final double attackerWinProbability;
+    private final double expectedAttackerHp;
+    private final double expectedDefenderHp;
+
+    CombatOutcome(double[] attackerHp, double[] defenderHp) {
+        this.attackerHp = attackerHp;
+        this.defenderHp = defenderHp;
+        this.attackerWinProbability = defenderHp[0];
+        this.expectedAttackerHp = expectation(attackerHp);
+        this.expectedDefenderHp = expectation(defenderHp);
+    }
+
+    private static double expectation(double[] distribution) {
+        double sum = 0;
+        for (int hp = 1; hp < distribution.length; hp++) {
+            sum += hp * distribution[hp];
+        }
+        return sum;
+    }
+
+    /**
+     * Probabilité que l'attaquant gagne le combat
+     */
+    public double getAttackerWinProbability() {
+        return attackerWinProbability;
+    }
+
+    /**
+     * Probabilité que le défenseur gagne le combat
+     */
+    public double getDefenderWinProbability() {
+        return attackerHp[0];
+    }
+
+    /**
+     * PV restants moyens de l'attaquant (0 compté quand il meurt)
+     */
+    public double getExpectedAttackerHp() {
+        return expectedAttackerHp;
+    }
+
+    /**
+     * PV restants moyens du défenseur (0 compté quand il meurt)
+     */
+    public double getExpectedDefenderHp() {
+        return expectedDefenderHp;
+    }
+
+    /**
+     * Probabilité que l'attaquant termine avec exactement hp PV (hp = 0 : il meurt)
+     */
+    public double getAttackerHpProbability(int hp) {
+        return hp >= 0 && hp < attackerHp.length ? attackerHp[hp] : 0;
+    }
+
+    /**
+     * Probabilité que le défenseur termine avec exactement hp PV (hp = 0 : il meurt)
+     */
+    public double getDefenderHpProbability(int hp) {
+        return hp >= 0 && hp < defenderHp.length ? defenderHp[hp] : 0;
+    }
+
+    public int getAttackerStartHp() {
+        return attackerHp.length - 1;
+    }
+
+    public int getDefenderStartHp() {
+        return defenderHp.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Victoire attaquant %.1f%%, PV moyens %.1f / %.1f",
+                             attackerWinProbability * 100, expectedAttackerHp, expectedDefenderHp);
+    }
+}
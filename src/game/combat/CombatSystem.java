@@ -1,22 +1,54 @@
 package game.combat;
 
+import game.building.Building;
 import game.unit.Unit;
+import game.event.ActionRejection;
+import game.event.GameEvents;
 import game.map.GameMap;
+import game.map.SpatialIndex;
 import game.map.Tile;
+import game.map.TileType;
+import game.pathfinding.GridPathfinder;
+import game.random.RandomStreams;
 
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Système de combat du jeu
  * Gère les attaques, calculs de dégâts et résolution des combats
  */
 public class CombatSystem {
-    private final Random random;
+    // Multiplicateur des dégâts sur un bâtiment en construction : 3/2
+    private static final int UNDER_CONSTRUCTION_NUMERATOR = 3;
+    private static final int UNDER_CONSTRUCTION_DENOMINATOR = 2;
+    static final int CRITICAL_PERCENT = 10;
+
+    private final SplittableRandom random;
     private final GameMap map;
+    private final GridPathfinder pathfinder;
+    private final SpatialIndex spatialIndex;
+    private final CombatOddsCalculator oddsCalculator;
+    private final CombatOddsTable oddsTable;
 
+    /**
+     * Système de combat dont les tirages dérivent de la graine de la carte
+     */
     public CombatSystem(GameMap map) {
+        this(map, new RandomStreams(map.getSeed()));
+    }
+
+    /**
+     * @param streams Générateurs de la partie : les dégâts et coups critiques
+     *                utilisent le flux COMBAT
+     */
+    public CombatSystem(GameMap map, RandomStreams streams) {
         this.map = map;
-        this.random = new Random();
+        this.random = streams.stream(RandomStreams.Subsystem.COMBAT);
+        this.pathfinder = new GridPathfinder(map);
+        this.spatialIndex = new SpatialIndex(map);
+        this.oddsCalculator = new CombatOddsCalculator();
+        this.oddsTable = CombatOddsTable.shared();
     }
 
     /**
@@ -31,10 +63,6 @@ public class CombatSystem {
             return false;
         }
 
-        System.out.println("\n === COMBAT ===");
-        System.out.println(attacker.getName() + " (" + attacker.getCurrentHealth() + " PV) " +
-                         "attaque " + defender.getName() + " (" + defender.getCurrentHealth() + " PV)");
-
         // Calcul des dégâts de base
         int baseDamage = calculateDamage(attacker, defender);
         
@@ -43,25 +71,21 @@ public class CombatSystem {
         int finalDamage = Math.max(1, baseDamage - terrainBonus);
 
         // Chance de coup critique (10%)
-        if (random.nextInt(100) < 10) {
-            finalDamage = (int)(finalDamage * 1.5);
-            System.out.println(" COUP CRITIQUE !");
+        boolean critical = rollCritical();
+        if (critical) {
+            finalDamage = criticalDamage(finalDamage);
         }
 
         // Application des dégâts
         defender.takeDamage(finalDamage);
         attacker.setHasActed(true);
-
-        System.out.println("  Dégâts infligés: " + finalDamage);
-        System.out.println("  " + defender.getName() + " PV restants: " + 
-                         defender.getCurrentHealth() + "/" + defender.getMaxHealth());
+        GameEvents.sink().onAttack(attacker, defender, finalDamage, terrainBonus, critical);
 
         // Contre-attaque si le défenseur survit et est à portée
         if (defender.isAlive() && canCounterAttack(defender, attacker)) {
             performCounterAttack(defender, attacker);
         }
 
-        System.out.println("=================\n");
         return true;
     }
 
@@ -69,11 +93,21 @@ public class CombatSystem {
      * Calcule les dégâts de base d'une attaque
      * Formule: Attaque - Défense + Aléatoire (-20% à +20%)
      */
-    private int calculateDamage(Unit attacker, Unit defender) {
-        int baseDamage = attacker.getAttack() - defender.getDefense();
-        
-        // Ajout d'un facteur aléatoire (-20% à +20%)
-        double randomFactor = 0.8 + (random.nextDouble() * 0.4);
+    int calculateDamage(Unit attacker, Unit defender) {
+        return rollDamage(attacker.getAttack() - defender.getDefense());
+    }
+
+    /**
+     * Applique le facteur aléatoire (-20% à +20%) à des dégâts de base, minimum 1
+     */
+    private int rollDamage(int baseDamage) {
+        return rollDamage(baseDamage, random);
+    }
+
+    private static int rollDamage(int baseDamage, SplittableRandom random) {
+        double draw = random != null ? random.nextDouble() : 0.5;      // null : facteur médian
+        double randomFactor = CombatOddsCalculator.MIN_FACTOR
+                + (draw * CombatOddsCalculator.FACTOR_SPAN);
         int damage = (int)(baseDamage * randomFactor);
         
         // Dégâts minimum de 1
@@ -84,46 +118,78 @@ public class CombatSystem {
      * Vérifie si une unité peut attaquer une autre
      */
     public boolean canAttack(Unit attacker, Unit defender) {
-        if (attacker == null || defender == null) {
-            System.out.println(" Unité invalide !");
+        ActionRejection rejection = checkAttack(attacker, defender);
+        if (rejection != null) {
+            GameEvents.sink().onActionRejected(attacker, defender != null ? defender.getX() : -1,
+                                               defender != null ? defender.getY() : -1, rejection);
             return false;
         }
+        return true;
+    }
 
+    /**
+     * Raison pour laquelle l'attaque est impossible, null si elle est permise
+     */
+    ActionRejection checkAttack(Unit attacker, Unit defender) {
+        if (attacker == null || defender == null) {
+            return ActionRejection.INVALID_UNIT;
+        }
         if (!attacker.isAlive()) {
-            System.out.println(" L'attaquant est mort !");
-            return false;
+            return ActionRejection.ATTACKER_DEAD;
         }
-
         if (!defender.isAlive()) {
-            System.out.println(" Le défenseur est mort !");
-            return false;
+            return ActionRejection.TARGET_DEAD;
         }
-
         if (attacker.hasActed()) {
-            System.out.println(" " + attacker.getName() + " a déjà agi ce tour !");
-            return false;
+            return ActionRejection.ALREADY_ACTED;
         }
-
         if (attacker.getOwner() == defender.getOwner()) {
-            System.out.println(" Vous ne pouvez pas attaquer vos propres unités !");
-            return false;
+            return ActionRejection.FRIENDLY_TARGET;
         }
 
         // Vérification de la portée
         int distance = attacker.distanceTo(defender.getX(), defender.getY());
         if (distance > attacker.getRange()) {
-            System.out.println(" Cible hors de portée ! (Distance: " + distance + 
-                             ", Portée: " + attacker.getRange() + ")");
-            return false;
+            return ActionRejection.OUT_OF_RANGE;
         }
+        return null;
+    }
 
-        return true;
+    /**
+     * Unités ennemies vivantes à portée d'attaque d'une unité (via l'index spatial)
+     */
+    public List<Unit> findTargetsInRange(Unit attacker) {
+        return spatialIndex.getEnemyUnitsInRange(attacker.getOwner(), attacker.getX(),
+                                                 attacker.getY(), attacker.getRange());
+    }
+
+    /**
+     * Cible à portée contre laquelle l'attaquant a les meilleures chances
+     * (à égalité, celle qui garde le moins de PV), null s'il n'y en a pas
+     */
+    public Unit findBestTargetInRange(Unit attacker) {
+        Unit best = null;
+        double bestWin = -1;
+        double bestRemaining = 0;
+        for (Unit target : findTargetsInRange(attacker)) {
+            TileType terrain = map.isValidPosition(target.getX(), target.getY())
+                    ? map.getTileType(target.getX(), target.getY()) : TileType.GRASS;
+            long odds = oddsTable.lookup(attacker, target, terrain);
+            double win = CombatOddsTable.winProbability(odds);
+            double remaining = CombatOddsTable.expectedDefenderHp(odds);
+            if (win > bestWin || (win == bestWin && remaining < bestRemaining)) {
+                best = target;
+                bestWin = win;
+                bestRemaining = remaining;
+            }
+        }
+        return best;
     }
 
     /**
      * Vérifie si une unité peut contre-attaquer
      */
-    private boolean canCounterAttack(Unit defender, Unit attacker) {
+    boolean canCounterAttack(Unit defender, Unit attacker) {
         int distance = defender.distanceTo(attacker.getX(), attacker.getY());
         return distance <= defender.getRange() && !defender.hasActed();
     }
@@ -132,32 +198,46 @@ public class CombatSystem {
      * Effectue une contre-attaque
      */
     private void performCounterAttack(Unit defender, Unit attacker) {
-        System.out.println("\n CONTRE-ATTAQUE !");
-        
-        int counterDamage = calculateDamage(defender, attacker);
-        counterDamage = counterDamage / 2; // La contre-attaque fait 50% des dégâts
+        int counterDamage = calculateCounterDamage(defender, attacker);
         
         attacker.takeDamage(counterDamage);
-        
-        System.out.println("  " + defender.getName() + " contre-attaque pour " + 
-                         counterDamage + " dégâts !");
-        System.out.println("  " + attacker.getName() + " PV restants: " + 
-                         attacker.getCurrentHealth() + "/" + attacker.getMaxHealth());
+        GameEvents.sink().onCounterAttack(defender, attacker, counterDamage);
+    }
+
+    /**
+     * Dégâts d'une contre-attaque : 50% des dégâts normaux
+     */
+    int calculateCounterDamage(Unit defender, Unit attacker) {
+        return calculateDamage(defender, attacker) / 2;
+    }
+
+    /**
+     * Tire un coup critique (10% de chance)
+     */
+    boolean rollCritical() {
+        return rollCritical(random);
+    }
+
+    private static boolean rollCritical(SplittableRandom random) {
+        return random != null && random.nextInt(100) < CRITICAL_PERCENT;
+    }
+
+    static int criticalDamage(int damage) {
+        return (int)(damage * 1.5);
     }
 
     /**
      * Récupère le bonus de défense du terrain
      */
-    private int getTerrainDefenseBonus(Unit unit) {
-        Tile tile = map.getTile(unit.getX(), unit.getY());
-        if (tile != null) {
-            int bonus = tile.getType().getDefenseBonus();
-            if (bonus > 0) {
-                System.out.println("  Bonus de terrain: +" + bonus + " défense");
-            }
-            return bonus;
+    int getTerrainDefenseBonus(Unit unit) {
+        return getTerrainDefenseBonus(unit.getX(), unit.getY());
+    }
+
+    private int getTerrainDefenseBonus(int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return 0;
         }
-        return 0;
+        return map.getTileType(x, y).getDefenseBonus();
     }
 
     /**
@@ -187,6 +267,13 @@ public class CombatSystem {
         return health1 > 0 ? unit1 : unit2;
     }
 
+    /**
+     * Distribution exacte de l'issue d'un combat jusqu'à la mort (même modèle que simulateCombat)
+     */
+    public CombatOutcome evaluateCombat(Unit attacker, Unit defender) {
+        return oddsCalculator.evaluate(attacker, defender);
+    }
+
     /**
      * Affiche les chances de victoire d'une unité contre une autre
      */
@@ -195,28 +282,159 @@ public class CombatSystem {
         System.out.println("Attaquant: " + attacker);
         System.out.println("Défenseur: " + defender);
         
-        int attackerWins = 0;
-        int simulations = 1000;
-        
-        // Simulation de combat
-        for (int i = 0; i < simulations; i++) {
-            Unit winner = simulateCombat(attacker, defender);
-            if (winner == attacker) {
-                attackerWins++;
-            }
-        }
-        
-        double winRate = (attackerWins * 100.0) / simulations;
+        CombatOutcome outcome = evaluateCombat(attacker, defender);
         System.out.println("Chances de victoire de l'attaquant: " + 
-                         String.format("%.1f", winRate) + "%");
+                         String.format("%.1f", outcome.getAttackerWinProbability() * 100) + "%");
+        System.out.println("PV restants moyens: " +
+                         String.format("%.1f", outcome.getExpectedAttackerHp()) + " (attaquant), " +
+                         String.format("%.1f", outcome.getExpectedDefenderHp()) + " (défenseur)");
+    }
+
+    /**
+     * Attaque d'une unité contre un bâtiment
+     * Même validation et mêmes événements qu'une attaque d'unité ; les bâtiments n'ont
+     * pas de défense et ne ripostent pas. Un bâtiment détruit est retiré de la carte.
+     * @return true si l'attaque a eu lieu
+     */
+    public boolean performAttack(Unit attacker, Building target) {
+        if (!canAttack(attacker, target)) {
+            return false;
+        }
+        strikeBuilding(attacker, target);
+        return true;
+    }
+
+    /**
+     * Vérifie si une unité peut attaquer un bâtiment
+     */
+    public boolean canAttack(Unit attacker, Building target) {
+        ActionRejection rejection = checkAttack(attacker, target);
+        if (rejection != null) {
+            GameEvents.sink().onActionRejected(attacker, target != null ? target.getX() : -1,
+                                               target != null ? target.getY() : -1, rejection);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Raison pour laquelle l'attaque du bâtiment est impossible, null si elle est permise
+     */
+    ActionRejection checkAttack(Unit attacker, Building target) {
+        if (attacker == null || target == null) {
+            return ActionRejection.INVALID_UNIT;
+        }
+        if (!attacker.isAlive()) {
+            return ActionRejection.ATTACKER_DEAD;
+        }
+        if (target.isDestroyed()) {
+            return ActionRejection.TARGET_DEAD;
+        }
+        if (attacker.hasActed()) {
+            return ActionRejection.ALREADY_ACTED;
+        }
+        if (attacker.getOwner() == target.getOwner()) {
+            return ActionRejection.FRIENDLY_TARGET;
+        }
+        if (attacker.distanceTo(target.getX(), target.getY()) > attacker.getRange()) {
+            return ActionRejection.OUT_OF_RANGE;
+        }
+        return null;
+    }
+
+    /**
+     * Résout une frappe déjà validée contre un bâtiment
+     * @return Dégâts infligés
+     */
+    int strikeBuilding(Unit attacker, Building target) {
+        int terrainBonus = getTerrainDefenseBonus(target.getX(), target.getY());
+        int damage = Math.max(1, rollDamage(attacker.getAttack()) - terrainBonus);
+        boolean critical = rollCritical();
+        if (critical) {
+            damage = criticalDamage(damage);
+        }
+        damage = structureDamage(damage, target);
+
+        target.takeDamage(damage);
+        attacker.setHasActed(true);
+        GameEvents.sink().onBuildingAttacked(attacker, target, damage, terrainBonus, critical);
+
+        if (target.isDestroyed() && map.isValidPosition(target.getX(), target.getY())
+                && map.getBuildingAt(target.getX(), target.getY()) == target) {
+            map.setBuildingAt(target.getX(), target.getY(), null);
+        }
+        return damage;
+    }
+
+    /**
+     * Dégâts sur un bâtiment en construction : +50% (échafaudages, murs inachevés)
+     */
+    static int structureDamage(int damage, Building target) {
+        return structureDamage(damage, target.isBuilt());
+    }
+
+    private static int structureDamage(int damage, boolean built) {
+        return built ? damage : damage * UNDER_CONSTRUCTION_NUMERATOR / UNDER_CONSTRUCTION_DENOMINATOR;
+    }
+
+    // ===== Règles seules, pour les modèles de simulation (recherche d'IA) =====
+    // Sans générateur (random null), les tirages sont fixés : facteur médian, pas de
+    // coup critique. Une recherche déterministe (AlphaBetaSolver) s'en sert.
+
+    /**
+     * Tire les dégâts d'une attaque d'unité avec un générateur fourni, comme performAttack
+     * (facteur aléatoire, terrain du défenseur, coup critique), riposte non comprise
+     */
+    public static int rollStrike(int attack, int defense, int terrainBonus, SplittableRandom random) {
+        int damage = Math.max(1, rollDamage(attack - defense, random) - terrainBonus);
+        return rollCritical(random) ? criticalDamage(damage) : damage;
+    }
+
+    /**
+     * Tire les dégâts d'une contre-attaque avec un générateur fourni
+     */
+    public static int rollCounterStrike(int attack, int defense, SplittableRandom random) {
+        return rollDamage(attack - defense, random) / 2;
+    }
+
+    /**
+     * Tire les dégâts d'une frappe sur un bâtiment avec un générateur fourni, comme
+     * performAttack(Unit, Building)
+     * @param built false si le bâtiment est en construction (dégâts majorés)
+     */
+    public static int rollBuildingStrike(int attack, int terrainBonus, boolean built, SplittableRandom random) {
+        int damage = Math.max(1, rollDamage(attack, random) - terrainBonus);
+        if (rollCritical(random)) {
+            damage = criticalDamage(damage);
+        }
+        return structureDamage(damage, built);
+    }
+
+    /**
+     * Dégâts moyens exacts d'une frappe d'une unité sur un bâtiment, sans rien modifier
+     * (facteur aléatoire, terrain, coups critiques et état de construction compris)
+     */
+    public double expectedDamage(Unit attacker, Building target) {
+        int terrainBonus = getTerrainDefenseBonus(target.getX(), target.getY());
+        double[] distribution = CombatOddsCalculator.damageDistribution(attacker.getAttack(), terrainBonus,
+                                                                        new double[0]);
+        double criticalChance = CRITICAL_PERCENT / 100.0;
+        double expected = 0;
+        for (int damage = 1; damage < distribution.length; damage++) {
+            double normal = structureDamage(damage, target);
+            double critical = structureDamage(criticalDamage(damage), target);
+            expected += distribution[damage] * ((1 - criticalChance) * normal + criticalChance * critical);
+        }
+        return expected;
     }
 
     /**
      * Déplace une unité et met à jour la carte
+     * Le déplacement suit le chemin le moins coûteux (terrain, unités et bâtiments ennemis)
      */
     public boolean moveUnit(Unit unit, int targetX, int targetY) {
         if (!map.isValidPosition(targetX, targetY)) {
-            System.out.println(" Position invalide !");
+            GameEvents.sink().onActionRejected(unit, targetX, targetY, ActionRejection.INVALID_POSITION);
             return false;
         }
 
@@ -224,19 +442,18 @@ public class CombatSystem {
         Tile targetTile = map.getTile(targetX, targetY);
 
         if (targetTile == null || !targetTile.isAccessible()) {
-            System.out.println(" Case inaccessible !");
+            GameEvents.sink().onActionRejected(unit, targetX, targetY, ActionRejection.INACCESSIBLE);
             return false;
         }
 
-        int distance = map.getDistance(unit.getX(), unit.getY(), targetX, targetY);
-        if (distance > unit.getMovementPoints()) {
-            System.out.println(" Trop loin ! Distance: " + distance + 
-                             ", Déplacement: " + unit.getMovementPoints());
+        int pathCost = pathfinder.findPath(unit, targetX, targetY);
+        if (pathCost == GridPathfinder.NO_PATH) {
+            GameEvents.sink().onActionRejected(unit, targetX, targetY, ActionRejection.UNREACHABLE);
             return false;
         }
 
         if (unit.hasActed()) {
-            System.out.println(" Cette unité a déjà agi ce tour !");
+            GameEvents.sink().onActionRejected(unit, targetX, targetY, ActionRejection.ALREADY_ACTED);
             return false;
         }
 
@@ -250,4 +467,16 @@ public class CombatSystem {
 
         return true;
     }
+
+    public GridPathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    public CombatOddsTable getOddsTable() {
+        return oddsTable;
+    }
+
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
 }
\ No newline at end of file
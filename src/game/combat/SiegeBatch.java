@@ -0,0 +1,150 @@
+package game.combat;
+
+import game.building.Building;
+import game.event.ActionRejection;
+import game.event.GameEventSink;
+import game.event.GameEvents;
+import game.unit.Unit;
+
+import java.util.Arrays;
+
+/**
+ * Ordres de siège groupés : plusieurs unités contre un même bâtiment
+ *
+ * Comme CombatBatch, tous les ordres sont validés en une passe, puis résolus dans
+ * l'ordre d'ajout avec les règles de CombatSystem.performAttack(Unit, Building)
+ * (terrain, coups critiques, +50% sur un bâtiment en construction, retrait de la
+ * carte à la destruction). Les frappes suivant la destruction sont refusées
+ * (TARGET_DEAD) : les attaquants concernés gardent leur action.
+ *
+ * Résultats : CombatBatch.RESULT_STRIDE entiers par ordre, mêmes indices et mêmes
+ * bits de statut que CombatBatch (pas de riposte : COUNTER_DAMAGE reste à 0).
+ */
+public class SiegeBatch {
+    private final CombatSystem combatSystem;
+    private Unit[] attackers;
+    private int[] results;
+    private int size;
+
+    public SiegeBatch(CombatSystem combatSystem) {
+        this(combatSystem, 16);
+    }
+
+    public SiegeBatch(CombatSystem combatSystem, int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.combatSystem = combatSystem;
+        this.attackers = new Unit[capacity];
+        this.results = new int[capacity * CombatBatch.RESULT_STRIDE];
+    }
+
+    /**
+     * Ajoute un assaillant
+     * @return Indice de l'ordre dans le lot (et dans les résultats)
+     */
+    public int add(Unit attacker) {
+        if (size == attackers.length) {
+            int capacity = size * 2;
+            attackers = Arrays.copyOf(attackers, capacity);
+            results = Arrays.copyOf(results, capacity * CombatBatch.RESULT_STRIDE);
+        }
+        attackers[size] = attacker;
+        return size++;
+    }
+
+    public void clear() {
+        Arrays.fill(attackers, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Valide puis résout tous les ordres contre la cible
+     * @return Le tableau des résultats, valable jusqu'au prochain ajout ou à la prochaine résolution
+     */
+    public int[] resolve(Building target) {
+        int stride = CombatBatch.RESULT_STRIDE;
+        Arrays.fill(results, 0, size * stride, 0);
+        GameEventSink sink = GameEvents.sink();
+
+        for (int i = 0; i < size; i++) {
+            ActionRejection rejection = combatSystem.checkAttack(attackers[i], target);
+            if (rejection != null) {
+                reject(sink, i, target, rejection);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            int base = i * stride;
+            if (results[base + CombatBatch.STATUS] != 0) {
+                continue;
+            }
+            if (target.isDestroyed()) {
+                reject(sink, i, target, ActionRejection.TARGET_DEAD);
+                continue;
+            }
+            if (attackers[i].hasActed()) {
+                reject(sink, i, target, ActionRejection.ALREADY_ACTED);
+                continue;
+            }
+            results[base + CombatBatch.DAMAGE] = combatSystem.strikeBuilding(attackers[i], target);
+            results[base + CombatBatch.STATUS] = CombatBatch.RESOLVED
+                    | (target.isDestroyed() ? CombatBatch.TARGET_KILLED : 0);
+        }
+        return results;
+    }
+
+    /**
+     * Dégâts moyens exacts que le lot infligerait à la cible, sans rien modifier
+     * (somme sur les assaillants valides, sans tenir compte de la destruction en cours de route)
+     */
+    public double expectedDamage(Building target) {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            if (combatSystem.checkAttack(attackers[i], target) == null) {
+                total += combatSystem.expectedDamage(attackers[i], target);
+            }
+        }
+        return total;
+    }
+
+    private void reject(GameEventSink sink, int order, Building target, ActionRejection rejection) {
+        results[order * CombatBatch.RESULT_STRIDE + CombatBatch.STATUS] = CombatBatch.rejectionStatus(rejection);
+        sink.onActionRejected(attackers[order], target != null ? target.getX() : -1,
+                              target != null ? target.getY() : -1, rejection);
+    }
+
+    // ===== Lecture des résultats =====
+
+    public boolean isResolved(int order) {
+        return (results[order * CombatBatch.RESULT_STRIDE + CombatBatch.STATUS] & CombatBatch.RESOLVED) != 0;
+    }
+
+    /**
+     * Vrai pour la frappe qui a détruit le bâtiment
+     */
+    public boolean isDestroyingStrike(int order) {
+        return (results[order * CombatBatch.RESULT_STRIDE + CombatBatch.STATUS] & CombatBatch.TARGET_KILLED) != 0;
+    }
+
+    public int getDamage(int order) {
+        return results[order * CombatBatch.RESULT_STRIDE + CombatBatch.DAMAGE];
+    }
+
+    public ActionRejection getRejection(int order) {
+        return CombatBatch.rejectionOf(results[order * CombatBatch.RESULT_STRIDE + CombatBatch.STATUS]);
+    }
+
+    /**
+     * Total des dégâts infligés lors de la dernière résolution
+     */
+    public int getTotalDamage() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += results[i * CombatBatch.RESULT_STRIDE + CombatBatch.DAMAGE];
+        }
+        return total;
+    }
+}
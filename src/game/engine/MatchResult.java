@@ -0,0 +1,109 @@
+package game.engine;
+
+import game.resource.ResourceType;
+
+/**
+ * Résumé compact d'une partie jouée par SelfPlayRunner, écrit sur une ligne CSV
+ * Les tableaux sont indexés par camp : 0 pour le joueur, 1 pour l'adversaire.
+ */
+public final class MatchResult {
+    private final int match;
+    private final long seed;
+    private final MatchState state;
+    private final int turns;
+    private final int[][] resources;        // [camp][ResourceType.ordinal()]
+    private final int[] unitsLost;
+    private final int[] buildingsLost;
+    private final long finalKey;            // TurnEngine.getStateKey en fin de partie
+
+    public MatchResult(int match, long seed, MatchState state, int turns,
+                       int[][] resources, int[] unitsLost, int[] buildingsLost, long finalKey) {
+        this.match = match;
+        this.seed = seed;
+        this.state = state;
+        this.turns = turns;
+        this.resources = resources;
+        this.unitsLost = unitsLost;
+        this.buildingsLost = buildingsLost;
+        this.finalKey = finalKey;
+    }
+
+    /**
+     * En-tête des colonnes de toCsv
+     */
+    public static String csvHeader() {
+        StringBuilder sb = new StringBuilder("match,seed,winner,turns");
+        for (String side : new String[] {"p", "e"}) {
+            for (ResourceType type : ResourceType.values()) {
+                sb.append(',').append(side).append('_').append(type.name().toLowerCase());
+            }
+            sb.append(',').append(side).append("_units_lost");
+            sb.append(',').append(side).append("_buildings_lost");
+        }
+        sb.append(",final_key");
+        return sb.toString();
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(match).append(',').append(seed).append(',').append(winner()).append(',').append(turns);
+        for (int side = 0; side < 2; side++) {
+            for (int amount : resources[side]) {
+                sb.append(',').append(amount);
+            }
+            sb.append(',').append(unitsLost[side]);
+            sb.append(',').append(buildingsLost[side]);
+        }
+        sb.append(',').append(String.format("%016x", finalKey));
+        return sb.toString();
+    }
+
+    /**
+     * Vainqueur : "player", "enemy" ou "draw" (limite de tours atteinte)
+     */
+    public String winner() {
+        switch (state) {
+            case PLAYER_WON:
+                return "player";
+            case ENEMY_WON:
+                return "enemy";
+            default:
+                return "draw";
+        }
+    }
+
+    public int getMatch() {
+        return match;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public MatchState getState() {
+        return state;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getResource(int side, ResourceType type) {
+        return resources[side][type.ordinal()];
+    }
+
+    public int getUnitsLost(int side) {
+        return unitsLost[side];
+    }
+
+    public int getBuildingsLost(int side) {
+        return buildingsLost[side];
+    }
+
+    /**
+     * Empreinte de Zobrist de l'état final : rejouer la graine doit la redonner
+     */
+    public long getFinalKey() {
+        return finalKey;
+    }
+}
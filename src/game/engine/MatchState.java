@@ -0,0 +1,10 @@
+package game.engine;
+
+/**
+ * État d'une partie, du point de vue du joueur
+ */
+public enum MatchState {
+    RUNNING,
+    PLAYER_WON,     // Centre de Commandement ennemi détruit
+    ENEMY_WON       // Centre de Commandement du joueur détruit
+}
@@ -0,0 +1,14 @@
+package game.engine;
+
+import game.player.Player;
+
+/**
+ * Joue les actions d'un camp pendant sa phase (IA, script, rejeu...)
+ */
+public interface PlayerController {
+
+    /**
+     * Joue toutes les actions de self pour le tour en cours
+     */
+    void playTurn(TurnEngine engine, Player self);
+}
@@ -0,0 +1,151 @@
+package game.engine;
+
+import game.player.Player;
+import game.random.RandomStreams;
+import game.resource.ResourceType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Parties IA contre IA en masse, pour régler l'équilibrage et les IA
+ *
+ * Chaque partie est indépendante et confinée à un thread : son TurnEngine, sa carte,
+ * ses joueurs et ses contrôleurs sont créés dans la tâche qui la joue, et son aléa
+ * vient de RandomStreams.seriesSeed(graine de base, numéro de partie). Seule la table
+ * des chances de combat (CombatOddsTable.shared, en lecture après préchauffage) est
+ * commune. Le débit croît donc avec le nombre de threads, jusqu'au nombre de cœurs.
+ *
+ * Les résultats (MatchResult) sont écrits en CSV au fil de l'eau par le thread
+ * appelant, dans l'ordre où les parties se terminent ; la colonne match permet de les
+ * retrier et la colonne seed de rejouer une partie seule ; final_key (empreinte de
+ * Zobrist de l'état final) vérifie que le rejeu aboutit au même état.
+ *
+ * Usage : java game.engine.SelfPlayRunner [parties] [threads] [fichier.csv] [taille] [tours max] [graine]
+ */
+public class SelfPlayRunner {
+    private static final int DEFAULT_MAP_SIZE = 15;
+    private static final int DEFAULT_MAX_TURNS = 200;
+    private static final int IN_FLIGHT_PER_THREAD = 4;     // Parties soumises d'avance par thread
+
+    private final int threads;
+    private final int mapSize;
+    private final int maxTurns;
+    private final long baseSeed;
+    private Supplier<PlayerController> playerControllers;
+    private Supplier<PlayerController> enemyControllers;
+
+    public SelfPlayRunner(int threads, int mapSize, int maxTurns, long baseSeed) {
+        this.threads = threads;
+        this.mapSize = mapSize;
+        this.maxTurns = maxTurns;
+        this.baseSeed = baseSeed;
+        this.playerControllers = SimpleAI::new;
+        this.enemyControllers = SimpleAI::new;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String file = args.length > 2 ? args[2] : "selfplay.csv";
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAP_SIZE;
+        int maxTurns = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_TURNS;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+
+        SelfPlayRunner runner = new SelfPlayRunner(threads, size, maxTurns, seed);
+        long start = System.nanoTime();
+        try (Writer out = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+            runner.run(matches, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d parties sur %d threads en %.1f s (%.0f parties/s) -> %s%n",
+                          matches, threads, seconds, matches / seconds, file);
+    }
+
+    /**
+     * Contrôleurs des deux camps, un nouveau par partie (ils peuvent garder un état)
+     */
+    public void setControllers(Supplier<PlayerController> player, Supplier<PlayerController> enemy) {
+        this.playerControllers = player;
+        this.enemyControllers = enemy;
+    }
+
+    /**
+     * Joue les parties 0..matches-1 et écrit une ligne CSV par partie (en-tête compris)
+     * Le nombre de parties en cours est borné : la mémoire ne dépend pas de matches.
+     */
+    public void run(int matches, Writer out) throws IOException, InterruptedException {
+        AtomicInteger workerId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "selfplay-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<MatchResult> completed = new ExecutorCompletionService<>(pool);
+        Writer writer = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        try {
+            writer.write(MatchResult.csvHeader());
+            writer.write('\n');
+
+            int inFlight = Math.max(1, threads * IN_FLIGHT_PER_THREAD);
+            int submitted = 0;
+            for (int done = 0; done < matches; done++) {
+                while (submitted < matches && submitted - done < inFlight) {
+                    int match = submitted++;
+                    completed.submit(() -> playMatch(match));
+                }
+                writer.write(completed.take().get().toCsv());
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Partie en échec", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Joue une partie complète dans le thread courant
+     */
+    public MatchResult playMatch(int match) {
+        long seed = RandomStreams.seriesSeed(baseSeed, match);
+        TurnEngine engine = new TurnEngine(new RandomStreams(seed), mapSize,
+                                           new Player("Joueur"), new Player("Ennemi"));
+        engine.setPlayerController(playerControllers.get());
+        engine.setEnemyController(enemyControllers.get());
+        Player[] sides = {engine.getPlayer(), engine.getEnemy()};
+        while (!engine.isOver() && engine.getTurn() <= maxTurns) {
+            engine.playTurn();
+        }
+
+        // Pertes comptées par chaque joueur à la sortie de ses listes : une unité
+        // recrutée puis tuée dans le même tour compte aussi
+        int[][] resources = new int[sides.length][];
+        int[] unitsLost = new int[sides.length];
+        int[] buildingsLost = new int[sides.length];
+        for (int s = 0; s < sides.length; s++) {
+            Player side = sides[s];
+            resources[s] = new int[ResourceType.values().length];
+            for (ResourceType type : ResourceType.values()) {
+                resources[s][type.ordinal()] = side.getResource(type);
+            }
+            unitsLost[s] = side.getUnitsLost();
+            buildingsLost[s] = side.getBuildingsLost();
+        }
+        int turns = engine.isOver() ? engine.getTurn() : engine.getTurn() - 1;
+        return new MatchResult(match, seed, engine.getState(), turns, resources, unitsLost, buildingsLost,
+                               engine.getStateKey());
+    }
+}
@@ -0,0 +1,79 @@
+package game.engine;
+
+import game.building.Building;
+import game.building.CommandCenter;
+import game.building.TrainingCamp;
+import game.combat.CombatSystem;
+import game.map.Tile;
+import game.pathfinding.FlowField;
+import game.pathfinding.FlowFieldService;
+import game.pathfinding.GridPathfinder;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+
+/**
+ * IA de base : chaque unité attaque la meilleure cible visible à sa portée (à défaut
+ * un bâtiment adverse à portée), sinon avance le long du champ de distances vers le
+ * Centre de Commandement adverse (ou vers ses Camps d'Entraînement s'il est inaccessible)
+ */
+public class SimpleAI implements PlayerController {
+
+    @Override
+    public void playTurn(TurnEngine engine, Player self) {
+        CombatSystem combatSystem = engine.getCombatSystem();
+        // Copie : une contre-attaque peut retirer l'unité de la liste
+        for (Unit unit : new ArrayList<>(self.getUnits())) {
+            if (!unit.isAlive()) {
+                continue;
+            }
+            if (!unit.hasActed()) {
+                Unit target = combatSystem.findBestTargetInRange(unit);
+                // On n'attaque que ce qu'on voit (la Forêt et la Montagne cachent)
+                if (target != null && engine.getVisibility().isVisible(self, target.getX(), target.getY())
+                        && combatSystem.canAttack(unit, target)) {
+                    combatSystem.performAttack(unit, target);
+                } else {
+                    Building building = findBuildingInRange(unit, engine.getOpponent(self));
+                    if (building != null) {
+                        combatSystem.performAttack(unit, building);
+                    }
+                }
+            }
+            if (unit.isAlive() && !unit.hasActed()) {
+                advance(engine, unit, engine.getOpponent(self));
+            }
+        }
+    }
+
+    /**
+     * Bâtiment adverse à portée (le Centre de Commandement en priorité), null s'il n'y en a pas
+     */
+    private static Building findBuildingInRange(Unit unit, Player opponent) {
+        Building best = null;
+        for (Building building : opponent.getBuildings()) {
+            if (building.isDestroyed()
+                    || unit.distanceTo(building.getX(), building.getY()) > unit.getRange()) {
+                continue;
+            }
+            if (best == null || building instanceof CommandCenter) {
+                best = building;
+            }
+        }
+        return best;
+    }
+
+    private void advance(TurnEngine engine, Unit unit, Player opponent) {
+        FlowFieldService flowFields = engine.getFlowFields();
+        FlowField field = flowFields.getField(opponent, CommandCenter.class);
+        if (field.getDistance(unit.getX(), unit.getY()) == GridPathfinder.NO_PATH) {
+            field = flowFields.getField(opponent, TrainingCamp.class);
+        }
+
+        Tile destination = flowFields.findMoveDestination(unit, field);
+        if (destination != null) {
+            engine.getCombatSystem().moveUnit(unit, destination.getX(), destination.getY());
+        }
+    }
+}
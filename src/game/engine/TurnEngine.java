@@ -0,0 +1,290 @@
+package game.engine;
+
+import game.building.Building;
+import game.building.CommandCenter;
+import game.combat.CombatSystem;
+import game.map.GameMap;
+import game.pathfinding.FlowFieldService;
+import game.player.Player;
+import game.random.RandomStreams;
+import game.random.Zobrist;
+import game.unit.Archer;
+import game.unit.Soldier;
+import game.unit.Unit;
+import game.vision.VisibilityMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moteur de tours sans interface : état de la partie et enchaînement des phases
+ *
+ * Un tour se déroule en TurnPhase.PLAYER, ENEMY, PRODUCTION puis END_OF_TURN ; la
+ * victoire est vérifiée après chacune des deux phases d'actions. La phase du joueur
+ * est jouée soit par une interface (console, Swing), qui agit directement sur la
+ * carte puis appelle endPlayerTurn, soit par un PlayerController (simulations,
+ * serveurs, mesures) via playTurn et run. L'adversaire est joué par un
+ * PlayerController (SimpleAI par défaut).
+ *
+ * Le moteur ne charge aucune classe AWT/Swing : les messages passent par
+ * GameEvents (actions de jeu) et TurnListener (phases, fin de partie).
+ */
+public class TurnEngine {
+    private final RandomStreams streams;
+    private final GameMap map;
+    private final Player player;
+    private final Player enemy;
+    private final CombatSystem combatSystem;
+    private final FlowFieldService flowFields;
+    private final VisibilityMap visibility;
+    private final List<TurnListener> listeners;
+    private PlayerController playerController;      // null : phase jouée par l'interface
+    private PlayerController enemyController;
+    private int turn;
+    private TurnPhase phase;
+    private MatchState state;
+
+    /**
+     * Nouvelle partie sur une carte carrée : base du joueur en (2, 2), base ennemie
+     * dans le coin opposé
+     * @param streams Aléa de la partie (la carte vient de streams.mapSeed())
+     */
+    public TurnEngine(RandomStreams streams, int mapSize, Player player, Player enemy) {
+        this.streams = streams;
+        this.map = new GameMap(mapSize, mapSize, streams.mapSeed());
+        this.player = player;
+        this.enemy = enemy;
+        this.combatSystem = new CombatSystem(map, streams);
+        this.flowFields = new FlowFieldService(map);
+        this.visibility = new VisibilityMap(map, player);
+        this.listeners = new ArrayList<>();
+        this.playerController = null;
+        this.enemyController = new SimpleAI();
+        this.turn = 1;
+        this.phase = TurnPhase.PLAYER;
+        this.state = MatchState.RUNNING;
+
+        initializePlayerBase(player, 2, 2);
+        initializePlayerBase(enemy, mapSize - 3, mapSize - 3);
+    }
+
+    /**
+     * Base de départ : Centre de Commandement déjà construit, un Soldat et un Archer
+     */
+    private void initializePlayerBase(Player owner, int x, int y) {
+        CommandCenter cc = new CommandCenter(owner, x, y);
+        while (!cc.isBuilt()) {
+            cc.advanceConstruction();   // Termine la construction pour le début
+        }
+        owner.addBuilding(cc);
+        map.getTile(x, y).setBuilding(cc);
+
+        Soldier soldier = new Soldier(owner, x + 1, y);
+        Archer archer = new Archer(owner, x, y + 1);
+        owner.addUnit(soldier);
+        owner.addUnit(archer);
+        map.getTile(x + 1, y).setUnit(soldier);
+        map.getTile(x, y + 1).setUnit(archer);
+    }
+
+    // ===== Déroulement =====
+
+    /**
+     * Termine la phase du joueur et joue le reste du tour jusqu'à la phase du
+     * joueur suivante (ou la fin de partie)
+     * @return État de la partie
+     */
+    public MatchState endPlayerTurn() {
+        if (state != MatchState.RUNNING || phase != TurnPhase.PLAYER) {
+            return state;
+        }
+        if (checkVictory() != MatchState.RUNNING) {
+            return state;
+        }
+
+        startPhase(TurnPhase.ENEMY);
+        if (enemyController != null) {
+            enemyController.playTurn(this, enemy);
+        }
+        if (checkVictory() != MatchState.RUNNING) {
+            return state;
+        }
+
+        startPhase(TurnPhase.PRODUCTION);
+        produceResources(player);
+        produceResources(enemy);
+
+        startPhase(TurnPhase.END_OF_TURN);
+        resetUnits(player);
+        resetUnits(enemy);
+        turn++;
+
+        startPhase(TurnPhase.PLAYER);
+        return state;
+    }
+
+    /**
+     * Joue un tour complet avec le contrôleur du joueur
+     * @return État de la partie
+     */
+    public MatchState playTurn() {
+        if (playerController == null) {
+            throw new IllegalStateException("Aucun contrôleur pour le joueur : utiliser endPlayerTurn");
+        }
+        if (state == MatchState.RUNNING) {
+            playerController.playTurn(this, player);
+        }
+        return endPlayerTurn();
+    }
+
+    /**
+     * Joue des tours complets jusqu'à la fin de la partie ou la limite de tours
+     * @return État de la partie
+     */
+    public MatchState run(int maxTurns) {
+        while (state == MatchState.RUNNING && turn <= maxTurns) {
+            playTurn();
+        }
+        return state;
+    }
+
+    /**
+     * Vérifie les conditions de victoire (appelée aussi par les interfaces après
+     * la destruction d'un bâtiment)
+     * @return État de la partie
+     */
+    public MatchState checkVictory() {
+        if (state != MatchState.RUNNING) {
+            return state;
+        }
+        if (!hasCommandCenter(enemy)) {
+            endMatch(MatchState.PLAYER_WON);
+        } else if (!hasCommandCenter(player)) {
+            endMatch(MatchState.ENEMY_WON);
+        }
+        return state;
+    }
+
+    private static boolean hasCommandCenter(Player owner) {
+        for (Building building : owner.getBuildings()) {
+            if (building instanceof CommandCenter && !building.isDestroyed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void endMatch(MatchState result) {
+        state = result;
+        for (TurnListener listener : listeners) {
+            listener.onMatchEnded(turn, result);
+        }
+    }
+
+    private void startPhase(TurnPhase next) {
+        phase = next;
+        for (TurnListener listener : listeners) {
+            listener.onPhaseStarted(turn, next);
+        }
+    }
+
+    private static void produceResources(Player owner) {
+        for (Building building : owner.getBuildings()) {
+            building.advanceConstruction();
+            building.performAction();
+        }
+    }
+
+    private static void resetUnits(Player owner) {
+        for (Unit unit : owner.getUnits()) {
+            unit.resetTurn();
+        }
+    }
+
+    // ===== Configuration =====
+
+    public void addListener(TurnListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TurnListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param controller Contrôleur du joueur (null : phase jouée par l'interface)
+     */
+    public void setPlayerController(PlayerController controller) {
+        this.playerController = controller;
+    }
+
+    /**
+     * @param controller Contrôleur de l'adversaire (null : l'adversaire passe son tour)
+     */
+    public void setEnemyController(PlayerController controller) {
+        this.enemyController = controller;
+    }
+
+    // ===== Getters =====
+
+    /**
+     * Camp opposé à un joueur de la partie
+     */
+    public Player getOpponent(Player self) {
+        return self == player ? enemy : player;
+    }
+
+    public RandomStreams getRandomStreams() {
+        return streams;
+    }
+
+    public GameMap getMap() {
+        return map;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Player getEnemy() {
+        return enemy;
+    }
+
+    public CombatSystem getCombatSystem() {
+        return combatSystem;
+    }
+
+    public FlowFieldService getFlowFields() {
+        return flowFields;
+    }
+
+    public VisibilityMap getVisibility() {
+        return visibility;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public TurnPhase getPhase() {
+        return phase;
+    }
+
+    public MatchState getState() {
+        return state;
+    }
+
+    public boolean isOver() {
+        return state != MatchState.RUNNING;
+    }
+
+    /**
+     * Empreinte de Zobrist de la partie : carte, deux joueurs et phase en cours
+     * (le numéro de tour n'y entre pas). Lue en O(1), jamais recalculée ; deux
+     * parties de même graine jouées de la même façon ont la même empreinte.
+     */
+    public long getStateKey() {
+        return map.getZobristKey() ^ player.getZobristKey() ^ enemy.getZobristKey()
+                ^ Zobrist.phase(phase.ordinal());
+    }
+}
@@ -0,0 +1,20 @@
+package game.engine;
+
+/**
+ * Observateur du déroulement des tours (interfaces console et Swing, journaux...)
+ * Toutes les méthodes sont facultatives
+ */
+public interface TurnListener {
+
+    /**
+     * Début d'une phase (PLAYER : début d'un nouveau tour, à partir du tour 2)
+     */
+    default void onPhaseStarted(int turn, TurnPhase phase) {
+    }
+
+    /**
+     * Fin de la partie
+     */
+    default void onMatchEnded(int turn, MatchState state) {
+    }
+}
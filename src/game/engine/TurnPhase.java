@@ -0,0 +1,11 @@
+package game.engine;
+
+/**
+ * Phases d'un tour de jeu, dans l'ordre où TurnEngine les enchaîne
+ */
+public enum TurnPhase {
+    PLAYER,         // Actions du joueur (interface ou PlayerController)
+    ENEMY,          // Actions de l'adversaire
+    PRODUCTION,     // Construction et production de tous les bâtiments
+    END_OF_TURN     // Remise à zéro des unités, passage au tour suivant
+}
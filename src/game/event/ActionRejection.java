@@ -0,0 +1,16 @@
+package game.event;
+
+/**
+ * Raison pour laquelle une attaque ou un déplacement a été refusé
+ */
+public enum ActionRejection {
+    INVALID_UNIT,       // Unité ou cible absente
+    ATTACKER_DEAD,
+    TARGET_DEAD,
+    ALREADY_ACTED,
+    FRIENDLY_TARGET,    // Cible du même joueur
+    OUT_OF_RANGE,
+    INVALID_POSITION,   // Hors de la carte
+    INACCESSIBLE,       // Eau, case occupée
+    UNREACHABLE         // Trop loin ou aucun chemin praticable
+}
@@ -0,0 +1,125 @@
+package game.event;
+
+import game.building.Building;
+import game.building.CommandCenter;
+import game.resource.ResourceType;
+import game.unit.Unit;
+
+/**
+ * Rendu des événements sur la console (interface texte)
+ */
+public class ConsoleEventSink implements GameEventSink {
+
+    @Override
+    public void onAttack(Unit attacker, Unit defender, int damage, int terrainBonus, boolean critical) {
+        System.out.println("\n === COMBAT ===");
+        System.out.println(attacker.getName() + " attaque " + defender.getName());
+        if (terrainBonus > 0) {
+            System.out.println("  Bonus de terrain: +" + terrainBonus + " défense");
+        }
+        if (critical) {
+            System.out.println(" COUP CRITIQUE !");
+        }
+        System.out.println("  Dégâts infligés: " + damage);
+        System.out.println("  " + defender.getName() + " PV restants: " +
+                         defender.getCurrentHealth() + "/" + defender.getMaxHealth());
+        System.out.println("=================\n");
+    }
+
+    @Override
+    public void onCounterAttack(Unit defender, Unit attacker, int damage) {
+        System.out.println(" CONTRE-ATTAQUE !");
+        System.out.println("  " + defender.getName() + " contre-attaque pour " +
+                         damage + " dégâts !");
+        System.out.println("  " + attacker.getName() + " PV restants: " +
+                         attacker.getCurrentHealth() + "/" + attacker.getMaxHealth());
+    }
+
+    @Override
+    public void onUnitDied(Unit unit) {
+        System.out.println(unit.getName() + " est mort !");
+    }
+
+    @Override
+    public void onUnitMoved(Unit unit, int fromX, int fromY, int toX, int toY) {
+        System.out.println(unit.getName() + " se déplace vers (" + toX + ", " + toY + ")");
+    }
+
+    @Override
+    public void onUnitHealed(Unit unit, int amount) {
+        System.out.println(unit.getName() + " récupère " + amount + " PV !");
+    }
+
+    @Override
+    public void onActionRejected(Unit unit, int targetX, int targetY, ActionRejection reason) {
+        switch (reason) {
+            case INVALID_UNIT:
+                System.out.println(" Unité invalide !");
+                break;
+            case ATTACKER_DEAD:
+                System.out.println(" L'attaquant est mort !");
+                break;
+            case TARGET_DEAD:
+                System.out.println(" Le défenseur est mort !");
+                break;
+            case ALREADY_ACTED:
+                System.out.println(" " + unit.getName() + " a déjà agi ce tour !");
+                break;
+            case FRIENDLY_TARGET:
+                System.out.println(" Vous ne pouvez pas attaquer vos propres unités !");
+                break;
+            case OUT_OF_RANGE:
+                System.out.println(" Cible hors de portée ! (Distance: " +
+                                 unit.distanceTo(targetX, targetY) +
+                                 ", Portée: " + unit.getRange() + ")");
+                break;
+            case INVALID_POSITION:
+                System.out.println(" Position invalide !");
+                break;
+            case INACCESSIBLE:
+                System.out.println(" Case inaccessible !");
+                break;
+            case UNREACHABLE:
+                System.out.println(" Trop loin ou aucun chemin praticable ! Déplacement: " +
+                                 unit.getMovementPoints());
+                break;
+        }
+    }
+
+    @Override
+    public void onBuildingAttacked(Unit attacker, Building target, int damage, int terrainBonus,
+                                   boolean critical) {
+        if (critical) {
+            System.out.println(" COUP CRITIQUE !");
+        }
+        System.out.println(attacker.getName() + " attaque " + target.getName() +
+                         " et inflige " + damage + " dégâts !");
+        System.out.println(target.getName() + " : " + target.getCurrentHealth() +
+                         "/" + target.getMaxHealth() + " PV");
+    }
+
+    @Override
+    public void onConstructionProgress(Building building, int remainingTurns) {
+        System.out.println(" " + building.getName() + " en construction... (" +
+                         remainingTurns + " tours restants)");
+    }
+
+    @Override
+    public void onBuildingCompleted(Building building) {
+        System.out.println(" " + building.getName() + " est maintenant construit !");
+    }
+
+    @Override
+    public void onResourcesProduced(Building building, ResourceType type, int amount) {
+        System.out.println(" " + building.getName() + " produit +" + amount + " " +
+                         type.getIcon() + " " + type.getName());
+    }
+
+    @Override
+    public void onBuildingDestroyed(Building building) {
+        System.out.println(" " + building.getName() + " a été détruit !");
+        if (building instanceof CommandCenter && building.getOwner() != null) {
+            System.out.println(" " + building.getOwner().getName() + " est en danger critique !");
+        }
+    }
+}
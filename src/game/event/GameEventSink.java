@@ -0,0 +1,74 @@
+package game.event;
+
+import game.building.Building;
+import game.resource.ResourceType;
+import game.unit.Unit;
+
+/**
+ * Récepteur des événements de jeu (combats, déplacements, bâtiments)
+ *
+ * Le code de jeu ne construit aucun message : il transmet les objets concernés et
+ * quelques entiers, sans allocation. Chaque interface (console, Swing) branche son
+ * propre rendu ; par défaut les événements sont ignorés (NONE), ce qui laisse
+ * les simulations sans affichage libres de toute entrée/sortie.
+ *
+ * Toutes les méthodes ont une implémentation vide : un récepteur ne redéfinit
+ * que ce qui l'intéresse.
+ */
+public interface GameEventSink {
+    /** Récepteur qui ignore tout */
+    GameEventSink NONE = new GameEventSink() { };
+
+    /**
+     * Attaque résolue (dégâts déjà appliqués)
+     * @param terrainBonus Réduction due au terrain du défenseur
+     * @param critical Si le coup était critique (dégâts × 1,5)
+     */
+    default void onAttack(Unit attacker, Unit defender, int damage, int terrainBonus, boolean critical) {
+    }
+
+    /**
+     * Contre-attaque résolue (dégâts déjà appliqués)
+     */
+    default void onCounterAttack(Unit defender, Unit attacker, int damage) {
+    }
+
+    default void onUnitDied(Unit unit) {
+    }
+
+    default void onUnitMoved(Unit unit, int fromX, int fromY, int toX, int toY) {
+    }
+
+    /**
+     * Soin reçu (points de vie déjà rendus)
+     * @param amount Soin demandé, avant plafonnement aux PV maximaux
+     */
+    default void onUnitHealed(Unit unit, int amount) {
+    }
+
+    /**
+     * Attaque ou déplacement refusé
+     * @param targetX Case visée : cible de l'attaque ou destination (-1 si inconnue)
+     */
+    default void onActionRejected(Unit unit, int targetX, int targetY, ActionRejection reason) {
+    }
+
+    default void onConstructionProgress(Building building, int remainingTurns) {
+    }
+
+    /**
+     * Attaque d'une unité contre un bâtiment résolue (dégâts déjà appliqués)
+     */
+    default void onBuildingAttacked(Unit attacker, Building target, int damage, int terrainBonus,
+                                    boolean critical) {
+    }
+
+    default void onBuildingCompleted(Building building) {
+    }
+
+    default void onResourcesProduced(Building building, ResourceType type, int amount) {
+    }
+
+    default void onBuildingDestroyed(Building building) {
+    }
+}
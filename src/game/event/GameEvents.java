@@ -0,0 +1,24 @@
+package game.event;
+
+/**
+ * Point d'accès au récepteur d'événements courant
+ * Les unités et bâtiments n'ont pas de contexte de partie : ils publient ici,
+ * et l'interface lancée installe son rendu au démarrage
+ */
+public final class GameEvents {
+    private static volatile GameEventSink sink = GameEventSink.NONE;
+
+    private GameEvents() {
+    }
+
+    public static GameEventSink sink() {
+        return sink;
+    }
+
+    /**
+     * Installe un récepteur (null : retour au récepteur silencieux)
+     */
+    public static void setSink(GameEventSink newSink) {
+        sink = newSink != null ? newSink : GameEventSink.NONE;
+    }
+}
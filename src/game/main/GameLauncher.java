@@ -1,39 +1,56 @@
 package game.main;
 
 import game.map.GameMap;
-import game.map.Tile;
 import game.player.Player;
 import game.unit.*;
 import game.building.*;
 import game.combat.CombatSystem;
+import game.engine.MatchState;
+import game.engine.TurnEngine;
+import game.engine.TurnListener;
+import game.engine.TurnPhase;
+import game.event.ConsoleEventSink;
+import game.event.GameEvents;
+import game.random.RandomStreams;
 import game.resource.ResourceType;
 
 import java.util.Scanner;
 
 /**
  * Point d'entrée principal du jeu
- * Gère le menu, l'initialisation et la boucle de jeu
+ * Gère le menu, l'initialisation et la phase du joueur en console ; le reste du
+ * tour (IA, production, victoire) est joué par TurnEngine
  */
-public class GameLauncher {
+public class GameLauncher implements TurnListener {
+    private static final int MAP_SIZE = 15;     // Carte 15×15 au lieu de 25×25
+
+    private TurnEngine engine;
     private GameMap map;
     private Player player;
     private Player enemy;
     private CombatSystem combatSystem;
     private Scanner scanner;
-    private int currentTurn;
-    private boolean gameRunning;
+    private final Long seed;            // Graine imposée (null : nouvelle graine à chaque partie)
 
     public GameLauncher() {
+        this(null);
+    }
+
+    /**
+     * @param seed Graine des parties, pour rejouer une partie à l'identique (null : aléatoire)
+     */
+    public GameLauncher(Long seed) {
         this.scanner = new Scanner(System.in);
-        this.currentTurn = 1;
-        this.gameRunning = true;
+        this.seed = seed;
     }
 
     /**
      * Point d'entrée du programme
+     * Usage : java game.main.GameLauncher [graine]
      */
     public static void main(String[] args) {
-        GameLauncher launcher = new GameLauncher();
+        GameEvents.setSink(new ConsoleEventSink());
+        GameLauncher launcher = new GameLauncher(args.length > 0 ? Long.valueOf(args[0]) : null);
         launcher.showMainMenu();
     }
 
@@ -100,86 +117,59 @@ public class GameLauncher {
         String playerName = scanner.nextLine();
 
         // Initialisation
-        this.map = new GameMap(15, 15); // Carte 15×15 au lieu de 25×25
-        this.player = new Player(playerName);
-        this.enemy = new Player("IA Ennemi");
-        this.combatSystem = new CombatSystem(map);
-
-        // Placement initial des joueurs
-        initializePlayerBase(player, 2, 2);
-        initializePlayerBase(enemy, 22, 22);
+        RandomStreams streams = seed != null ? new RandomStreams(seed) : RandomStreams.withRandomSeed();
+        System.out.println("Graine de la partie: " + streams.getMatchSeed());
+        this.engine = new TurnEngine(streams, MAP_SIZE, new Player(playerName), new Player("IA Ennemi"));
+        engine.addListener(this);
+        this.map = engine.getMap();
+        this.player = engine.getPlayer();
+        this.enemy = engine.getEnemy();
+        this.combatSystem = engine.getCombatSystem();
 
         System.out.println("\n Partie initialisée !");
         System.out.println("Vous êtes en position (2, 2)");
-        System.out.println("L'ennemi est en position (12, 12)");
+        System.out.println("L'ennemi est en position (" + (MAP_SIZE - 3) + ", " + (MAP_SIZE - 3) + ")");
         
         // Lancement de la boucle de jeu
         gameLoop();
     }
 
-    /**
-     * Initialise la base d'un joueur avec un centre de commandement et quelques unités
-     */
-    private void initializePlayerBase(Player player, int x, int y) {
-        // Création du centre de commandement (déjà construit)
-        CommandCenter cc = new CommandCenter(player, x, y);
-        cc.advanceConstruction(); // Termine instantanément la construction pour le début
-        cc.advanceConstruction();
-        cc.advanceConstruction();
-        cc.advanceConstruction();
-        cc.advanceConstruction();
-        
-        player.addBuilding(cc);
-        map.getTile(x, y).setBuilding(cc);
-
-        // Ajout d'unités de départ
-        Soldier soldier = new Soldier(player, x + 1, y);
-        Archer archer = new Archer(player, x, y + 1);
-        
-        player.addUnit(soldier);
-        player.addUnit(archer);
-        
-        map.getTile(x + 1, y).setUnit(soldier);
-        map.getTile(x, y + 1).setUnit(archer);
-    }
-
     /**
      * Boucle principale du jeu
      */
     private void gameLoop() {
-        while (gameRunning) {
+        while (!engine.isOver()) {
             System.out.println("\n" + "=".repeat(50));
-            System.out.println("🎮 TOUR " + currentTurn);
+            System.out.println("🎮 TOUR " + engine.getTurn());
             System.out.println("=".repeat(50));
 
-            // Phase du joueur
+            // Phase du joueur, puis IA, production et nouveau tour
             playerTurn();
-
-            // Vérification de victoire
-            if (checkVictory()) {
-                break;
-            }
-
-            // Phase de l'ennemi (IA simple)
-            enemyTurn();
-
-            // Vérification de défaite
-            if (checkVictory()) {
-                break;
-            }
-
-            // Production de ressources
-            produceResources();
-
-            // Nouveau tour
-            currentTurn++;
-            resetUnits();
+            engine.endPlayerTurn();
         }
 
         // Fin de partie
         showMainMenu();
     }
 
+    @Override
+    public void onPhaseStarted(int turn, TurnPhase phase) {
+        if (phase == TurnPhase.ENEMY) {
+            System.out.println("\n Tour de l'IA...");
+        } else if (phase == TurnPhase.PRODUCTION) {
+            System.out.println("\n💰 Production de ressources...");
+        }
+    }
+
+    @Override
+    public void onMatchEnded(int turn, MatchState state) {
+        if (state == MatchState.PLAYER_WON) {
+            System.out.println("\n VICTOIRE ! Vous avez détruit le Centre de Commandement ennemi !");
+        } else {
+            System.out.println("\n DÉFAITE ! Votre Centre de Commandement a été détruit !");
+        }
+    }
+
     /**
      * Tour du joueur
      */
@@ -346,86 +336,6 @@ public class GameLauncher {
         combatSystem.performAttack(attacker, target);
     }
 
-    /**
-     * Tour de l'ennemi (IA basique)
-     */
-    private void enemyTurn() {
-        System.out.println("\n Tour de l'IA...");
-        
-        // IA simple: attaque si possible
-        for (Unit enemyUnit : enemy.getUnits()) {
-            if (!player.getUnits().isEmpty()) {
-                Unit target = player.getUnits().get(0);
-                if (combatSystem.canAttack(enemyUnit, target)) {
-                    combatSystem.performAttack(enemyUnit, target);
-                }
-            }
-        }
-    }
-
-    /**
-     * Produit les ressources de tous les bâtiments
-     */
-    private void produceResources() {
-        System.out.println("\n💰 Production de ressources...");
-        
-        for (Building building : player.getBuildings()) {
-            building.advanceConstruction();
-            building.performAction();
-        }
-
-        for (Building building : enemy.getBuildings()) {
-            building.advanceConstruction();
-            building.performAction();
-        }
-    }
-
-    /**
-     * Réinitialise toutes les unités pour le nouveau tour
-     */
-    private void resetUnits() {
-        for (Unit unit : player.getUnits()) {
-            unit.resetTurn();
-        }
-        for (Unit unit : enemy.getUnits()) {
-            unit.resetTurn();
-        }
-    }
-
-    /**
-     * Vérifie les conditions de victoire
-     */
-    private boolean checkVictory() {
-        boolean playerHasCC = false;
-        boolean enemyHasCC = false;
-
-        for (Building b : player.getBuildings()) {
-            if (b instanceof CommandCenter && !b.isDestroyed()) {
-                playerHasCC = true;
-            }
-        }
-
-        for (Building b : enemy.getBuildings()) {
-            if (b instanceof CommandCenter && !b.isDestroyed()) {
-                enemyHasCC = true;
-            }
-        }
-
-        if (!enemyHasCC) {
-            System.out.println("\n VICTOIRE ! Vous avez détruit le Centre de Commandement ennemi !");
-            gameRunning = false;
-            return true;
-        }
-
-        if (!playerHasCC) {
-            System.out.println("\n DÉFAITE ! Votre Centre de Commandement a été détruit !");
-            gameRunning = false;
-            return true;
-        }
-
-        return false;
-    }
-
     /**
      * Lit un entier depuis l'entrée utilisateur
      */
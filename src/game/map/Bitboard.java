@@ -0,0 +1,221 @@
+package game.map;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble de cases sous forme de bits : une ligne de la grille = wordsPerRow longs,
+ * bit (x & 63) du mot (x >> 6) pour la colonne x
+ *
+ * Les opérations travaillent sur des lignes entières (64 cases par instruction) :
+ * intersection/union, dilatation aux 4 voisins par décalage et masque, et
+ * remplissage par diffusion bornée. Les bits au-delà de la largeur restent toujours à 0.
+ */
+public final class Bitboard {
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;    // Colonnes valides du dernier mot de chaque ligne
+    private final long[] words;
+
+    public Bitboard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.words = new long[wordsPerRow * height];
+    }
+
+    // ===== Accès unitaire =====
+
+    public boolean get(int x, int y) {
+        return (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    public void set(int x, int y) {
+        words[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+    }
+
+    public void clear(int x, int y) {
+        words[y * wordsPerRow + (x >>> 6)] &= ~(1L << x);
+    }
+
+    public void set(int x, int y, boolean value) {
+        if (value) {
+            set(x, y);
+        } else {
+            clear(x, y);
+        }
+    }
+
+    /**
+     * Écrit un mot entier d'une ligne (utilisé pour remplir un bloc de 64 colonnes d'un coup)
+     */
+    void setWord(int wordX, int y, long bits) {
+        words[y * wordsPerRow + wordX] = wordX == wordsPerRow - 1 ? bits & lastWordMask : bits;
+    }
+
+    /**
+     * Lit 64 bits consécutifs d'une ligne à partir de la colonne x (bits hors carte à 0)
+     */
+    public long readBits(int x, int y) {
+        if (y < 0 || y >= height || x >= width || x <= -64) {
+            return 0L;
+        }
+        int row = y * wordsPerRow;
+        if (x < 0) {
+            return words[row] << -x;
+        }
+        int wordX = x >>> 6;
+        int shift = x & 63;
+        long low = words[row + wordX] >>> shift;
+        if (shift == 0 || wordX + 1 >= wordsPerRow) {
+            return low;
+        }
+        return low | (words[row + wordX + 1] << (64 - shift));
+    }
+
+    // ===== Opérations globales =====
+
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    public void copyFrom(Bitboard other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    public void and(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    public void or(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    public void andNot(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    /**
+     * Copie la fenêtre de source qui commence en (originX, originY) dans cet ensemble
+     * (mêmes dimensions que cet ensemble, cases hors de source à 0)
+     */
+    public void extract(Bitboard source, int originX, int originY) {
+        for (int y = 0; y < height; y++) {
+            int row = y * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                words[row + w] = source.readBits(originX + (w << 6), originY + y);
+            }
+            words[row + wordsPerRow - 1] &= lastWordMask;
+        }
+    }
+
+    /**
+     * Écrit dans target cet ensemble dilaté d'une case (4 voisins), source incluse
+     * target doit avoir les mêmes dimensions et être distinct de cet ensemble
+     */
+    public void dilateInto(Bitboard target) {
+        long[] out = target.words;
+        for (int y = 0; y < height; y++) {
+            int row = y * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long bits = words[row + w];
+                long carryFromLeft = w > 0 ? words[row + w - 1] >>> 63 : 0L;
+                long carryFromRight = w + 1 < wordsPerRow ? words[row + w + 1] << 63 : 0L;
+                long grown = bits | (bits << 1) | carryFromLeft | (bits >>> 1) | carryFromRight;
+                if (y > 0) {
+                    grown |= words[row - wordsPerRow + w];
+                }
+                if (y < height - 1) {
+                    grown |= words[row + wordsPerRow + w];
+                }
+                out[row + w] = grown;
+            }
+            out[row + wordsPerRow - 1] &= lastWordMask;
+        }
+    }
+
+    /**
+     * Diffusion bornée : ajoute les cases de mask atteignables pas à pas (4 voisins)
+     * @param mask Cases traversables
+     * @param steps Nombre maximal de pas (Integer.MAX_VALUE jusqu'à stabilité)
+     * @param scratch Ensemble de travail de mêmes dimensions
+     */
+    public void floodFill(Bitboard mask, int steps, Bitboard scratch) {
+        for (int step = 0; step < steps; step++) {
+            dilateInto(scratch);
+            scratch.and(mask);
+            scratch.or(this);
+            if (Arrays.equals(scratch.words, words)) {
+                return;
+            }
+            copyFrom(scratch);
+        }
+    }
+
+    /**
+     * Dilatation en losange de rayon donné (distance de Manhattan, sans obstacle)
+     */
+    public void expand(int radius, Bitboard scratch) {
+        for (int i = 0; i < radius; i++) {
+            dilateInto(scratch);
+            copyFrom(scratch);
+        }
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Index (y * width + x) de la première case à partir de fromIndex, -1 s'il n'y en a plus
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex >= width * height) {
+            return -1;
+        }
+        int y = fromIndex / width;
+        int x = fromIndex % width;
+        int w = x >>> 6;
+        long bits = words[y * wordsPerRow + w] & (-1L << x);
+        while (true) {
+            if (bits != 0) {
+                return y * width + (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++w == wordsPerRow) {
+                w = 0;
+                if (++y == height) {
+                    return -1;
+                }
+            }
+            bits = words[y * wordsPerRow + w];
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,62 @@
+package game.map;
+
+/**
+ * Table d'identifiants pour les unités et bâtiments posés sur la carte
+ * L'identifiant 0 est réservé pour "case vide", les identifiants libérés sont réutilisés
+ */
+final class EntitySlots<T> {
+    private Object[] entries;
+    private int[] freeIds;
+    private int freeCount;
+    private int nextId;
+
+    EntitySlots() {
+        this.entries = new Object[16];
+        this.freeIds = new int[16];
+        this.freeCount = 0;
+        this.nextId = 1;
+    }
+
+    /**
+     * Enregistre une entité et renvoie son identifiant (toujours > 0)
+     */
+    int add(T entity) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id >= entries.length) {
+                Object[] grown = new Object[entries.length * 2];
+                System.arraycopy(entries, 0, grown, 0, entries.length);
+                entries = grown;
+            }
+        }
+        entries[id] = entity;
+        return id;
+    }
+
+    /**
+     * Récupère l'entité associée à un identifiant (null pour 0)
+     */
+    @SuppressWarnings("unchecked")
+    T get(int id) {
+        return (T) entries[id];
+    }
+
+    /**
+     * Libère un identifiant pour qu'il soit réutilisé
+     */
+    void remove(int id) {
+        if (id == 0) {
+            return;
+        }
+        entries[id] = null;
+        if (freeCount == freeIds.length) {
+            int[] grown = new int[freeIds.length * 2];
+            System.arraycopy(freeIds, 0, grown, 0, freeCount);
+            freeIds = grown;
+        }
+        freeIds[freeCount++] = id;
+    }
+}
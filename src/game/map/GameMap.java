@@ -1,16 +1,102 @@
 package game.map;
 
-import java.util.Random;
+import game.building.Building;
+import game.player.Player;
+import game.random.Zobrist;
+import game.unit.Unit;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Représente la carte de jeu complète
  * Gère la génération et l'accès aux cases
+ *
+ * La carte est découpée en blocs de 64×64 cases (MapChunk) générés à la demande,
+ * au premier accès à leur terrain, par un TerrainGenerator qui ne dépend que de
+ * (graine de la carte, position du bloc) :
+ * - une carte est entièrement déterminée par sa graine de 64 bits ;
+ * - un bloc libéré par evictUnusedChunks() est régénéré à l'identique ;
+ * - generateAllChunks() peut générer les blocs en parallèle et produit la même
+ *   carte quel que soit le nombre de threads.
+ * Le temps de démarrage et la mémoire résidente dépendent ainsi de la zone
+ * réellement parcourue.
+ *
+ * Dans un bloc, les cases sont stockées dans des tableaux primitifs : le terrain
+ * en ordinal de TileType, l'occupation en identifiants d'unité/bâtiment (0 = vide)
+ * et l'exploration/visibilité en bitsets. Les objets Tile renvoyés par getTile()
+ * ne sont que des vues sur ces tableaux.
+ *
+ * La carte tient aussi à jour des Bitboard couvrant toute la grille : un par type
+ * de terrain, le terrain praticable, les unités et les bâtiments (tous et par
+ * propriétaire). Le terrain y est écrit à la génération de chaque bloc (64 colonnes
+ * = un mot), l'occupation en O(1) à chaque pose/retrait. Ils permettent de traiter
+ * 64 cases par instruction pour la génération de coups (voir BitboardMoveGenerator).
+ *
+ * Zone de contrôle : quand la règle est active (setZoneOfControl), chaque joueur
+ * exerce une zone sur les 4 voisines des cases de ses unités vivantes, et entrer
+ * dans une case de la zone d'un autre joueur termine le déplacement ; une unité
+ * déjà au contact peut encore s'en dégager. Les zones ne sont tenues que tant que
+ * la règle est active (compteur de voisins par case dans les blocs concernés et
+ * bitboard par joueur, mis à jour à chaque pose, retrait et mort d'unité) ; les
+ * recherches de chemin les lisent en O(1) par case.
+ *
+ * Mémoire par case (JVM 64 bits, compressed oops) :
+ * <pre>
+ *   Tile[][]            : objet Tile 40 octets (en-tête 12, x/y 8, 3 références 12,
+ *                         boolean 1, alignement) + 4 octets de référence = ~44 octets
+ *   Tableaux primitifs  : terrain 1 + unité 4 + bâtiment 4 + 2 bits = ~9,25 octets
+ *                         (1 octet seulement pour un bloc jamais occupé ni exploré)
+ *   Carte 2048×2048     : ~176 Mio avant, ~37 Mio au plus après
+ *   Zone de contrôle    : règle active seulement, par joueur : 1 bit par case de la
+ *                         carte (bitboard, 512 Kio en 2048×2048) + 1 octet par case
+ *                         des blocs voisins de ses unités (4 Kio par bloc)
+ * </pre>
+ *
+ * Empreinte de Zobrist (getZobristKey) : une clé pour le terrain, qui ne dépend que
+ * de la graine, des dimensions et du générateur, puis une clé par unité et par
+ * bâtiment posés (case, type, propriétaire), mise à jour en O(1) à chaque pose et
+ * retrait. L'état des unités et bâtiments eux-mêmes est dans l'empreinte de leur
+ * propriétaire (Player) ; exploration et visibilité n'y entrent pas.
+ *
+ * La carte n'est pas thread-safe : elle appartient au thread qui joue la partie.
  */
 public class GameMap {
+    private static final TileType[] TILE_TYPES = TileType.values();
+    // Voisins orthogonaux (ordre : droite, gauche, bas, haut)
+    private static final int[] NEIGHBOR_DX = {1, -1, 0, 0};
+    private static final int[] NEIGHBOR_DY = {0, 0, 1, -1};
+
     private final int width;
     private final int height;
-    private final Tile[][] tiles;
-    private final Random random;
+    private final int chunksX;
+    private final int chunksY;
+    private final MapChunk[] chunks;        // null tant que le bloc n'est pas généré
+    private final long seed;
+    private final TerrainGenerator terrainGenerator;
+    private final EntitySlots<Unit> units;
+    private final EntitySlots<Building> buildings;
+    private int residentChunks;
+    private MapListener[] listeners;
+
+    // Bitboards de la carte entière
+    private final Bitboard[] terrainBoards;         // Un par TileType (blocs générés seulement)
+    private final Bitboard walkableBoard;
+    private final Bitboard unitBoard;
+    private final Bitboard buildingBoard;
+    private final Map<Player, Bitboard> unitBoardsByOwner;
+    private final Map<Player, Bitboard> buildingBoardsByOwner;
+
+    // Zones de contrôle, par joueur (tableaux parallèles, un joueur par indice), règle active
+    // seulement ; le nombre d'unités voisines de chaque case est dans MapChunk.zoneCounts
+    private Player[] zoneOwners;
+    private Bitboard[] zoneBoards;                  // Cases voisines d'une unité vivante du joueur
+    private boolean zoneOfControl;
+    private long zobristKey;
 
     /**
      * Constructeur avec taille par défaut (25x25)
@@ -20,71 +106,644 @@ public class GameMap {
     }
 
     /**
-     * Constructeur avec taille personnalisée
+     * Constructeur avec taille personnalisée et graine aléatoire
      * @param width Largeur de la carte
      * @param height Hauteur de la carte
      */
     public GameMap(int width, int height) {
+        this(width, height, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructeur d'une carte reproductible
+     * @param width Largeur de la carte
+     * @param height Hauteur de la carte
+     * @param seed Graine : deux cartes de même taille et de même graine sont identiques
+     */
+    public GameMap(int width, int height, long seed) {
+        this(width, height, seed, new RandomTerrainGenerator());
+    }
+
+    /**
+     * Constructeur complet
+     * @param width Largeur de la carte
+     * @param height Hauteur de la carte
+     * @param seed Graine de la carte
+     * @param terrainGenerator Stratégie de génération du terrain (voir NoiseTerrainGenerator)
+     */
+    public GameMap(int width, int height, long seed, TerrainGenerator terrainGenerator) {
         this.width = width;
         this.height = height;
-        this.tiles = new Tile[height][width];
-        this.random = new Random();
-        generateMap();
+        this.chunksX = (width + MapChunk.MASK) >> MapChunk.SHIFT;
+        this.chunksY = (height + MapChunk.MASK) >> MapChunk.SHIFT;
+        this.chunks = new MapChunk[chunksX * chunksY];
+        this.seed = seed;
+        this.terrainGenerator = terrainGenerator;
+        this.units = new EntitySlots<>();
+        this.buildings = new EntitySlots<>();
+        this.residentChunks = 0;
+        this.listeners = new MapListener[0];
+        this.terrainBoards = new Bitboard[TILE_TYPES.length];
+        for (int i = 0; i < terrainBoards.length; i++) {
+            terrainBoards[i] = new Bitboard(width, height);
+        }
+        this.walkableBoard = new Bitboard(width, height);
+        this.unitBoard = new Bitboard(width, height);
+        this.buildingBoard = new Bitboard(width, height);
+        this.unitBoardsByOwner = new IdentityHashMap<>();
+        this.buildingBoardsByOwner = new IdentityHashMap<>();
+        this.zoneOwners = new Player[0];
+        this.zoneBoards = new Bitboard[0];
+        this.zoneOfControl = false;
+        this.zobristKey = Zobrist.terrain(seed, width, height, terrainGenerator.getClass());
     }
 
     /**
-     * Génère la carte de manière procédurale
-     * Distribution aléatoire des terrains avec des règles simples
+     * Génère le terrain d'un bloc de la carte
      */
-    private void generateMap() {
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                TileType type = generateTileType(x, y);
-                tiles[y][x] = new Tile(x, y, type);
+    private MapChunk generateChunk(int chunkX, int chunkY) {
+        MapChunk chunk = new MapChunk();
+        int originX = chunkX << MapChunk.SHIFT;
+        int originY = chunkY << MapChunk.SHIFT;
+        int chunkWidth = Math.min(MapChunk.SIZE, width - originX);
+        int chunkHeight = Math.min(MapChunk.SIZE, height - originY);
+        terrainGenerator.generate(seed, originX, originY, chunkWidth, chunkHeight,
+                                  chunk.terrain, MapChunk.SIZE);
+        fillTerrainBoards(chunk, chunkX, originY, chunkWidth, chunkHeight);
+        return chunk;
+    }
+
+    /**
+     * Écrit le terrain d'un bloc dans les bitboards : chaque ligne du bloc est
+     * exactement un mot, deux blocs n'écrivent donc jamais le même mot
+     */
+    private void fillTerrainBoards(MapChunk chunk, int chunkX, int originY, int chunkWidth, int chunkHeight) {
+        long[] rowBits = new long[TILE_TYPES.length];
+        for (int row = 0; row < chunkHeight; row++) {
+            Arrays.fill(rowBits, 0L);
+            int base = row << MapChunk.SHIFT;
+            for (int col = 0; col < chunkWidth; col++) {
+                rowBits[chunk.terrain[base + col]] |= 1L << col;
+            }
+            long walkable = 0L;
+            for (int t = 0; t < TILE_TYPES.length; t++) {
+                terrainBoards[t].setWord(chunkX, originY + row, rowBits[t]);
+                if (TILE_TYPES[t].isWalkable()) {
+                    walkable |= rowBits[t];
+                }
             }
+            walkableBoard.setWord(chunkX, originY + row, walkable);
         }
     }
 
     /**
-     * Détermine le type de terrain pour une position donnée
-     * Utilise des probabilités pour une carte équilibrée
+     * Génère les blocs qui recouvrent un rectangle (bornes incluses, découpées à la carte)
+     * À appeler avant de lire les bitboards de terrain sur cette zone
      */
-    private TileType generateTileType(int x, int y) {
-        int rand = random.nextInt(100);
-        
-        // 50% Herbe (terrain de base)
-        if (rand < 50) {
-            return TileType.GRASS;
+    public void generateChunksIn(int minX, int minY, int maxX, int maxY) {
+        int fromX = Math.max(0, minX) >> MapChunk.SHIFT;
+        int fromY = Math.max(0, minY) >> MapChunk.SHIFT;
+        int toX = Math.min(width - 1, maxX) >> MapChunk.SHIFT;
+        int toY = Math.min(height - 1, maxY) >> MapChunk.SHIFT;
+        for (int cy = fromY; cy <= toY; cy++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                chunkAt(cx << MapChunk.SHIFT, cy << MapChunk.SHIFT);
+            }
         }
-        // 20% Forêt
-        else if (rand < 70) {
-            return TileType.FOREST;
+    }
+
+    /**
+     * Génère tous les blocs pas encore en mémoire sur le pool fork/join commun
+     */
+    public void generateAllChunks() {
+        generateAllChunks(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Génère tous les blocs pas encore en mémoire sur un pool fork/join donné
+     * Le résultat ne dépend pas du nombre de threads du pool
+     */
+    public void generateAllChunks(ForkJoinPool pool) {
+        pool.invoke(new ChunkGenerationTask(0, chunks.length));
+        int resident = 0;
+        for (MapChunk chunk : chunks) {
+            if (chunk != null) {
+                resident++;
+            }
+        }
+        residentChunks = resident;
+    }
+
+    /**
+     * Tâche fork/join : découpe l'intervalle de blocs en deux jusqu'à un seuil
+     * Chaque bloc est écrit par une seule tâche, le join publie le résultat
+     */
+    @SuppressWarnings("serial")     // Jamais sérialisée
+    private final class ChunkGenerationTask extends RecursiveAction {
+        private static final int THRESHOLD = 4;
+        private final int from;
+        private final int to;
+
+        ChunkGenerationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
         }
-        // 15% Montagne
-        else if (rand < 85) {
-            return TileType.MOUNTAIN;
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    if (chunks[i] == null) {
+                        chunks[i] = generateChunk(i % chunksX, i / chunksX);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkGenerationTask(from, middle), new ChunkGenerationTask(middle, to));
         }
-        // 10% Eau
-        else if (rand < 95) {
-            return TileType.WATER;
+    }
+
+    /**
+     * Récupère le bloc contenant une case, en le générant si nécessaire
+     */
+    private MapChunk chunkAt(int x, int y) {
+        int index = (y >> MapChunk.SHIFT) * chunksX + (x >> MapChunk.SHIFT);
+        MapChunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = generateChunk(x >> MapChunk.SHIFT, y >> MapChunk.SHIFT);
+            chunks[index] = chunk;
+            residentChunks++;
         }
-        // 5% Désert
-        else {
-            return TileType.DESERT;
+        return chunk;
+    }
+
+    /**
+     * Récupère le bloc contenant une case sans le générer (null s'il n'existe pas)
+     */
+    private MapChunk peekChunk(int x, int y) {
+        return chunks[(y >> MapChunk.SHIFT) * chunksX + (x >> MapChunk.SHIFT)];
+    }
+
+    /**
+     * Libère les blocs sans unité, sans bâtiment et jamais explorés
+     * @return Nombre de blocs libérés
+     */
+    public int evictUnusedChunks() {
+        int evicted = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null && chunks[i].isEvictable()) {
+                chunks[i] = null;
+                evicted++;
+            }
         }
+        residentChunks -= evicted;
+        return evicted;
+    }
+
+    /**
+     * Nombre de blocs actuellement générés en mémoire
+     */
+    public int getResidentChunkCount() {
+        return residentChunks;
     }
 
     /**
      * Récupère une case aux coordonnées données
-     * @return La case ou null si hors limites
+     * @return Une vue sur la case ou null si hors limites
      */
     public Tile getTile(int x, int y) {
         if (isValidPosition(x, y)) {
-            return tiles[y][x];
+            chunkAt(x, y);
+            return new Tile(this, x, y);
         }
         return null;
     }
 
+    /**
+     * Index linéaire d'une case (y * width + x), utile pour les tableaux indexés par case
+     */
+    public int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    // Accès direct aux données d'une case (coordonnées supposées valides)
+
+    public TileType getTileType(int x, int y) {
+        return TILE_TYPES[chunkAt(x, y).terrain[MapChunk.local(x, y)]];
+    }
+
+    public Unit getUnitAt(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        if (chunk == null || chunk.unitIds == null) {
+            return null;
+        }
+        return units.get(chunk.unitIds[MapChunk.local(x, y)]);
+    }
+
+    public Building getBuildingAt(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        if (chunk == null || chunk.buildingIds == null) {
+            return null;
+        }
+        return buildings.get(chunk.buildingIds[MapChunk.local(x, y)]);
+    }
+
+    public boolean hasUnitAt(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        return chunk != null && chunk.unitIds != null
+                && chunk.unitIds[MapChunk.local(x, y)] != 0;
+    }
+
+    public boolean hasBuildingAt(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        return chunk != null && chunk.buildingIds != null
+                && chunk.buildingIds[MapChunk.local(x, y)] != 0;
+    }
+
+    /**
+     * Place une unité sur une case (null pour la retirer)
+     */
+    public void setUnitAt(int x, int y, Unit unit) {
+        MapChunk chunk = unit != null ? chunkAt(x, y) : peekChunk(x, y);
+        if (chunk == null) {
+            return;
+        }
+        if (chunk.unitIds == null) {
+            if (unit == null) {
+                return;
+            }
+            chunk.unitIds = new int[MapChunk.CELLS];
+        }
+        int local = MapChunk.local(x, y);
+        int previous = chunk.unitIds[local];
+        Unit previousUnit = units.get(previous);
+        if (previous != 0) {
+            units.remove(previous);
+            chunk.occupants--;
+            unitBoard.clear(x, y);
+            ownerBoard(unitBoardsByOwner, previousUnit.getOwner()).clear(x, y);
+            if (zoneOfControl && previousUnit.isAlive()) {
+                exertZone(previousUnit.getOwner(), x, y, -1);
+            }
+            zobristKey ^= unitOnCellKey(x, y, previousUnit);
+        }
+        if (unit != null) {
+            chunk.unitIds[local] = units.add(unit);
+            chunk.occupants++;
+            unitBoard.set(x, y);
+            ownerBoard(unitBoardsByOwner, unit.getOwner()).set(x, y);
+            if (zoneOfControl && unit.isAlive()) {
+                exertZone(unit.getOwner(), x, y, 1);
+            }
+            unit.setMap(this);
+            zobristKey ^= unitOnCellKey(x, y, unit);
+        } else {
+            chunk.unitIds[local] = 0;
+        }
+        if (previousUnit != unit) {
+            for (MapListener listener : listeners) {
+                listener.onUnitChanged(x, y, previousUnit, unit);
+            }
+        }
+    }
+
+    /**
+     * Place un bâtiment sur une case (null pour le retirer)
+     */
+    public void setBuildingAt(int x, int y, Building building) {
+        MapChunk chunk = building != null ? chunkAt(x, y) : peekChunk(x, y);
+        if (chunk == null) {
+            return;
+        }
+        if (chunk.buildingIds == null) {
+            if (building == null) {
+                return;
+            }
+            chunk.buildingIds = new int[MapChunk.CELLS];
+        }
+        int local = MapChunk.local(x, y);
+        int previous = chunk.buildingIds[local];
+        Building previousBuilding = buildings.get(previous);
+        if (previous != 0) {
+            buildings.remove(previous);
+            chunk.occupants--;
+            buildingBoard.clear(x, y);
+            ownerBoard(buildingBoardsByOwner, previousBuilding.getOwner()).clear(x, y);
+            zobristKey ^= buildingOnCellKey(x, y, previousBuilding);
+        }
+        if (building != null) {
+            chunk.buildingIds[local] = buildings.add(building);
+            chunk.occupants++;
+            buildingBoard.set(x, y);
+            ownerBoard(buildingBoardsByOwner, building.getOwner()).set(x, y);
+            zobristKey ^= buildingOnCellKey(x, y, building);
+        } else {
+            chunk.buildingIds[local] = 0;
+        }
+        if (previousBuilding != building) {
+            for (MapListener listener : listeners) {
+                listener.onBuildingChanged(x, y, previousBuilding, building);
+            }
+        }
+    }
+
+    private long unitOnCellKey(int x, int y, Unit unit) {
+        Player owner = unit.getOwner();
+        return Zobrist.unitOnCell(indexOf(x, y), unit.getTypeKey(), owner != null ? owner.getOwnerKey() : 0);
+    }
+
+    private long buildingOnCellKey(int x, int y, Building building) {
+        Player owner = building.getOwner();
+        return Zobrist.buildingOnCell(indexOf(x, y), building.getTypeKey(),
+                                      owner != null ? owner.getOwnerKey() : 0);
+    }
+
+    /**
+     * Empreinte de Zobrist de la carte : terrain et occupation des cases
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Appelée par Unit.die : une unité morte sur la carte n'exerce plus de zone
+     * (son cadavre reste posé jusqu'à son retrait)
+     */
+    public void unitDied(Unit unit) {
+        int x = unit.getX();
+        int y = unit.getY();
+        if (!isValidPosition(x, y) || getUnitAt(x, y) != unit) {
+            return;
+        }
+        if (zoneOfControl) {
+            exertZone(unit.getOwner(), x, y, -1);
+        }
+        for (MapListener listener : listeners) {
+            listener.onUnitDied(x, y, unit);
+        }
+    }
+
+    /**
+     * Ajoute (delta = 1) ou retire (delta = -1) la zone d'une unité posée en (x, y)
+     */
+    private void exertZone(Player owner, int x, int y, int delta) {
+        int z = zoneIndex(owner);
+        Bitboard board = zoneBoards[z];
+        for (int d = 0; d < NEIGHBOR_DX.length; d++) {
+            int nx = x + NEIGHBOR_DX[d];
+            int ny = y + NEIGHBOR_DY[d];
+            if (!isValidPosition(nx, ny)) {
+                continue;
+            }
+            MapChunk chunk = delta > 0 ? chunkAt(nx, ny) : peekChunk(nx, ny);
+            if (chunk == null) {
+                continue;       // Bloc gardé tant qu'il a une zone : ne se produit pas
+            }
+            byte[] counts = chunk.zoneCounts(z);
+            int local = MapChunk.local(nx, ny);
+            counts[local] += delta;
+            if (counts[local] == 0) {
+                board.clear(nx, ny);
+                chunk.zoned--;
+            } else if (delta > 0 && counts[local] == 1) {
+                board.set(nx, ny);
+                chunk.zoned++;
+            }
+        }
+    }
+
+    private int zoneIndex(Player owner) {
+        for (int z = 0; z < zoneOwners.length; z++) {
+            if (zoneOwners[z] == owner) {
+                return z;
+            }
+        }
+        int z = zoneOwners.length;
+        zoneOwners = Arrays.copyOf(zoneOwners, z + 1);
+        zoneBoards = Arrays.copyOf(zoneBoards, z + 1);
+        zoneOwners[z] = owner;
+        zoneBoards[z] = new Bitboard(width, height);
+        return z;
+    }
+
+    /**
+     * Oublie toutes les zones puis, si la règle est active, les recalcule depuis
+     * les unités vivantes posées
+     */
+    private void rebuildZones() {
+        zoneOwners = new Player[0];
+        zoneBoards = new Bitboard[0];
+        for (MapChunk chunk : chunks) {
+            if (chunk != null) {
+                chunk.zoneCounts = null;
+                chunk.zoned = 0;
+            }
+        }
+        if (!zoneOfControl) {
+            return;
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            MapChunk chunk = chunks[i];
+            if (chunk == null || chunk.unitIds == null) {
+                continue;
+            }
+            int originX = (i % chunksX) << MapChunk.SHIFT;
+            int originY = (i / chunksX) << MapChunk.SHIFT;
+            for (int local = 0; local < MapChunk.CELLS; local++) {
+                Unit unit = units.get(chunk.unitIds[local]);
+                if (unit != null && unit.isAlive()) {
+                    exertZone(unit.getOwner(), originX + (local & MapChunk.MASK),
+                              originY + (local >> MapChunk.SHIFT), 1);
+                }
+            }
+        }
+    }
+
+    private Bitboard ownerBoard(Map<Player, Bitboard> boards, Player owner) {
+        Bitboard board = boards.get(owner);
+        if (board == null) {
+            board = new Bitboard(width, height);
+            boards.put(owner, board);
+        }
+        return board;
+    }
+
+    // ===== Bitboards (lecture seule pour les appelants) =====
+
+    /**
+     * Cases d'un type de terrain (les blocs non générés sont à 0, voir generateChunksIn)
+     */
+    public Bitboard getTerrainBoard(TileType type) {
+        return terrainBoards[type.ordinal()];
+    }
+
+    /**
+     * Cases de terrain praticable (les blocs non générés sont à 0, voir generateChunksIn)
+     */
+    public Bitboard getWalkableBoard() {
+        return walkableBoard;
+    }
+
+    public Bitboard getUnitBoard() {
+        return unitBoard;
+    }
+
+    public Bitboard getBuildingBoard() {
+        return buildingBoard;
+    }
+
+    /**
+     * Cases occupées par les unités d'un joueur
+     */
+    public Bitboard getUnitBoard(Player owner) {
+        return ownerBoard(unitBoardsByOwner, owner);
+    }
+
+    /**
+     * Cases occupées par les bâtiments d'un joueur
+     */
+    public Bitboard getBuildingBoard(Player owner) {
+        return ownerBoard(buildingBoardsByOwner, owner);
+    }
+
+    /**
+     * Cases voisines (4-voisinage) d'au moins une unité vivante d'un joueur : sa zone
+     * de contrôle (null si la règle est inactive : les zones ne sont pas tenues)
+     */
+    public Bitboard getZoneBoard(Player owner) {
+        return zoneOfControl ? zoneBoards[zoneIndex(owner)] : null;
+    }
+
+    // ===== Zone de contrôle =====
+
+    /**
+     * Active ou désactive la règle de zone de contrôle (les caches de déplacement
+     * déjà calculés doivent être vidés par l'appelant)
+     * L'activation calcule les zones des unités posées, la désactivation les libère.
+     */
+    public void setZoneOfControl(boolean enabled) {
+        if (enabled != zoneOfControl) {
+            this.zoneOfControl = enabled;
+            rebuildZones();
+        }
+    }
+
+    public boolean hasZoneOfControl() {
+        return zoneOfControl;
+    }
+
+    /**
+     * Vrai si la case est voisine d'une unité vivante d'un autre joueur que mover
+     * (toujours faux si la règle est inactive)
+     */
+    public boolean isInEnemyZone(Player mover, int x, int y) {
+        for (int z = 0; z < zoneOwners.length; z++) {
+            if (zoneOwners[z] != mover && zoneBoards[z].get(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vrai si entrer dans la case termine le déplacement de mover (règle active
+     * et case dans la zone d'un autre joueur)
+     */
+    public boolean stopsMovement(Player mover, int x, int y) {
+        return zoneOfControl && isInEnemyZone(mover, x, y);
+    }
+
+    /**
+     * 64 bits de la zone des autres joueurs que mover à partir de (x, y), même
+     * convention que Bitboard.readBits
+     */
+    public long readEnemyZoneBits(Player mover, int x, int y) {
+        long bits = 0L;
+        for (int z = 0; z < zoneOwners.length; z++) {
+            if (zoneOwners[z] != mover) {
+                bits |= zoneBoards[z].readBits(x, y);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Vérifie si une unité peut se déplacer sur une case (terrain praticable et sans unité)
+     */
+    public boolean isAccessible(int x, int y) {
+        chunkAt(x, y);
+        return walkableBoard.get(x, y) && !unitBoard.get(x, y);
+    }
+
+    /**
+     * Abonne un observateur aux changements d'occupation de la carte
+     */
+    public void addListener(MapListener listener) {
+        MapListener[] grown = new MapListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, grown, 0, listeners.length);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Désabonne un observateur
+     */
+    public void removeListener(MapListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                MapListener[] shrunk = new MapListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, shrunk, 0, i);
+                System.arraycopy(listeners, i + 1, shrunk, i, listeners.length - i - 1);
+                listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    public boolean isExplored(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        return chunk != null && getBit(chunk.explored, x, y);
+    }
+
+    public void setExplored(int x, int y, boolean value) {
+        MapChunk chunk = value ? chunkAt(x, y) : peekChunk(x, y);
+        if (chunk != null) {
+            chunk.explored = setBit(chunk.explored, x, y, value);
+        }
+    }
+
+    public boolean isVisible(int x, int y) {
+        MapChunk chunk = peekChunk(x, y);
+        return chunk != null && getBit(chunk.visible, x, y);
+    }
+
+    public void setVisible(int x, int y, boolean value) {
+        MapChunk chunk = value ? chunkAt(x, y) : peekChunk(x, y);
+        if (chunk != null) {
+            chunk.visible = setBit(chunk.visible, x, y, value);
+        }
+    }
+
+    private static boolean getBit(long[] rows, int x, int y) {
+        return rows != null && (rows[y & MapChunk.MASK] & (1L << x)) != 0;
+    }
+
+    private static long[] setBit(long[] rows, int x, int y, boolean value) {
+        if (rows == null) {
+            if (!value) {
+                return null;
+            }
+            rows = new long[MapChunk.SIZE];
+        }
+        if (value) {
+            rows[y & MapChunk.MASK] |= 1L << x;
+        } else {
+            rows[y & MapChunk.MASK] &= ~(1L << x);
+        }
+        return rows;
+    }
+
     /**
      * Vérifie si une position est valide sur la carte
      */
@@ -104,9 +763,10 @@ public class GameMap {
      * Vérifie si deux positions sont adjacentes (incluant diagonales)
      */
     public boolean areAdjacent(int x1, int y1, int x2, int y2) {
-        int dx = Math.abs(x2 - x1);
-        int dy = Math.abs(y2 - y1);
-        return (dx <= 1 && dy <= 1) && !(dx == 0 && dy == 0);
+        // Écarts décalés dans [0, 2] : un seul test de signe, sans Math.abs
+        int dx = x2 - x1 + 1;
+        int dy = y2 - y1 + 1;
+        return (dx | dy | (2 - dx) | (2 - dy)) >= 0 && (dx != 1 || dy != 1);
     }
 
     /**
@@ -114,11 +774,13 @@ public class GameMap {
      */
     public void display() {
         System.out.println("=== Carte de jeu ===");
+        StringBuilder line = new StringBuilder(width * 2);
         for (int y = 0; y < height; y++) {
+            line.setLength(0);
             for (int x = 0; x < width; x++) {
-                System.out.print(tiles[y][x].getType().getSymbol() + " ");
+                line.append(getTileType(x, y).getSymbol()).append(' ');
             }
-            System.out.println();
+            System.out.println(line);
         }
     }
 
@@ -133,7 +795,7 @@ public class GameMap {
         for (int y = centerY - radius; y <= centerY + radius; y++) {
             for (int x = centerX - radius; x <= centerX + radius; x++) {
                 if (isValidPosition(x, y)) {
-                    System.out.print(tiles[y][x] + " ");
+                    System.out.print(getTile(x, y) + " ");
                 } else {
                     System.out.print("[ ] ");
                 }
@@ -143,6 +805,10 @@ public class GameMap {
     }
 
     // Getters
+    public long getSeed() {
+        return seed;
+    }
+
     public int getWidth() {
         return width;
     }
@@ -150,8 +816,4 @@ public class GameMap {
     public int getHeight() {
         return height;
     }
-
-    public Tile[][] getTiles() {
-        return tiles;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package game.map;
+
+import java.util.Arrays;
+
+/**
+ * Bloc carré de 64×64 cases de la carte
+ * Le terrain est généré à la création du bloc ; les tableaux d'occupation, les
+ * compteurs de zone de contrôle et les bitsets d'exploration ne sont alloués
+ * qu'à la première écriture
+ */
+final class MapChunk {
+    static final int SHIFT = 6;
+    static final int SIZE = 1 << SHIFT;
+    static final int MASK = SIZE - 1;
+    static final int CELLS = SIZE * SIZE;
+
+    final byte[] terrain;       // Ordinal du TileType de chaque case
+    int[] unitIds;              // Identifiant d'unité (0 = aucune), null si jamais occupé
+    int[] buildingIds;          // Identifiant de bâtiment (0 = aucun), null si jamais occupé
+    long[] explored;            // Un long par ligne du bloc, bit = colonne locale
+    long[] visible;
+    int occupants;              // Nombre d'unités et de bâtiments posés dans le bloc
+    byte[][] zoneCounts;        // Par zone (joueur) : unités voisines de chaque case, null si aucune
+    int zoned;                  // Cases (par zone) dont le compteur n'est pas nul
+
+    MapChunk() {
+        this.terrain = new byte[CELLS];
+    }
+
+    /**
+     * Index local d'une case (coordonnées globales)
+     */
+    static int local(int x, int y) {
+        return ((y & MASK) << SHIFT) | (x & MASK);
+    }
+
+    /**
+     * Compteurs de zone d'un joueur (indice de zone de GameMap), alloués au premier usage
+     */
+    byte[] zoneCounts(int zone) {
+        if (zoneCounts == null) {
+            zoneCounts = new byte[zone + 1][];
+        } else if (zoneCounts.length <= zone) {
+            zoneCounts = Arrays.copyOf(zoneCounts, zone + 1);
+        }
+        if (zoneCounts[zone] == null) {
+            zoneCounts[zone] = new byte[CELLS];
+        }
+        return zoneCounts[zone];
+    }
+
+    /**
+     * Un bloc peut être libéré s'il ne porte ni unité, ni bâtiment, ni zone de
+     * contrôle, ni état d'exploration : son terrain sera régénéré à l'identique
+     * au prochain accès
+     */
+    boolean isEvictable() {
+        return occupants == 0 && zoned == 0 && isEmpty(explored) && isEmpty(visible);
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        if (bits == null) {
+            return true;
+        }
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
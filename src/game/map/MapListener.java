@@ -0,0 +1,34 @@
+package game.map;
+
+import game.building.Building;
+import game.unit.Unit;
+
+/**
+ * Observateur des changements d'occupation de la carte
+ * Appelé par GameMap après chaque modification effective d'une case
+ * (Tile.setUnit, Tile.removeUnit, Tile.setBuilding, Tile.removeBuilding...)
+ */
+public interface MapListener {
+
+    /**
+     * L'unité d'une case a changé
+     * @param previous Unité présente avant (peut être null)
+     * @param current Unité présente maintenant (peut être null)
+     */
+    default void onUnitChanged(int x, int y, Unit previous, Unit current) {
+    }
+
+    /**
+     * Le bâtiment d'une case a changé
+     * @param previous Bâtiment présent avant (peut être null)
+     * @param current Bâtiment présent maintenant (peut être null)
+     */
+    default void onBuildingChanged(int x, int y, Building previous, Building current) {
+    }
+
+    /**
+     * L'unité posée sur une case vient de mourir (elle reste sur la case)
+     */
+    default void onUnitDied(int x, int y, Unit unit) {
+    }
+}
@@ -0,0 +1,227 @@
+package game.map;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur de terrain à bruit cohérent (bruit simplex 2D, plusieurs octaves)
+ * Produit des lacs, chaînes de montagnes et forêts d'un seul tenant
+ *
+ * Deux champs de bruit indépendants sont évalués pour chaque case :
+ * - l'altitude : les plus basses deviennent de l'Eau, les plus hautes de la Montagne ;
+ * - l'humidité (terres seulement) : Forêt si humide, Désert si sec, Herbe sinon.
+ * Les seuils sont calibrés une fois à la construction sur un échantillon du bruit,
+ * de sorte que la carte garde la répartition cible 50/20/15/10/5 du générateur historique.
+ *
+ * Aucune allocation par case : seules les tables de permutation sont créées,
+ * une fois par graine. Les octaves sont évaluées case par case ; le parallélisme
+ * vient de GameMap.generateAllChunks() qui répartit les blocs sur un pool fork/join.
+ */
+public class NoiseTerrainGenerator implements TerrainGenerator {
+    private static final double F2 = 0.5 * (Math.sqrt(3.0) - 1.0);
+    private static final double G2 = (3.0 - Math.sqrt(3.0)) / 6.0;
+    private static final double[] GRAD_X = {1, -1, 1, -1, 1, -1, 0, 0};
+    private static final double[] GRAD_Y = {1, 1, -1, -1, 0, 0, 1, -1};
+
+    private static final int ELEVATION_OCTAVES = 4;
+    private static final int MOISTURE_OCTAVES = 3;
+    private static final long MOISTURE_SALT = 0x6D6F697374757265L;
+    private static final int CALIBRATION_GRID = 192;
+
+    // Répartition cible (en pourcentage de la carte)
+    private static final double WATER_SHARE = 0.10;
+    private static final double MOUNTAIN_SHARE = 0.15;
+    private static final double FOREST_SHARE = 0.20;
+    private static final double DESERT_SHARE = 0.05;
+
+    private final double frequency;
+    private final double waterLevel;        // Altitude en dessous de laquelle on a de l'Eau
+    private final double mountainLevel;     // Altitude à partir de laquelle on a de la Montagne
+    private final double desertLevel;       // Humidité en dessous de laquelle on a du Désert
+    private final double forestLevel;       // Humidité à partir de laquelle on a de la Forêt
+    private volatile Permutations cached;   // Tables de la dernière graine utilisée
+
+    /**
+     * Constructeur avec une taille de relief par défaut (32 cases)
+     */
+    public NoiseTerrainGenerator() {
+        this(32);
+    }
+
+    /**
+     * Constructeur
+     * @param featureSize Taille approximative (en cases) des lacs, massifs et forêts
+     */
+    public NoiseTerrainGenerator(int featureSize) {
+        this.frequency = 1.0 / featureSize;
+
+        // Calibration des seuils sur une grille d'échantillons
+        Permutations tables = new Permutations(0x5EEDL);
+        double spacing = 0.37;  // En unités de bruit : ~70 reliefs par côté
+        double[] elevations = new double[CALIBRATION_GRID * CALIBRATION_GRID];
+        double[] moistures = new double[elevations.length];
+        for (int y = 0; y < CALIBRATION_GRID; y++) {
+            for (int x = 0; x < CALIBRATION_GRID; x++) {
+                int i = y * CALIBRATION_GRID + x;
+                elevations[i] = fbm(tables.elevation, x * spacing, y * spacing, ELEVATION_OCTAVES);
+                moistures[i] = fbm(tables.moisture, x * spacing, y * spacing, MOISTURE_OCTAVES);
+            }
+        }
+        Arrays.sort(elevations);
+        Arrays.sort(moistures);
+
+        double landShare = 1.0 - WATER_SHARE - MOUNTAIN_SHARE;
+        this.waterLevel = quantile(elevations, WATER_SHARE);
+        this.mountainLevel = quantile(elevations, 1.0 - MOUNTAIN_SHARE);
+        this.desertLevel = quantile(moistures, DESERT_SHARE / landShare);
+        this.forestLevel = quantile(moistures, 1.0 - FOREST_SHARE / landShare);
+        this.cached = tables;
+    }
+
+    @Override
+    public void generate(long seed, int originX, int originY, int width, int height, byte[] out, int stride) {
+        Permutations tables = tablesFor(seed);
+        byte water = (byte) TileType.WATER.ordinal();
+        byte mountain = (byte) TileType.MOUNTAIN.ordinal();
+        byte forest = (byte) TileType.FOREST.ordinal();
+        byte desert = (byte) TileType.DESERT.ordinal();
+        byte grass = (byte) TileType.GRASS.ordinal();
+
+        for (int y = 0; y < height; y++) {
+            double ny = (originY + y) * frequency;
+            int row = y * stride;
+            for (int x = 0; x < width; x++) {
+                double nx = (originX + x) * frequency;
+                double elevation = fbm(tables.elevation, nx, ny, ELEVATION_OCTAVES);
+                byte type;
+                if (elevation < waterLevel) {
+                    type = water;
+                } else if (elevation >= mountainLevel) {
+                    type = mountain;
+                } else {
+                    double moisture = fbm(tables.moisture, nx, ny, MOISTURE_OCTAVES);
+                    if (moisture >= forestLevel) {
+                        type = forest;
+                    } else if (moisture < desertLevel) {
+                        type = desert;
+                    } else {
+                        type = grass;
+                    }
+                }
+                out[row + x] = type;
+            }
+        }
+    }
+
+    /**
+     * Tables de permutation d'une graine (réutilise celles du dernier appel)
+     */
+    private Permutations tablesFor(long seed) {
+        Permutations tables = cached;
+        if (tables.seed != seed) {
+            tables = new Permutations(seed);
+            cached = tables;
+        }
+        return tables;
+    }
+
+    private static double quantile(double[] sorted, double share) {
+        int index = (int) (share * (sorted.length - 1));
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Somme fractale d'octaves de bruit simplex, normalisée dans [-1, 1]
+     */
+    private static double fbm(int[] perm, double x, double y, int octaves) {
+        double sum = 0;
+        double amplitude = 1;
+        double norm = 0;
+        double scale = 1;
+        for (int octave = 0; octave < octaves; octave++) {
+            sum += amplitude * simplex(perm, x * scale, y * scale);
+            norm += amplitude;
+            amplitude *= 0.5;
+            scale *= 2;
+        }
+        return sum / norm;
+    }
+
+    /**
+     * Bruit simplex 2D (S. Gustavson), valeur dans [-1, 1]
+     */
+    private static double simplex(int[] perm, double xin, double yin) {
+        double s = (xin + yin) * F2;
+        int i = fastFloor(xin + s);
+        int j = fastFloor(yin + s);
+        double t = (i + j) * G2;
+        double x0 = xin - (i - t);
+        double y0 = yin - (j - t);
+
+        int i1 = x0 > y0 ? 1 : 0;
+        int j1 = 1 - i1;
+        double x1 = x0 - i1 + G2;
+        double y1 = y0 - j1 + G2;
+        double x2 = x0 - 1.0 + 2.0 * G2;
+        double y2 = y0 - 1.0 + 2.0 * G2;
+
+        int ii = i & 255;
+        int jj = j & 255;
+        double n = 0;
+
+        double t0 = 0.5 - x0 * x0 - y0 * y0;
+        if (t0 > 0) {
+            int g = perm[ii + perm[jj]] & 7;
+            t0 *= t0;
+            n += t0 * t0 * (GRAD_X[g] * x0 + GRAD_Y[g] * y0);
+        }
+        double t1 = 0.5 - x1 * x1 - y1 * y1;
+        if (t1 > 0) {
+            int g = perm[ii + i1 + perm[jj + j1]] & 7;
+            t1 *= t1;
+            n += t1 * t1 * (GRAD_X[g] * x1 + GRAD_Y[g] * y1);
+        }
+        double t2 = 0.5 - x2 * x2 - y2 * y2;
+        if (t2 > 0) {
+            int g = perm[ii + 1 + perm[jj + 1]] & 7;
+            t2 *= t2;
+            n += t2 * t2 * (GRAD_X[g] * x2 + GRAD_Y[g] * y2);
+        }
+        return 70.0 * n;
+    }
+
+    private static int fastFloor(double value) {
+        int truncated = (int) value;
+        return value < truncated ? truncated - 1 : truncated;
+    }
+
+    /**
+     * Tables de permutation (dupliquées sur 512 entrées) d'une graine
+     */
+    private static final class Permutations {
+        final long seed;
+        final int[] elevation;
+        final int[] moisture;
+
+        Permutations(long seed) {
+            this.seed = seed;
+            this.elevation = shuffled(new SplittableRandom(seed));
+            this.moisture = shuffled(new SplittableRandom(seed ^ MOISTURE_SALT));
+        }
+
+        private static int[] shuffled(SplittableRandom random) {
+            int[] perm = new int[512];
+            for (int i = 0; i < 256; i++) {
+                perm[i] = i;
+            }
+            for (int i = 255; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = perm[i];
+                perm[i] = perm[j];
+                perm[j] = swap;
+            }
+            System.arraycopy(perm, 0, perm, 256, 256);
+            return perm;
+        }
+    }
+}
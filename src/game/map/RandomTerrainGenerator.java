@@ -0,0 +1,60 @@
+package game.map;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur de terrain historique : chaque case est tirée indépendamment
+ * 50% Herbe, 20% Forêt, 15% Montagne, 10% Eau, 5% Désert
+ */
+public class RandomTerrainGenerator implements TerrainGenerator {
+
+    @Override
+    public void generate(long seed, int originX, int originY, int width, int height, byte[] out, int stride) {
+        SplittableRandom random = new SplittableRandom(regionSeed(seed, originX, originY));
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                out[y * stride + x] = (byte) generateTileType(random).ordinal();
+            }
+        }
+    }
+
+    /**
+     * Graine du flux d'une zone : mélange (finaliseur de SplitMix64) de la graine
+     * de la carte et de l'origine de la zone, indépendant de l'ordre de génération
+     */
+    private static long regionSeed(long seed, int originX, int originY) {
+        long z = seed + (((long) originY << 32) | (originX & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Détermine le type de terrain d'une case
+     * Utilise des probabilités pour une carte équilibrée
+     */
+    private TileType generateTileType(SplittableRandom random) {
+        int rand = random.nextInt(100);
+        
+        // 50% Herbe (terrain de base)
+        if (rand < 50) {
+            return TileType.GRASS;
+        }
+        // 20% Forêt
+        else if (rand < 70) {
+            return TileType.FOREST;
+        }
+        // 15% Montagne
+        else if (rand < 85) {
+            return TileType.MOUNTAIN;
+        }
+        // 10% Eau
+        else if (rand < 95) {
+            return TileType.WATER;
+        }
+        // 5% Désert
+        else {
+            return TileType.DESERT;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package game.map;
+
+import game.building.Building;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index spatial des unités et bâtiments : grille uniforme de seaux de 8×8 cases par joueur
+ *
+ * L'index s'abonne à la carte : il suit chaque pose et chaque retrait (Tile.setUnit,
+ * Tile.removeUnit, déplacements de CombatSystem) et mémorise la position de
+ * l'événement, indépendamment des coordonnées de l'unité. Les requêtes ne parcourent
+ * que les seaux qui recouvrent la zone demandée et seulement ceux des autres joueurs :
+ * leur coût est de l'ordre du nombre de résultats, pas du nombre total d'unités.
+ */
+public class SpatialIndex implements MapListener {
+    private static final int SHIFT = 3;
+    private static final int SIZE = 1 << SHIFT;
+
+    private final int bucketsX;
+    private final int bucketsY;
+    private final Map<Player, Grid> grids;
+    private final List<Grid> gridList;
+
+    public SpatialIndex(GameMap map) {
+        this.bucketsX = (map.getWidth() + SIZE - 1) >> SHIFT;
+        this.bucketsY = (map.getHeight() + SIZE - 1) >> SHIFT;
+        this.grids = new IdentityHashMap<>();
+        this.gridList = new ArrayList<>();
+        indexExisting(map);
+        map.addListener(this);
+    }
+
+    /**
+     * Indexe les occupants déjà posés en parcourant les bitboards d'occupation
+     */
+    private void indexExisting(GameMap map) {
+        int width = map.getWidth();
+        Bitboard units = map.getUnitBoard();
+        for (int cell = units.nextSetBit(0); cell >= 0; cell = units.nextSetBit(cell + 1)) {
+            Unit unit = map.getUnitAt(cell % width, cell / width);
+            gridOf(unit.getOwner()).units.add(unit, cell % width, cell / width);
+        }
+        Bitboard buildings = map.getBuildingBoard();
+        for (int cell = buildings.nextSetBit(0); cell >= 0; cell = buildings.nextSetBit(cell + 1)) {
+            Building building = map.getBuildingAt(cell % width, cell / width);
+            gridOf(building.getOwner()).buildings.add(building, cell % width, cell / width);
+        }
+    }
+
+    @Override
+    public void onUnitChanged(int x, int y, Unit previous, Unit current) {
+        if (previous != null) {
+            gridOf(previous.getOwner()).units.remove(previous, x, y);
+        }
+        if (current != null) {
+            gridOf(current.getOwner()).units.add(current, x, y);
+        }
+    }
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        if (previous != null) {
+            gridOf(previous.getOwner()).buildings.remove(previous, x, y);
+        }
+        if (current != null) {
+            gridOf(current.getOwner()).buildings.add(current, x, y);
+        }
+    }
+
+    private Grid gridOf(Player owner) {
+        Grid grid = grids.get(owner);
+        if (grid == null) {
+            grid = new Grid(owner);
+            grids.put(owner, grid);
+            gridList.add(grid);
+        }
+        return grid;
+    }
+
+    // ===== Requêtes =====
+
+    /**
+     * Unités vivantes des autres joueurs à une distance de Manhattan d'au plus range de (x, y)
+     */
+    public List<Unit> getEnemyUnitsInRange(Player player, int x, int y, int range) {
+        List<Unit> result = new ArrayList<>();
+        int fromX = Math.max(0, (x - range) >> SHIFT);
+        int toX = Math.min(bucketsX - 1, (x + range) >> SHIFT);
+        int fromY = Math.max(0, (y - range) >> SHIFT);
+        int toY = Math.min(bucketsY - 1, (y + range) >> SHIFT);
+        for (Grid grid : gridList) {
+            if (grid.owner == player || grid.units.count == 0) {
+                continue;
+            }
+            for (int by = fromY; by <= toY; by++) {
+                for (int bx = fromX; bx <= toX; bx++) {
+                    Bucket bucket = grid.units.buckets[by * bucketsX + bx];
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < bucket.size; i++) {
+                        Unit unit = (Unit) bucket.items[i];
+                        if (Math.abs(bucket.xs[i] - x) + Math.abs(bucket.ys[i] - y) <= range
+                                && unit.isAlive()) {
+                            result.add(unit);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bâtiment non détruit d'un autre joueur le plus proche de (x, y) (distance de Manhattan)
+     * Les seaux sont parcourus par anneaux concentriques jusqu'à ce qu'aucun anneau
+     * plus lointain ne puisse contenir mieux
+     * @return Le bâtiment, ou null s'il n'y en a aucun
+     */
+    public Building findNearestEnemyBuilding(Player player, int x, int y) {
+        Building best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        int centerX = Math.max(0, Math.min(bucketsX - 1, x >> SHIFT));
+        int centerY = Math.max(0, Math.min(bucketsY - 1, y >> SHIFT));
+        int maxRing = Math.max(bucketsX, bucketsY);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Toute case d'un anneau de rang r est à au moins (r - 1) × SIZE + 1 cases
+            if (ring > 0 && (ring - 1) * SIZE + 1 > bestDistance) {
+                break;
+            }
+            for (int by = centerY - ring; by <= centerY + ring; by++) {
+                if (by < 0 || by >= bucketsY) {
+                    continue;
+                }
+                boolean edgeRow = by == centerY - ring || by == centerY + ring;
+                int stepX = edgeRow ? 1 : 2 * ring;
+                for (int bx = centerX - ring; bx <= centerX + ring; bx += Math.max(1, stepX)) {
+                    if (bx < 0 || bx >= bucketsX) {
+                        continue;
+                    }
+                    for (Grid grid : gridList) {
+                        if (grid.owner == player) {
+                            continue;
+                        }
+                        Bucket bucket = grid.buildings.buckets[by * bucketsX + bx];
+                        if (bucket == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < bucket.size; i++) {
+                            Building building = (Building) bucket.items[i];
+                            int distance = Math.abs(bucket.xs[i] - x) + Math.abs(bucket.ys[i] - y);
+                            if (distance < bestDistance && !building.isDestroyed()) {
+                                best = building;
+                                bestDistance = distance;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Nombre d'unités indexées pour un joueur
+     */
+    public int getUnitCount(Player player) {
+        Grid grid = grids.get(player);
+        return grid == null ? 0 : grid.units.count;
+    }
+
+    /**
+     * Seaux d'un joueur : un plan pour les unités, un pour les bâtiments
+     */
+    private final class Grid {
+        final Player owner;
+        final Layer units;
+        final Layer buildings;
+
+        Grid(Player owner) {
+            this.owner = owner;
+            this.units = new Layer();
+            this.buildings = new Layer();
+        }
+    }
+
+    private final class Layer {
+        final Bucket[] buckets;
+        int count;
+
+        Layer() {
+            this.buckets = new Bucket[bucketsX * bucketsY];
+        }
+
+        void add(Object item, int x, int y) {
+            int index = (y >> SHIFT) * bucketsX + (x >> SHIFT);
+            Bucket bucket = buckets[index];
+            if (bucket == null) {
+                bucket = new Bucket();
+                buckets[index] = bucket;
+            }
+            bucket.add(item, x, y);
+            count++;
+        }
+
+        void remove(Object item, int x, int y) {
+            Bucket bucket = buckets[(y >> SHIFT) * bucketsX + (x >> SHIFT)];
+            if (bucket != null && bucket.remove(item, x, y)) {
+                count--;
+            }
+        }
+    }
+
+    /**
+     * Contenu d'un seau : occupants et positions en tableaux parallèles (retrait par échange)
+     */
+    private static final class Bucket {
+        Object[] items = new Object[4];
+        int[] xs = new int[4];
+        int[] ys = new int[4];
+        int size;
+
+        void add(Object item, int x, int y) {
+            if (size == items.length) {
+                int capacity = size * 2;
+                items = Arrays.copyOf(items, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            items[size] = item;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        boolean remove(Object item, int x, int y) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == item && xs[i] == x && ys[i] == y) {
+                    size--;
+                    items[i] = items[size];
+                    xs[i] = xs[size];
+                    ys[i] = ys[size];
+                    items[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package game.map;
+
+/**
+ * Stratégie de génération du terrain de la carte
+ * GameMap l'appelle une fois par bloc, éventuellement depuis plusieurs threads :
+ * une implémentation doit être thread-safe et ne dépendre que de ses paramètres
+ */
+public interface TerrainGenerator {
+
+    /**
+     * Remplit le terrain d'une zone rectangulaire de la carte
+     * @param seed Graine de la carte
+     * @param originX Position X (globale) du coin supérieur gauche de la zone
+     * @param originY Position Y (globale) du coin supérieur gauche de la zone
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     * @param out Ordinaux de TileType à remplir, la case (x, y) de la zone est en y * stride + x
+     * @param stride Pas d'une ligne dans out
+     */
+    void generate(long seed, int originX, int originY, int width, int height, byte[] out, int stride);
+}
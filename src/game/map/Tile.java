@@ -6,28 +6,26 @@ import game.building.Building;
 /**
  * Représente une case individuelle de la carte de jeu
  * Peut contenir un type de terrain, une unité, et un bâtiment
+ *
+ * Une Tile est une vue légère sur le stockage de GameMap : elle ne contient que
+ * ses coordonnées et délègue toutes les lectures/écritures à la carte.
+ * Deux vues sur la même case sont égales au sens de equals().
  */
 public class Tile {
+    private final GameMap map;
     private final int x;
     private final int y;
-    private final TileType type;
-    private Unit unit;              // Unité présente sur cette case (peut être null)
-    private Building building;      // Bâtiment construit sur cette case (peut être null)
-    private boolean explored;       // Si le joueur a exploré cette case (brouillard de guerre)
 
     /**
-     * Constructeur d'une case
+     * Constructeur d'une vue sur une case
+     * @param map Carte propriétaire des données
      * @param x Position X sur la carte
      * @param y Position Y sur la carte
-     * @param type Type de terrain
      */
-    public Tile(int x, int y, TileType type) {
+    Tile(GameMap map, int x, int y) {
+        this.map = map;
         this.x = x;
         this.y = y;
-        this.type = type;
-        this.unit = null;
-        this.building = null;
-        this.explored = false;
     }
 
     // Getters
@@ -40,67 +38,75 @@ public class Tile {
     }
 
     public TileType getType() {
-        return type;
+        return map.getTileType(x, y);
     }
 
     public Unit getUnit() {
-        return unit;
+        return map.getUnitAt(x, y);
     }
 
     public Building getBuilding() {
-        return building;
+        return map.getBuildingAt(x, y);
     }
 
     public boolean isExplored() {
-        return explored;
+        return map.isExplored(x, y);
+    }
+
+    public boolean isVisible() {
+        return map.isVisible(x, y);
     }
 
     // Setters
     public void setUnit(Unit unit) {
-        this.unit = unit;
+        map.setUnitAt(x, y, unit);
     }
 
     public void setBuilding(Building building) {
-        this.building = building;
+        map.setBuildingAt(x, y, building);
     }
 
     public void setExplored(boolean explored) {
-        this.explored = explored;
+        map.setExplored(x, y, explored);
+    }
+
+    public void setVisible(boolean visible) {
+        map.setVisible(x, y, visible);
     }
 
     /**
      * Vérifie si la case est occupée par une unité
      */
     public boolean hasUnit() {
-        return unit != null;
+        return map.hasUnitAt(x, y);
     }
 
     /**
      * Vérifie si la case a un bâtiment
      */
     public boolean hasBuilding() {
-        return building != null;
+        return map.hasBuildingAt(x, y);
     }
 
     /**
      * Vérifie si une unité peut se déplacer sur cette case
      */
     public boolean isAccessible() {
-        return type.isWalkable() && !hasUnit();
+        return map.isAccessible(x, y);
     }
 
     /**
      * Retire l'unité de cette case
      */
     public void removeUnit() {
-        this.unit = null;
+        map.setUnitAt(x, y, null);
     }
 
     /**
      * Retire le bâtiment de cette case
      */
     public void removeBuilding() {
-        this.building = null;
+        map.setBuildingAt(x, y, null);
     }
 
     @Override
@@ -110,7 +116,24 @@ public class Tile {
         } else if (hasBuilding()) {
             return "[B]"; // Bâtiment présent
         } else {
-            return "[" + type.getSymbol() + "]";
+            return "[" + getType().getSymbol() + "]";
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Tile)) {
+            return false;
         }
+        Tile tile = (Tile) other;
+        return map == tile.map && x == tile.x && y == tile.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
     }
 }
\ No newline at end of file
@@ -5,16 +5,17 @@ package game.map;
  * Chaque type a des propriétés qui influencent le gameplay
  */
 public enum TileType {
-    GRASS("Herbe", true, 1.0, 0, '▓'),
-    FOREST("Forêt", true, 0.75, 1, '♣'),
-    MOUNTAIN("Montagne", true, 0.5, 2, '▲'),
-    WATER("Eau", false, 0.0, 0, '≈'),
-    DESERT("Désert", true, 1.2, -1, '░');
+    GRASS("Herbe", true, 1.0, 0, false, '▓'),
+    FOREST("Forêt", true, 0.75, 1, true, '♣'),
+    MOUNTAIN("Montagne", true, 0.5, 2, true, '▲'),
+    WATER("Eau", false, 0.0, 0, false, '≈'),
+    DESERT("Désert", true, 1.2, -1, false, '░');
 
     private final String name;
     private final boolean walkable;
     private final double movementCost;  // Coût de déplacement (1.0 = normal)
     private final int defenseBonus;     // Bonus de défense pour les unités
+    private final boolean blocksSight;  // Arrête la ligne de vue (la case elle-même reste visible)
     private final char symbol;          // Symbole pour affichage console
 
     /**
@@ -23,13 +24,15 @@ public enum TileType {
      * @param walkable Si les unités peuvent marcher dessus
      * @param movementCost Coût de déplacement (1.0 = normal, >1 = plus lent)
      * @param defenseBonus Bonus de défense accordé aux unités
+     * @param blocksSight Si le terrain cache ce qui se trouve derrière lui
      * @param symbol Caractère pour l'affichage
      */
-    TileType(String name, boolean walkable, double movementCost, int defenseBonus, char symbol) {
+    TileType(String name, boolean walkable, double movementCost, int defenseBonus, boolean blocksSight, char symbol) {
         this.name = name;
         this.walkable = walkable;
         this.movementCost = movementCost;
         this.defenseBonus = defenseBonus;
+        this.blocksSight = blocksSight;
         this.symbol = symbol;
     }
 
@@ -49,6 +52,10 @@ public enum TileType {
         return defenseBonus;
     }
 
+    public boolean blocksSight() {
+        return blocksSight;
+    }
+
     public char getSymbol() {
         return symbol;
     }
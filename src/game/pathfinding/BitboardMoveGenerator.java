@@ -0,0 +1,388 @@
+package game.pathfinding;
+
+import game.map.Bitboard;
+import game.map.GameMap;
+import game.map.TileType;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.Arrays;
+
+/**
+ * Génération de coups par bitboards : portée de déplacement et cibles d'attaque
+ *
+ * Le calcul se fait dans une fenêtre carrée centrée sur l'unité, de demi-côté son
+ * rayon d'action maximal, lue dans les bitboards de la carte : chaque ligne de la
+ * fenêtre tient dans un seul long (rayon jusqu'à 31 cases, au-delà la recherche
+ * retombe sur GridPathfinder).
+ *
+ * Le déplacement pondéré est un Dijkstra par paliers (algorithme de Dial) sur des
+ * ensembles de cases : tous les coûts de terrain sont multiples de leur PGCD (5),
+ * le palier k contient les cases atteintes pour un coût k × PGCD, et chaque palier
+ * se propage par une dilatation (décalages et masque) par type de terrain. Les règles
+ * sont celles de GridPathfinder.computeReachable, dont le résultat est identique
+ * (zone de contrôle comprise : ses cases sont atteintes mais ne se propagent pas).
+ *
+ * Une instance réutilise ses tableaux de travail : une par thread.
+ */
+public class BitboardMoveGenerator {
+    /** Plus grand demi-côté de fenêtre dont une ligne tient dans un long */
+    public static final int MAX_RADIUS = 31;
+
+    private static final TileType[] WALKABLE_TYPES;
+    private static final int COST_UNIT;             // PGCD des coûts de terrain
+    private static final int[] STEP_LEVELS;         // Coût de chaque type en paliers
+
+    static {
+        int count = 0;
+        int gcd = 0;
+        for (TileType type : TileType.values()) {
+            if (type.isWalkable()) {
+                count++;
+                gcd = gcd(gcd, GridPathfinder.stepCost(type));
+            }
+        }
+        WALKABLE_TYPES = new TileType[count];
+        STEP_LEVELS = new int[count];
+        int i = 0;
+        for (TileType type : TileType.values()) {
+            if (type.isWalkable()) {
+                WALKABLE_TYPES[i] = type;
+                STEP_LEVELS[i] = GridPathfinder.stepCost(type) / gcd;
+                i++;
+            }
+        }
+        COST_UNIT = gcd;
+    }
+
+    private final GameMap map;
+    private final int width;
+    private final GridPathfinder fallback;
+
+    // Lignes de la fenêtre courante (une ligne = un long, bit i = colonne originX + i)
+    private int size;
+    private long rowMask;
+    private long[] passable;        // WALKABLE_TYPES.length × size
+    private long[] settled;
+    private long[] frontier;
+    private long[] grown;
+    private long[] stops;           // Cases de zone de contrôle ennemie (fin de déplacement)
+    private long[] levels;          // (maxLevel + 1) × size
+    private boolean[] levelUsed;
+
+    private int[] nodes;
+
+    public BitboardMoveGenerator(GameMap map) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.fallback = new GridPathfinder(map);
+        this.passable = new long[0];
+        this.settled = new long[0];
+        this.frontier = new long[0];
+        this.grown = new long[0];
+        this.stops = new long[0];
+        this.levels = new long[0];
+        this.levelUsed = new boolean[0];
+        this.nodes = new int[64];
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Cases où l'unité peut terminer son déplacement ce tour (même résultat que
+     * GridPathfinder.computeReachable)
+     */
+    public ReachableSet movementRange(Unit unit) {
+        return movementRange(unit.getOwner(), unit.getX(), unit.getY(), GridPathfinder.movementBudget(unit));
+    }
+
+    /**
+     * Cases où un joueur peut s'arrêter depuis une case avec un budget donné
+     */
+    public ReachableSet movementRange(Player mover, int startX, int startY, int maxCost) {
+        int radius = maxCost / GridPathfinder.minStepCost();
+        if (radius > MAX_RADIUS) {
+            fallback.computeReachable(mover, startX, startY, maxCost);
+            return fallback.snapshotReachable();
+        }
+        int originX = startX - radius;
+        int originY = startY - radius;
+        computeSettled(mover, startX, startY, maxCost, radius);
+
+        // Arrêt possible : case atteinte, hors départ et sans unité
+        Bitboard units = map.getUnitBoard();
+        for (int r = 0; r < size; r++) {
+            settled[r] &= ~units.readBits(originX, originY + r);
+        }
+        settled[radius] &= ~(1L << radius);
+        return toReachableSet(originX, originY);
+    }
+
+    /**
+     * Cases des unités ennemies qu'une unité peut attaquer depuis sa position
+     */
+    public ReachableSet attackTargets(Unit unit) {
+        int radius = Math.min(unit.getRange(), MAX_RADIUS);
+        int originX = unit.getX() - radius;
+        int originY = unit.getY() - radius;
+        prepareWindow(radius, 0);
+        Arrays.fill(settled, 0, size, 0L);
+        settled[radius] = 1L << radius;
+        expand(radius);
+        keepEnemyUnits(unit.getOwner(), originX, originY);
+        return toReachableSet(originX, originY);
+    }
+
+    /**
+     * Cases des unités ennemies qu'une unité peut attaquer ce tour après un déplacement
+     * (portée d'attaque dilatée depuis chaque case d'arrivée possible)
+     */
+    public ReachableSet threatenedTargets(Unit unit) {
+        if (threatRadius(unit) > MAX_RADIUS) {
+            return threatenedByPathfinder(unit, true);
+        }
+        int radius = computeThreatened(unit);
+        int originX = unit.getX() - radius;
+        int originY = unit.getY() - radius;
+        keepEnemyUnits(unit.getOwner(), originX, originY);
+        return toReachableSet(originX, originY);
+    }
+
+    /**
+     * Toutes les cases qu'une unité peut attaquer ce tour après un déplacement,
+     * occupées ou non (zone menacée, voir ThreatMap)
+     */
+    public ReachableSet threatenedArea(Unit unit) {
+        if (threatRadius(unit) > MAX_RADIUS) {
+            return threatenedByPathfinder(unit, false);
+        }
+        int radius = computeThreatened(unit);
+        return toReachableSet(unit.getX() - radius, unit.getY() - radius);
+    }
+
+    private static int threatRadius(Unit unit) {
+        return GridPathfinder.movementBudget(unit) / GridPathfinder.minStepCost() + unit.getRange();
+    }
+
+    /**
+     * settled reçoit les cases attaquables après déplacement (fenêtre de demi-côté
+     * threatRadius, au plus MAX_RADIUS)
+     * @return Demi-côté de la fenêtre, centrée sur l'unité
+     */
+    private int computeThreatened(Unit unit) {
+        int budget = GridPathfinder.movementBudget(unit);
+        int range = unit.getRange();
+        int radius = threatRadius(unit);
+        int originX = unit.getX() - radius;
+        int originY = unit.getY() - radius;
+        computeSettled(unit.getOwner(), unit.getX(), unit.getY(), budget, radius);
+
+        Bitboard units = map.getUnitBoard();
+        for (int r = 0; r < size; r++) {
+            settled[r] &= ~units.readBits(originX, originY + r);
+        }
+        settled[radius] |= 1L << radius;    // Attaquer sans bouger reste possible
+        expand(range);
+        return radius;
+    }
+
+    /**
+     * Zone menacée hors fenêtre : cases d'arrivée de GridPathfinder (et la case
+     * actuelle), chacune étendue de la portée d'attaque (distance de Manhattan)
+     * @param enemiesOnly Ne garder que les cases d'unités ennemies
+     */
+    private ReachableSet threatenedByPathfinder(Unit unit, boolean enemiesOnly) {
+        int stops = fallback.computeReachable(unit);
+        int range = unit.getRange();
+        Bitboard units = map.getUnitBoard();
+        Bitboard ownUnits = map.getUnitBoard(unit.getOwner());
+        int count = 0;
+        for (int i = 0; i <= stops; i++) {
+            int cx = i < stops ? fallback.getReachableX(i) : unit.getX();
+            int cy = i < stops ? fallback.getReachableY(i) : unit.getY();
+            for (int dy = -range; dy <= range; dy++) {
+                int span = range - Math.abs(dy);
+                for (int dx = -span; dx <= span; dx++) {
+                    int x = cx + dx;
+                    int y = cy + dy;
+                    if (!map.isValidPosition(x, y)
+                            || (enemiesOnly && (!units.get(x, y) || ownUnits.get(x, y)))) {
+                        continue;
+                    }
+                    if (count == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, count * 2);
+                    }
+                    nodes[count++] = y * width + x;
+                }
+            }
+        }
+        // Les portées des cases voisines se recouvrent : doublons retirés
+        Arrays.sort(nodes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || nodes[i] != nodes[unique - 1]) {
+                nodes[unique++] = nodes[i];
+            }
+        }
+        return new ReachableSet(width, nodes, unique);
+    }
+
+    /**
+     * Dijkstra par paliers : settled reçoit toutes les cases atteintes (départ compris)
+     * La fenêtre a pour centre la case de départ et pour demi-côté radius
+     */
+    private void computeSettled(Player mover, int startX, int startY, int maxCost, int radius) {
+        int originX = startX - radius;
+        int originY = startY - radius;
+        int maxLevel = maxCost / COST_UNIT;
+        prepareWindow(radius, maxLevel);
+        map.generateChunksIn(originX, originY, originX + size - 1, originY + size - 1);
+
+        // Cases praticables par type : terrain moins unités et bâtiments des autres joueurs
+        Bitboard units = map.getUnitBoard();
+        Bitboard ownUnits = map.getUnitBoard(mover);
+        Bitboard buildings = map.getBuildingBoard();
+        Bitboard ownBuildings = map.getBuildingBoard(mover);
+        boolean zoneOfControl = map.hasZoneOfControl();
+        for (int r = 0; r < size; r++) {
+            int y = originY + r;
+            stops[r] = zoneOfControl ? map.readEnemyZoneBits(mover, originX, y) & rowMask : 0L;
+            long blocked = (units.readBits(originX, y) & ~ownUnits.readBits(originX, y))
+                    | (buildings.readBits(originX, y) & ~ownBuildings.readBits(originX, y));
+            for (int t = 0; t < WALKABLE_TYPES.length; t++) {
+                passable[t * size + r] = map.getTerrainBoard(WALKABLE_TYPES[t]).readBits(originX, y)
+                        & ~blocked & rowMask;
+            }
+        }
+
+        Arrays.fill(settled, 0, size, 0L);
+        Arrays.fill(levels, 0, (maxLevel + 1) * size, 0L);
+        Arrays.fill(levelUsed, 0, maxLevel + 1, false);
+        levels[radius] = 1L << radius;
+        levelUsed[0] = true;
+        stops[radius] &= ~(1L << radius);   // La case de départ n'arrête pas le déplacement
+
+        for (int k = 0; k <= maxLevel; k++) {
+            if (!levelUsed[k]) {
+                continue;
+            }
+            // Une case au coût k × PGCD est à au plus d lignes du départ
+            int d = Math.min(radius, k * COST_UNIT / GridPathfinder.minStepCost());
+            int fromRow = radius - d;
+            int toRow = radius + d;
+            int base = k * size;
+            long any = 0L;
+            for (int r = fromRow; r <= toRow; r++) {
+                long f = levels[base + r] & ~settled[r];
+                settled[r] |= f;
+                f &= ~stops[r];             // Les cases de zone de contrôle ne se propagent pas
+                frontier[r] = f;
+                any |= f;
+            }
+            if (any == 0L) {
+                continue;
+            }
+            int growFrom = Math.max(0, fromRow - 1);
+            int growTo = Math.min(size - 1, toRow + 1);
+            for (int r = growFrom; r <= growTo; r++) {
+                long f = r >= fromRow && r <= toRow ? frontier[r] : 0L;
+                long g = f | (f << 1) | (f >>> 1);
+                if (r - 1 >= fromRow) {
+                    g |= frontier[r - 1];
+                }
+                if (r + 1 <= toRow) {
+                    g |= frontier[r + 1];
+                }
+                grown[r] = g & ~settled[r];
+            }
+            for (int t = 0; t < WALKABLE_TYPES.length; t++) {
+                int target = k + STEP_LEVELS[t];
+                if (target > maxLevel) {
+                    continue;
+                }
+                int targetBase = target * size;
+                int passBase = t * size;
+                long added = 0L;
+                for (int r = growFrom; r <= growTo; r++) {
+                    long bits = grown[r] & passable[passBase + r];
+                    levels[targetBase + r] |= bits;
+                    added |= bits;
+                }
+                if (added != 0L) {
+                    levelUsed[target] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Dilatation en losange de settled (distance de Manhattan, sans obstacle)
+     */
+    private void expand(int steps) {
+        for (int i = 0; i < steps; i++) {
+            long previous = 0L;
+            for (int r = 0; r < size; r++) {
+                long current = settled[r];
+                long next = r < size - 1 ? settled[r + 1] : 0L;
+                settled[r] = (current | (current << 1) | (current >>> 1) | previous | next) & rowMask;
+                previous = current;
+            }
+        }
+    }
+
+    private void keepEnemyUnits(Player owner, int originX, int originY) {
+        Bitboard units = map.getUnitBoard();
+        Bitboard ownUnits = map.getUnitBoard(owner);
+        for (int r = 0; r < size; r++) {
+            int y = originY + r;
+            settled[r] &= units.readBits(originX, y) & ~ownUnits.readBits(originX, y);
+        }
+    }
+
+    /**
+     * Dimensionne les tableaux de travail pour une fenêtre de demi-côté radius
+     */
+    private void prepareWindow(int radius, int maxLevel) {
+        size = 2 * radius + 1;
+        rowMask = size == 64 ? -1L : (1L << size) - 1;
+        if (settled.length < size) {
+            passable = new long[WALKABLE_TYPES.length * size];
+            settled = new long[size];
+            frontier = new long[size];
+            grown = new long[size];
+            stops = new long[size];
+        }
+        if (levels.length < (maxLevel + 1) * size) {
+            levels = new long[(maxLevel + 1) * size];
+        }
+        if (levelUsed.length < maxLevel + 1) {
+            levelUsed = new boolean[maxLevel + 1];
+        }
+    }
+
+    /**
+     * Convertit les lignes de settled en ensemble de cases de la carte
+     * (parcours ligne par ligne : les index sont déjà triés)
+     */
+    private ReachableSet toReachableSet(int originX, int originY) {
+        int count = 0;
+        for (int r = 0; r < size; r++) {
+            int y = originY + r;
+            long bits = settled[r];
+            while (bits != 0L) {
+                int x = originX + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!map.isValidPosition(x, y)) {
+                    continue;
+                }
+                if (count == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, count * 2);
+                }
+                nodes[count++] = y * width + x;
+            }
+        }
+        return new ReachableSet(width, nodes, count);
+    }
+}
@@ -0,0 +1,264 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.GameMap;
+import game.player.Player;
+
+import java.util.Arrays;
+
+/**
+ * Champ de distances vers un ensemble de cibles (les bâtiments d'un type appartenant à un joueur)
+ *
+ * Pour chaque case, le champ donne le coût du trajet jusqu'à la cible la plus proche
+ * et la direction du prochain pas, lisibles en O(1) par toutes les unités.
+ * Seuls le terrain et les bâtiments sont pris en compte (les unités bougent à chaque tour).
+ * Les distances suivent les règles de GridPathfinder : entrer dans une case coûte
+ * son terrain, la cible elle-même comprise.
+ *
+ * Le champ est calculé une fois par un Dijkstra multi-sources, puis réparé localement
+ * par FlowFieldService quand un bâtiment apparaît ou disparaît.
+ */
+public final class FlowField {
+    private static final int INF = Integer.MAX_VALUE;
+    private static final byte NONE = -1;
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    private final GameMap map;
+    private final Player targetOwner;
+    private final Class<? extends Building> targetType;
+    private final int width;
+    private final int height;
+    private final int[] distance;       // Coût jusqu'à la cible la plus proche (INF si inaccessible)
+    private final byte[] next;          // Direction du prochain pas (index dans DX/DY), NONE sinon
+    private final NodeHeap open;
+
+    FlowField(GameMap map, Player targetOwner, Class<? extends Building> targetType) {
+        this.map = map;
+        this.targetOwner = targetOwner;
+        this.targetType = targetType;
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+        this.distance = new int[width * height];
+        this.next = new byte[width * height];
+        this.open = new NodeHeap(256);
+        recompute();
+    }
+
+    /**
+     * Vérifie si un bâtiment fait partie des cibles de ce champ
+     */
+    boolean isTarget(Building building) {
+        return building != null && building.getOwner() == targetOwner
+                && targetType.isInstance(building) && !building.isDestroyed();
+    }
+
+    /**
+     * Vérifie si une case est actuellement une source du champ
+     */
+    boolean isSource(int x, int y) {
+        return distance[y * width + x] == 0;
+    }
+
+    /**
+     * Recalcul complet : Dijkstra depuis toutes les cibles présentes sur la carte
+     */
+    void recompute() {
+        Arrays.fill(distance, INF);
+        Arrays.fill(next, NONE);
+        open.clear();
+        for (Building building : targetOwner.getBuildings()) {
+            int x = building.getX();
+            int y = building.getY();
+            if (map.isValidPosition(x, y) && map.getBuildingAt(x, y) == building && isTarget(building)) {
+                distance[y * width + x] = 0;
+                open.push(y * width + x, 0);
+            }
+        }
+        propagate();
+    }
+
+    // ===== Réparations incrémentales =====
+
+    /**
+     * Une nouvelle cible apparaît : les distances ne peuvent que diminuer
+     */
+    void addSource(int x, int y) {
+        int node = y * width + x;
+        distance[node] = 0;
+        next[node] = NONE;
+        open.push(node, 0);
+        propagate();
+    }
+
+    /**
+     * Une case devient infranchissable (nouveau bâtiment) ou une cible disparaît :
+     * les cases dont le chemin y passait sont recalculées depuis leur bordure
+     */
+    void invalidate(int x, int y) {
+        orphanSubtree(y * width + x);
+        propagate();
+    }
+
+    /**
+     * Une case redevient franchissable : elle prend la meilleure valeur de ses voisines,
+     * puis les distances ne peuvent que diminuer autour d'elle
+     */
+    void unblock(int x, int y) {
+        int node = y * width + x;
+        distance[node] = INF;
+        next[node] = NONE;
+        pullFromNeighbors(node);
+        propagate();
+    }
+
+    /**
+     * Invalide une case et toutes celles dont le prochain pas mène (de proche en proche) à elle,
+     * puis met en file leurs meilleures valeurs depuis les cases restées valides
+     */
+    private void orphanSubtree(int root) {
+        int[] stack = new int[64];
+        int[] orphans = new int[64];
+        int stackSize = 0;
+        int orphanCount = 0;
+        stack[stackSize++] = root;
+        distance[root] = INF;
+        next[root] = NONE;
+
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            if (orphanCount == orphans.length) {
+                orphans = Arrays.copyOf(orphans, orphanCount * 2);
+            }
+            orphans[orphanCount++] = node;
+            int x = node % width;
+            int y = node / width;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                // Le voisin pointe vers node si sa direction est l'opposée de d
+                if (next[neighbor] == (d ^ 1) && distance[neighbor] != INF) {
+                    distance[neighbor] = INF;
+                    next[neighbor] = NONE;
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize++] = neighbor;
+                }
+            }
+        }
+
+        for (int i = 0; i < orphanCount; i++) {
+            pullFromNeighbors(orphans[i]);
+        }
+    }
+
+    /**
+     * Calcule la meilleure valeur d'une case depuis ses voisines et la met en file
+     */
+    private void pullFromNeighbors(int node) {
+        int x = node % width;
+        int y = node / width;
+        if (!isPassable(x, y)) {
+            return;
+        }
+        for (int d = 0; d < 4; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                continue;
+            }
+            int neighbor = ny * width + nx;
+            int step = GridPathfinder.stepCost(map.getTileType(nx, ny));
+            if (distance[neighbor] == INF || step < 0) {
+                continue;
+            }
+            int cost = distance[neighbor] + step;
+            if (cost < distance[node]) {
+                distance[node] = cost;
+                next[node] = (byte) d;
+            }
+        }
+        if (distance[node] != INF) {
+            open.push(node, distance[node]);
+        }
+    }
+
+    /**
+     * Dijkstra inversé depuis les cases en file : une case franchissable prend
+     * la distance de la case vers laquelle elle avance, plus le coût d'y entrer
+     */
+    private void propagate() {
+        while (!open.isEmpty()) {
+            int priority = open.peekPriority();
+            int node = open.pop();
+            if (priority != distance[node]) {
+                continue;   // Entrée périmée
+            }
+            int x = node % width;
+            int y = node / width;
+            int step = GridPathfinder.stepCost(map.getTileType(x, y));
+            if (step < 0) {
+                continue;   // Cible posée sur un terrain infranchissable
+            }
+            int cost = priority + step;
+            for (int d = 0; d < 4; d++) {
+                int px = x - DX[d];
+                int py = y - DY[d];
+                if (px < 0 || py < 0 || px >= width || py >= height) {
+                    continue;
+                }
+                int previous = py * width + px;
+                if (cost < distance[previous] && isPassable(px, py)) {
+                    distance[previous] = cost;
+                    next[previous] = (byte) d;
+                    open.push(previous, cost);
+                }
+            }
+        }
+    }
+
+    private boolean isPassable(int x, int y) {
+        return map.getTileType(x, y).isWalkable() && !map.hasBuildingAt(x, y);
+    }
+
+    // ===== Lecture =====
+
+    /**
+     * Coût du trajet jusqu'à la cible la plus proche, GridPathfinder.NO_PATH si inaccessible
+     */
+    public int getDistance(int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return GridPathfinder.NO_PATH;
+        }
+        int value = distance[y * width + x];
+        return value == INF ? GridPathfinder.NO_PATH : value;
+    }
+
+    /**
+     * Vérifie si une case a un prochain pas vers la cible (faux pour les cibles elles-mêmes)
+     */
+    public boolean hasNextStep(int x, int y) {
+        return map.isValidPosition(x, y) && next[y * width + x] != NONE;
+    }
+
+    public int getNextX(int x, int y) {
+        return x + DX[next[y * width + x]];
+    }
+
+    public int getNextY(int x, int y) {
+        return y + DY[next[y * width + x]];
+    }
+
+    public Player getTargetOwner() {
+        return targetOwner;
+    }
+
+    public Class<? extends Building> getTargetType() {
+        return targetType;
+    }
+}
@@ -0,0 +1,110 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.GameMap;
+import game.map.MapListener;
+import game.map.Tile;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Champs de distances partagés vers les cibles stratégiques
+ * (Centres de Commandement, Camps d'Entraînement...)
+ *
+ * Un champ est créé à la première demande pour un couple (propriétaire, type de bâtiment),
+ * puis toutes les unités qui visent ces cibles lisent leur prochain pas en O(1).
+ * Le service s'abonne à la carte et répare les champs existants quand un bâtiment
+ * apparaît ou disparaît, sans tout recalculer.
+ */
+public class FlowFieldService implements MapListener {
+    private final GameMap map;
+    private final List<FlowField> fields;
+
+    public FlowFieldService(GameMap map) {
+        this.map = map;
+        this.fields = new ArrayList<>();
+        map.addListener(this);
+    }
+
+    /**
+     * Champ vers tous les bâtiments d'un type appartenant à un joueur
+     */
+    public FlowField getField(Player targetOwner, Class<? extends Building> targetType) {
+        for (FlowField field : fields) {
+            if (field.getTargetOwner() == targetOwner && field.getTargetType() == targetType) {
+                return field;
+            }
+        }
+        FlowField field = new FlowField(map, targetOwner, targetType);
+        fields.add(field);
+        return field;
+    }
+
+    /**
+     * Recalcule entièrement tous les champs (ex : cible détruite sans quitter la carte)
+     */
+    public void recomputeAll() {
+        for (FlowField field : fields) {
+            field.recompute();
+        }
+    }
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        for (FlowField field : fields) {
+            if (previous != null) {
+                if (field.isSource(x, y)) {
+                    field.invalidate(x, y);
+                } else if (current == null) {
+                    field.unblock(x, y);
+                }
+            }
+            if (current != null) {
+                if (field.isTarget(current)) {
+                    field.addSource(x, y);
+                } else if (previous == null) {
+                    field.invalidate(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Case la plus avancée le long d'un champ qu'une unité peut atteindre ce tour
+     * L'unité traverse les unités alliées mais ne s'arrête que sur une case libre,
+     * et s'arrête au contact de la cible (ou en entrant en zone de contrôle ennemie)
+     * @return Case de destination, ou null si l'unité ne peut pas avancer
+     */
+    public Tile findMoveDestination(Unit unit, FlowField field) {
+        int x = unit.getX();
+        int y = unit.getY();
+        int budget = GridPathfinder.movementBudget(unit);
+        int spent = 0;
+        Tile destination = null;
+
+        while (field.hasNextStep(x, y)) {
+            int nx = field.getNextX(x, y);
+            int ny = field.getNextY(x, y);
+            if (!field.hasNextStep(nx, ny)) {
+                break;      // La case suivante est la cible
+            }
+            spent += GridPathfinder.stepCost(map.getTileType(nx, ny));
+            Unit occupant = map.getUnitAt(nx, ny);
+            if (spent > budget || (occupant != null && occupant.getOwner() != unit.getOwner())) {
+                break;
+            }
+            x = nx;
+            y = ny;
+            if (occupant == null) {
+                destination = map.getTile(x, y);
+            }
+            if (map.stopsMovement(unit.getOwner(), x, y)) {
+                break;      // Entrée en zone de contrôle ennemie
+            }
+        }
+        return destination;
+    }
+}
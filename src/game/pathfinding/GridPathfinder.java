@@ -0,0 +1,379 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.GameMap;
+import game.map.TileType;
+import game.player.Player;
+import game.unit.Unit;
+
+/**
+ * Recherche de chemins sur la grille de la carte (A* et Dijkstra)
+ *
+ * Règles de déplacement (4 voisins) :
+ * - entrer dans une case coûte TileType.getMovementCost() (en centièmes, voir COST_SCALE) ;
+ * - l'Eau est infranchissable ;
+ * - une unité ou un bâtiment ennemi bloque le passage ;
+ * - une unité alliée se traverse mais on ne peut pas s'arrêter sur sa case ;
+ * - règle de zone de contrôle active (GameMap.setZoneOfControl) : une case voisine
+ *   d'une unité ennemie termine le déplacement (on peut y entrer, pas en repartir),
+ *   sauf la case de départ.
+ *
+ * Les tableaux de travail (coûts, parents, marqueurs) couvrent toute la carte
+ * et sont réutilisés entre les requêtes : un numéro de génération invalide
+ * les résultats précédents sans effacer les tableaux, et aucune requête
+ * n'alloue de mémoire une fois le tas à sa taille maximale.
+ * Une instance n'est pas thread-safe : une par thread de jeu.
+ */
+public class GridPathfinder {
+    /** Les coûts de déplacement sont exprimés en centièmes de point de mouvement */
+    public static final int COST_SCALE = 100;
+    /** Coût renvoyé quand aucun chemin n'existe */
+    public static final int NO_PATH = -1;
+
+    private static final int[] STEP_COSTS = new int[TileType.values().length];
+    private static final int MIN_STEP_COST;
+
+    static {
+        int min = Integer.MAX_VALUE;
+        for (TileType type : TileType.values()) {
+            int cost = type.isWalkable()
+                    ? Math.max(1, (int) Math.round(type.getMovementCost() * COST_SCALE))
+                    : -1;
+            STEP_COSTS[type.ordinal()] = cost;
+            if (cost > 0) {
+                min = Math.min(min, cost);
+            }
+        }
+        MIN_STEP_COST = min;
+    }
+
+    private final GameMap map;
+    private final int width;
+    private final int height;
+    private final int[] costs;          // Meilleur coût connu depuis le départ
+    private final int[] parents;        // Case précédente sur le meilleur chemin
+    private final int[] seen;           // Génération où costs/parents sont valides
+    private final int[] closed;         // Génération où la case a été fixée
+    private final NodeHeap open;
+    private int generation;
+
+    // Résultat de la dernière recherche
+    private int[] path;
+    private int pathLength;
+    private int[] reachable;
+    private int reachableCount;
+
+    public GridPathfinder(GameMap map) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+        int cells = width * height;
+        this.costs = new int[cells];
+        this.parents = new int[cells];
+        this.seen = new int[cells];
+        this.closed = new int[cells];
+        this.open = new NodeHeap(256);
+        this.generation = 0;
+        this.path = new int[64];
+        this.pathLength = 0;
+        this.reachable = new int[256];
+        this.reachableCount = 0;
+    }
+
+    /**
+     * Coût (en centièmes) pour entrer dans une case de ce type, -1 si infranchissable
+     */
+    public static int stepCost(TileType type) {
+        return STEP_COSTS[type.ordinal()];
+    }
+
+    /**
+     * Plus petit coût d'entrée parmi les terrains franchissables
+     */
+    public static int minStepCost() {
+        return MIN_STEP_COST;
+    }
+
+    /**
+     * Budget de déplacement d'une unité pour un tour (en centièmes)
+     */
+    public static int movementBudget(Unit unit) {
+        return unit.getMovementPoints() * COST_SCALE;
+    }
+
+    /**
+     * Chemin le plus court d'une unité vers une case, dans la limite de son budget du tour
+     * @return Coût du chemin ou NO_PATH
+     */
+    public int findPath(Unit unit, int goalX, int goalY) {
+        return findPath(unit.getOwner(), unit.getX(), unit.getY(), goalX, goalY, movementBudget(unit));
+    }
+
+    /**
+     * Recherche A* (heuristique de Manhattan pondérée par le plus petit coût de terrain)
+     * @param mover Joueur qui se déplace (détermine les cases bloquantes)
+     * @param maxCost Coût maximal accepté (Integer.MAX_VALUE pour ne pas borner)
+     * @return Coût du chemin ou NO_PATH ; le chemin est lisible via getPathX/getPathY
+     */
+    public int findPath(Player mover, int startX, int startY, int goalX, int goalY, int maxCost) {
+        pathLength = 0;
+        if (!map.isValidPosition(startX, startY) || !map.isValidPosition(goalX, goalY)) {
+            return NO_PATH;
+        }
+        if (!canStop(mover, goalX, goalY)) {
+            return NO_PATH;
+        }
+
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+        if (start == goal) {
+            return 0;
+        }
+
+        boolean zoneOfControl = map.hasZoneOfControl();
+        int gen = nextGeneration();
+        open.clear();
+        costs[start] = 0;
+        parents[start] = -1;
+        seen[start] = gen;
+        open.push(start, heuristic(startX, startY, goalX, goalY));
+
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (closed[node] == gen) {
+                continue;
+            }
+            closed[node] = gen;
+            if (node == goal) {
+                buildPath(goal);
+                return costs[goal];
+            }
+
+            int x = node % width;
+            int y = node / width;
+            if (zoneOfControl && node != start && map.isInEnemyZone(mover, x, y)) {
+                continue;       // Entrée en zone de contrôle : le déplacement s'arrête ici
+            }
+            int base = costs[node];
+            if (x > 0) {
+                relaxAStar(mover, node, node - 1, x - 1, y, base, maxCost, goalX, goalY, gen);
+            }
+            if (x < width - 1) {
+                relaxAStar(mover, node, node + 1, x + 1, y, base, maxCost, goalX, goalY, gen);
+            }
+            if (y > 0) {
+                relaxAStar(mover, node, node - width, x, y - 1, base, maxCost, goalX, goalY, gen);
+            }
+            if (y < height - 1) {
+                relaxAStar(mover, node, node + width, x, y + 1, base, maxCost, goalX, goalY, gen);
+            }
+        }
+        return NO_PATH;
+    }
+
+    private void relaxAStar(Player mover, int from, int to, int x, int y, int base, int maxCost,
+                            int goalX, int goalY, int gen) {
+        if (closed[to] == gen) {
+            return;
+        }
+        int step = enterCost(mover, x, y);
+        if (step < 0) {
+            return;
+        }
+        int cost = base + step;
+        if (cost > maxCost || (seen[to] == gen && cost >= costs[to])) {
+            return;
+        }
+        costs[to] = cost;
+        parents[to] = from;
+        seen[to] = gen;
+        open.push(to, cost + heuristic(x, y, goalX, goalY));
+    }
+
+    /**
+     * Ensemble des cases où une unité peut terminer son déplacement ce tour
+     * @return Nombre de cases atteignables (la case de départ exclue)
+     */
+    public int computeReachable(Unit unit) {
+        return computeReachable(unit.getOwner(), unit.getX(), unit.getY(), movementBudget(unit));
+    }
+
+    /**
+     * Recherche de Dijkstra bornée par un coût maximal
+     * Les cases atteignables sont lisibles via getReachableX/getReachableY,
+     * les coûts de toutes les cases traversées via getCostTo
+     * @return Nombre de cases où le joueur peut s'arrêter (la case de départ exclue)
+     */
+    public int computeReachable(Player mover, int startX, int startY, int maxCost) {
+        reachableCount = 0;
+        if (!map.isValidPosition(startX, startY)) {
+            return 0;
+        }
+
+        int start = startY * width + startX;
+        boolean zoneOfControl = map.hasZoneOfControl();
+        int gen = nextGeneration();
+        open.clear();
+        costs[start] = 0;
+        parents[start] = -1;
+        seen[start] = gen;
+        open.push(start, 0);
+
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (closed[node] == gen) {
+                continue;
+            }
+            closed[node] = gen;
+
+            int x = node % width;
+            int y = node / width;
+            if (node != start && canStop(mover, x, y)) {
+                addReachable(node);
+            }
+            if (zoneOfControl && node != start && map.isInEnemyZone(mover, x, y)) {
+                continue;
+            }
+
+            int base = costs[node];
+            if (x > 0) {
+                relaxDijkstra(mover, node, node - 1, x - 1, y, base, maxCost, gen);
+            }
+            if (x < width - 1) {
+                relaxDijkstra(mover, node, node + 1, x + 1, y, base, maxCost, gen);
+            }
+            if (y > 0) {
+                relaxDijkstra(mover, node, node - width, x, y - 1, base, maxCost, gen);
+            }
+            if (y < height - 1) {
+                relaxDijkstra(mover, node, node + width, x, y + 1, base, maxCost, gen);
+            }
+        }
+        return reachableCount;
+    }
+
+    private void relaxDijkstra(Player mover, int from, int to, int x, int y, int base, int maxCost, int gen) {
+        if (closed[to] == gen) {
+            return;
+        }
+        int step = enterCost(mover, x, y);
+        if (step < 0) {
+            return;
+        }
+        int cost = base + step;
+        if (cost > maxCost || (seen[to] == gen && cost >= costs[to])) {
+            return;
+        }
+        costs[to] = cost;
+        parents[to] = from;
+        seen[to] = gen;
+        open.push(to, cost);
+    }
+
+    /**
+     * Coût pour entrer dans une case, -1 si elle est bloquée pour ce joueur
+     */
+    private int enterCost(Player mover, int x, int y) {
+        int step = STEP_COSTS[map.getTileType(x, y).ordinal()];
+        if (step < 0) {
+            return -1;
+        }
+        Unit unit = map.getUnitAt(x, y);
+        if (unit != null && unit.getOwner() != mover) {
+            return -1;
+        }
+        Building building = map.getBuildingAt(x, y);
+        if (building != null && building.getOwner() != mover) {
+            return -1;
+        }
+        return step;
+    }
+
+    /**
+     * Vérifie qu'un joueur peut terminer un déplacement sur une case
+     */
+    private boolean canStop(Player mover, int x, int y) {
+        return enterCost(mover, x, y) >= 0 && !map.hasUnitAt(x, y);
+    }
+
+    private int heuristic(int x, int y, int goalX, int goalY) {
+        return (Math.abs(goalX - x) + Math.abs(goalY - y)) * MIN_STEP_COST;
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(seen, 0);
+            java.util.Arrays.fill(closed, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    private void buildPath(int goal) {
+        int length = 0;
+        for (int node = goal; parents[node] >= 0; node = parents[node]) {
+            length++;
+        }
+        if (length > path.length) {
+            path = new int[Math.max(length, path.length * 2)];
+        }
+        int i = length;
+        for (int node = goal; parents[node] >= 0; node = parents[node]) {
+            path[--i] = node;
+        }
+        pathLength = length;
+    }
+
+    private void addReachable(int node) {
+        if (reachableCount == reachable.length) {
+            int[] grown = new int[reachable.length * 2];
+            System.arraycopy(reachable, 0, grown, 0, reachableCount);
+            reachable = grown;
+        }
+        reachable[reachableCount++] = node;
+    }
+
+    // Résultats de la dernière recherche
+
+    /**
+     * Nombre de pas du dernier chemin trouvé (case de départ exclue)
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getPathX(int step) {
+        return path[step] % width;
+    }
+
+    public int getPathY(int step) {
+        return path[step] / width;
+    }
+
+    public int getReachableCount() {
+        return reachableCount;
+    }
+
+    public int getReachableX(int i) {
+        return reachable[i] % width;
+    }
+
+    public int getReachableY(int i) {
+        return reachable[i] / width;
+    }
+
+    /**
+     * Copie immuable des cases atteignables de la dernière recherche
+     */
+    public ReachableSet snapshotReachable() {
+        return new ReachableSet(width, reachable, reachableCount);
+    }
+
+    /**
+     * Coût d'accès à une case lors de la dernière recherche (NO_PATH si non atteinte)
+     */
+    public int getCostTo(int x, int y) {
+        int node = y * width + x;
+        return closed[node] == generation ? costs[node] : NO_PATH;
+    }
+}
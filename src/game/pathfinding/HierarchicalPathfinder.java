@@ -0,0 +1,631 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.GameMap;
+import game.map.MapListener;
+
+import java.util.Arrays;
+
+/**
+ * Recherche de chemins hiérarchique (HPA*) pour les grandes cartes et les ordres à longue distance
+ *
+ * La carte est découpée en grappes carrées (16×16 par défaut). Sur chaque frontière
+ * entre deux grappes, chaque passage (suite de cases franchissables des deux côtés)
+ * donne une ou deux entrées. Le graphe abstrait relie :
+ * - les entrées d'une même grappe, par le coût du plus court chemin interne ;
+ * - les deux cases d'une entrée, de part et d'autre de la frontière.
+ * Une requête relie le départ et l'arrivée aux entrées de leur grappe, cherche
+ * dans le graphe abstrait (A*) puis raffine chaque tronçon à l'intérieur d'une grappe.
+ * Le chemin obtenu est quasi optimal (quelques pour cent au-dessus de l'A* à plat).
+ *
+ * Seuls le terrain et les bâtiments (obstacles statiques) sont pris en compte,
+ * les unités étant trop mobiles pour être précalculées. Quand un bâtiment apparaît
+ * ou disparaît, seule sa grappe et ses quatre voisines sont reconstruites, à la
+ * requête suivante. Les cases de départ et d'arrivée sont toujours acceptées
+ * (on peut viser le Centre de Commandement ennemi).
+ *
+ * La construction génère tout le terrain de la carte. Une instance n'est pas thread-safe.
+ */
+public class HierarchicalPathfinder implements MapListener {
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int LONG_ENTRANCE = 6;    // Au-delà, une entrée à chaque extrémité
+
+    private final GameMap map;
+    private final int width;
+    private final int height;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+    private final int maxNodes;                     // Entrées maximales par grappe
+    private final Cluster[] clusters;
+    private final boolean[] dirty;
+    private boolean anyDirty;
+
+    // Recherche abstraite (identifiant = grappe * maxNodes + index local, GOAL = dernier)
+    private final int goalId;
+    private final int[] abstractCost;
+    private final int[] abstractParent;
+    private final int[] abstractSeen;
+    private final int[] abstractClosed;
+    private final NodeHeap abstractOpen;
+    private int abstractGeneration;
+
+    // Recherche locale dans une grappe (index local = ly * clusterSize + lx)
+    private final int[] localCost;
+    private final int[] localParent;
+    private final int[] localSeen;
+    private final int[] localClosed;
+    private final NodeHeap localOpen;
+    private int localGeneration;
+
+    // Requête en cours
+    private int queryStart;
+    private int queryGoal;
+    private final int[] startLinks;                 // maxNodes : une grappe n'a pas plus d'entrées
+    private final int[] goalLinks;
+    private final IntBuffer scratch;
+
+    // Résultat
+    private final IntBuffer waypoints;
+    private final IntBuffer path;
+
+    public HierarchicalPathfinder(GameMap map) {
+        this(map, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalPathfinder(GameMap map, int clusterSize) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.maxNodes = 4 * clusterSize;
+        this.clusters = new Cluster[clustersX * clustersY];
+        this.dirty = new boolean[clusters.length];
+
+        this.goalId = clusters.length * maxNodes;
+        this.abstractCost = new int[goalId + 1];
+        this.abstractParent = new int[goalId + 1];
+        this.abstractSeen = new int[goalId + 1];
+        this.abstractClosed = new int[goalId + 1];
+        this.abstractOpen = new NodeHeap(256);
+
+        int localCells = clusterSize * clusterSize;
+        this.localCost = new int[localCells];
+        this.localParent = new int[localCells];
+        this.localSeen = new int[localCells];
+        this.localClosed = new int[localCells];
+        this.localOpen = new NodeHeap(localCells);
+
+        this.startLinks = new int[maxNodes];
+        this.goalLinks = new int[maxNodes];
+        this.scratch = new IntBuffer(clusterSize * 2);
+        this.waypoints = new IntBuffer(64);
+        this.path = new IntBuffer(256);
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                int x0 = cx * clusterSize;
+                int y0 = cy * clusterSize;
+                clusters[cy * clustersX + cx] = new Cluster(x0, y0,
+                        Math.min(width, x0 + clusterSize), Math.min(height, y0 + clusterSize));
+            }
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            buildEntrances(i);
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            buildIntraEdges(clusters[i]);
+        }
+        map.addListener(this);
+    }
+
+    // ===== Construction du graphe abstrait =====
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        invalidate(x, y);
+    }
+
+    /**
+     * Signale qu'une case a changé de franchissabilité (terrain ou obstacle statique)
+     * La grappe concernée et ses voisines seront reconstruites à la prochaine requête
+     */
+    public void invalidate(int x, int y) {
+        dirty[clusterIndexOf(x, y)] = true;
+        anyDirty = true;
+    }
+
+    private void rebuildDirtyClusters() {
+        if (!anyDirty) {
+            return;
+        }
+        boolean[] touched = new boolean[clusters.length];
+        for (int i = 0; i < clusters.length; i++) {
+            if (!dirty[i]) {
+                continue;
+            }
+            dirty[i] = false;
+            int cx = i % clustersX;
+            int cy = i / clustersX;
+            touched[i] = true;
+            if (cx > 0) touched[i - 1] = true;
+            if (cx < clustersX - 1) touched[i + 1] = true;
+            if (cy > 0) touched[i - clustersX] = true;
+            if (cy < clustersY - 1) touched[i + clustersX] = true;
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            if (touched[i]) {
+                buildEntrances(i);
+            }
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            if (touched[i]) {
+                buildIntraEdges(clusters[i]);
+            }
+        }
+        anyDirty = false;
+    }
+
+    /**
+     * Calcule les entrées d'une grappe sur ses quatre frontières
+     * Le calcul est symétrique : la grappe voisine obtient les mêmes passages de son côté
+     */
+    private void buildEntrances(int clusterIndex) {
+        Cluster c = clusters[clusterIndex];
+        c.count = 0;
+        if (c.y0 > 0) {
+            collectHorizontalBorder(c, c.y0, c.y0 - 1);
+        }
+        if (c.y1 < height) {
+            collectHorizontalBorder(c, c.y1 - 1, c.y1);
+        }
+        if (c.x0 > 0) {
+            collectVerticalBorder(c, c.x0, c.x0 - 1);
+        }
+        if (c.x1 < width) {
+            collectVerticalBorder(c, c.x1 - 1, c.x1);
+        }
+    }
+
+    private void collectHorizontalBorder(Cluster c, int y, int acrossY) {
+        int runStart = -1;
+        for (int x = c.x0; x <= c.x1; x++) {
+            boolean open = x < c.x1 && isPassable(x, y) && isPassable(x, acrossY);
+            if (open && runStart < 0) {
+                runStart = x;
+            } else if (!open && runStart >= 0) {
+                addEntrances(c, runStart, x - 1, y, true);
+                runStart = -1;
+            }
+        }
+    }
+
+    private void collectVerticalBorder(Cluster c, int x, int acrossX) {
+        int runStart = -1;
+        for (int y = c.y0; y <= c.y1; y++) {
+            boolean open = y < c.y1 && isPassable(x, y) && isPassable(acrossX, y);
+            if (open && runStart < 0) {
+                runStart = y;
+            } else if (!open && runStart >= 0) {
+                addEntrances(c, runStart, y - 1, x, false);
+                runStart = -1;
+            }
+        }
+    }
+
+    private void addEntrances(Cluster c, int from, int to, int fixed, boolean horizontal) {
+        if (to - from + 1 < LONG_ENTRANCE) {
+            int middle = (from + to) >>> 1;
+            c.addNode(horizontal ? fixed * width + middle : middle * width + fixed);
+        } else {
+            c.addNode(horizontal ? fixed * width + from : from * width + fixed);
+            c.addNode(horizontal ? fixed * width + to : to * width + fixed);
+        }
+    }
+
+    /**
+     * Calcule les coûts des chemins internes entre toutes les entrées d'une grappe
+     */
+    private void buildIntraEdges(Cluster c) {
+        int count = c.count;
+        if (c.intra.length < count * count) {
+            c.intra = new int[count * count];
+        }
+        queryStart = -1;
+        queryGoal = -1;
+        for (int i = 0; i < count; i++) {
+            localSearch(c, c.cells[i], -1, false);
+            for (int j = 0; j < count; j++) {
+                c.intra[i * count + j] = localCostOf(c, c.cells[j]);
+            }
+        }
+    }
+
+    // ===== Requêtes =====
+
+    /**
+     * Recherche un chemin quasi optimal entre deux cases
+     * @return Coût du chemin (mêmes unités que GridPathfinder) ou GridPathfinder.NO_PATH
+     */
+    public int findPath(int startX, int startY, int goalX, int goalY) {
+        waypoints.clear();
+        path.clear();
+        if (!map.isValidPosition(startX, startY) || !map.isValidPosition(goalX, goalY)) {
+            return GridPathfinder.NO_PATH;
+        }
+        rebuildDirtyClusters();
+
+        queryStart = startY * width + startX;
+        queryGoal = goalY * width + goalX;
+        if (queryStart == queryGoal) {
+            waypoints.add(queryStart);
+            return 0;
+        }
+        if (GridPathfinder.stepCost(map.getTileType(goalX, goalY)) < 0) {
+            return GridPathfinder.NO_PATH;
+        }
+
+        int startClusterIndex = clusterIndexOf(startX, startY);
+        int goalClusterIndex = clusterIndexOf(goalX, goalY);
+        Cluster startCluster = clusters[startClusterIndex];
+        Cluster goalCluster = clusters[goalClusterIndex];
+
+        // Liens départ -> entrées de sa grappe (et chemin direct si même grappe)
+        localSearch(startCluster, queryStart, -1, false);
+        int direct = startClusterIndex == goalClusterIndex ? localCostOf(startCluster, queryGoal) : INF;
+        for (int i = 0; i < startCluster.count; i++) {
+            startLinks[i] = localCostOf(startCluster, startCluster.cells[i]);
+        }
+
+        // Liens entrées de la grappe d'arrivée -> arrivée (recherche inversée)
+        localSearch(goalCluster, queryGoal, -1, true);
+        for (int i = 0; i < goalCluster.count; i++) {
+            goalLinks[i] = localCostOf(goalCluster, goalCluster.cells[i]);
+        }
+
+        int cost = abstractSearch(startClusterIndex, goalClusterIndex, direct);
+        if (cost == INF) {
+            return GridPathfinder.NO_PATH;
+        }
+        if (cost == direct && waypoints.size() == 0) {
+            waypoints.add(queryStart);
+            waypoints.add(queryGoal);
+        }
+        refine();
+        return cost;
+    }
+
+    /**
+     * A* sur le graphe abstrait, remplit les points de passage
+     * @param bound Coût d'un chemin déjà connu (chemin direct), INF sinon
+     */
+    private int abstractSearch(int startClusterIndex, int goalClusterIndex, int bound) {
+        int gen = ++abstractGeneration;
+        abstractOpen.clear();
+        Cluster startCluster = clusters[startClusterIndex];
+        int goalX = queryGoal % width;
+        int goalY = queryGoal / width;
+
+        for (int i = 0; i < startCluster.count; i++) {
+            if (startLinks[i] != INF) {
+                int id = startClusterIndex * maxNodes + i;
+                abstractCost[id] = startLinks[i];
+                abstractParent[id] = -1;
+                abstractSeen[id] = gen;
+                abstractOpen.push(id, startLinks[i] + heuristic(startCluster.cells[i], goalX, goalY));
+            }
+        }
+
+        while (!abstractOpen.isEmpty()) {
+            if (abstractOpen.peekPriority() >= bound) {
+                return bound;
+            }
+            int id = abstractOpen.pop();
+            if (abstractClosed[id] == gen) {
+                continue;
+            }
+            abstractClosed[id] = gen;
+            if (id == goalId) {
+                buildWaypoints();
+                return abstractCost[goalId];
+            }
+
+            int clusterIndex = id / maxNodes;
+            int local = id % maxNodes;
+            Cluster c = clusters[clusterIndex];
+            int base = abstractCost[id];
+            int cell = c.cells[local];
+
+            if (clusterIndex == goalClusterIndex && goalLinks[local] != INF) {
+                relaxAbstract(id, goalId, base + goalLinks[local], 0, gen);
+            }
+
+            // Arcs internes
+            for (int j = 0; j < c.count; j++) {
+                int edge = c.intra[local * c.count + j];
+                if (j != local && edge != INF) {
+                    relaxAbstract(id, clusterIndex * maxNodes + j, base + edge,
+                                  heuristic(c.cells[j], goalX, goalY), gen);
+                }
+            }
+
+            // Arcs de frontière (la case d'en face est une entrée de la grappe voisine)
+            int x = cell % width;
+            int y = cell / width;
+            if (x == c.x0 && x > 0) relaxAcross(id, base, x - 1, y, goalX, goalY, gen);
+            if (x == c.x1 - 1 && x < width - 1) relaxAcross(id, base, x + 1, y, goalX, goalY, gen);
+            if (y == c.y0 && y > 0) relaxAcross(id, base, x, y - 1, goalX, goalY, gen);
+            if (y == c.y1 - 1 && y < height - 1) relaxAcross(id, base, x, y + 1, goalX, goalY, gen);
+        }
+        return bound;
+    }
+
+    private void relaxAcross(int from, int base, int x, int y, int goalX, int goalY, int gen) {
+        int neighborIndex = clusterIndexOf(x, y);
+        int local = clusters[neighborIndex].indexOf(y * width + x);
+        if (local < 0) {
+            return;
+        }
+        int step = GridPathfinder.stepCost(map.getTileType(x, y));
+        relaxAbstract(from, neighborIndex * maxNodes + local, base + step,
+                      heuristic(y * width + x, goalX, goalY), gen);
+    }
+
+    private void relaxAbstract(int from, int to, int cost, int estimate, int gen) {
+        if (abstractClosed[to] == gen || (abstractSeen[to] == gen && cost >= abstractCost[to])) {
+            return;
+        }
+        abstractCost[to] = cost;
+        abstractParent[to] = from;
+        abstractSeen[to] = gen;
+        abstractOpen.push(to, cost + estimate);
+    }
+
+    private void buildWaypoints() {
+        scratch.clear();
+        scratch.add(queryGoal);
+        for (int id = abstractParent[goalId]; id >= 0; id = abstractParent[id]) {
+            scratch.add(clusters[id / maxNodes].cells[id % maxNodes]);
+        }
+        scratch.add(queryStart);
+        for (int i = scratch.size() - 1; i >= 0; i--) {
+            int cell = scratch.get(i);
+            if (waypoints.size() == 0 || waypoints.get(waypoints.size() - 1) != cell) {
+                waypoints.add(cell);
+            }
+        }
+    }
+
+    /**
+     * Transforme les points de passage en chemin case par case
+     */
+    private void refine() {
+        for (int i = 0; i + 1 < waypoints.size(); i++) {
+            int from = waypoints.get(i);
+            int to = waypoints.get(i + 1);
+            int fromCluster = clusterIndexOf(from % width, from / width);
+            if (fromCluster != clusterIndexOf(to % width, to / width)) {
+                path.add(to);   // Passage de frontière : un seul pas
+                continue;
+            }
+            Cluster c = clusters[fromCluster];
+            localSearch(c, from, to, false);
+            scratch.clear();
+            for (int cell = to; cell != from; cell = localParentOf(c, cell)) {
+                scratch.add(cell);
+            }
+            for (int j = scratch.size() - 1; j >= 0; j--) {
+                path.add(scratch.get(j));
+            }
+        }
+    }
+
+    // ===== Recherche locale (Dijkstra limité à une grappe) =====
+
+    /**
+     * Dijkstra depuis une case, limité à la grappe
+     * @param target Case à laquelle s'arrêter (-1 pour explorer toute la grappe)
+     * @param reverse Si vrai, calcule les coûts des cases VERS la source
+     */
+    private void localSearch(Cluster c, int source, int target, boolean reverse) {
+        int gen = ++localGeneration;
+        localOpen.clear();
+        int sourceLocal = toLocal(c, source);
+        localCost[sourceLocal] = 0;
+        localParent[sourceLocal] = -1;
+        localSeen[sourceLocal] = gen;
+        localOpen.push(source, 0);
+
+        while (!localOpen.isEmpty()) {
+            int cell = localOpen.pop();
+            int local = toLocal(c, cell);
+            if (localClosed[local] == gen) {
+                continue;
+            }
+            localClosed[local] = gen;
+            if (cell == target) {
+                return;
+            }
+            int x = cell % width;
+            int y = cell / width;
+            int base = localCost[local];
+            // En inversé, on paie le coût de la case quittée (celle où l'on entrait)
+            int leaveCost = reverse ? GridPathfinder.stepCost(map.getTileType(x, y)) : 0;
+            if (x > c.x0) relaxLocal(c, cell, cell - 1, base, leaveCost, reverse, gen);
+            if (x < c.x1 - 1) relaxLocal(c, cell, cell + 1, base, leaveCost, reverse, gen);
+            if (y > c.y0) relaxLocal(c, cell, cell - width, base, leaveCost, reverse, gen);
+            if (y < c.y1 - 1) relaxLocal(c, cell, cell + width, base, leaveCost, reverse, gen);
+        }
+    }
+
+    private void relaxLocal(Cluster c, int from, int to, int base, int leaveCost, boolean reverse, int gen) {
+        int local = toLocal(c, to);
+        if (localClosed[local] == gen) {
+            return;
+        }
+        int x = to % width;
+        int y = to / width;
+        if (!isPassable(x, y) && to != queryStart && to != queryGoal) {
+            return;
+        }
+        int cost = base + (reverse ? leaveCost : GridPathfinder.stepCost(map.getTileType(x, y)));
+        if (localSeen[local] == gen && cost >= localCost[local]) {
+            return;
+        }
+        localCost[local] = cost;
+        localParent[local] = from;
+        localSeen[local] = gen;
+        localOpen.push(to, cost);
+    }
+
+    private int localCostOf(Cluster c, int cell) {
+        int local = toLocal(c, cell);
+        return localClosed[local] == localGeneration ? localCost[local] : INF;
+    }
+
+    private int localParentOf(Cluster c, int cell) {
+        return localParent[toLocal(c, cell)];
+    }
+
+    private int toLocal(Cluster c, int cell) {
+        return (cell / width - c.y0) * clusterSize + (cell % width - c.x0);
+    }
+
+    // ===== Utilitaires =====
+
+    /**
+     * Case franchissable pour le graphe statique : terrain praticable et sans bâtiment
+     */
+    private boolean isPassable(int x, int y) {
+        return map.getTileType(x, y).isWalkable() && !map.hasBuildingAt(x, y);
+    }
+
+    private int clusterIndexOf(int x, int y) {
+        return (y / clusterSize) * clustersX + (x / clusterSize);
+    }
+
+    private int heuristic(int cell, int goalX, int goalY) {
+        return (Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY))
+                * GridPathfinder.minStepCost();
+    }
+
+    // ===== Résultat de la dernière requête =====
+
+    /**
+     * Nombre de pas du dernier chemin (case de départ exclue)
+     */
+    public int getPathLength() {
+        return path.size();
+    }
+
+    public int getPathX(int step) {
+        return path.get(step) % width;
+    }
+
+    public int getPathY(int step) {
+        return path.get(step) / width;
+    }
+
+    /**
+     * Nombre de points de passage abstraits (départ et arrivée inclus)
+     */
+    public int getWaypointCount() {
+        return waypoints.size();
+    }
+
+    public int getWaypointX(int i) {
+        return waypoints.get(i) % width;
+    }
+
+    public int getWaypointY(int i) {
+        return waypoints.get(i) / width;
+    }
+
+    /**
+     * Nombre total d'entrées du graphe abstrait
+     */
+    public int getAbstractNodeCount() {
+        int total = 0;
+        for (Cluster c : clusters) {
+            total += c.count;
+        }
+        return total;
+    }
+
+    /**
+     * Grappe : rectangle [x0, x1) × [y0, y1), ses entrées et la matrice de leurs coûts
+     */
+    private static final class Cluster {
+        final int x0;
+        final int y0;
+        final int x1;
+        final int y1;
+        int[] cells;
+        int count;
+        int[] intra;        // intra[i * count + j] = coût de l'entrée i vers l'entrée j
+
+        Cluster(int x0, int y0, int x1, int y1) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.cells = new int[8];
+            this.count = 0;
+            this.intra = new int[0];
+        }
+
+        void addNode(int cell) {
+            if (indexOf(cell) >= 0) {
+                return;     // Case de coin partagée par deux frontières
+            }
+            if (count == cells.length) {
+                cells = Arrays.copyOf(cells, count * 2);
+            }
+            cells[count++] = cell;
+        }
+
+        int indexOf(int cell) {
+            for (int i = 0; i < count; i++) {
+                if (cells[i] == cell) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Liste d'entiers extensible réutilisée entre les requêtes
+     */
+    private static final class IntBuffer {
+        private int[] values;
+        private int size;
+
+        IntBuffer(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
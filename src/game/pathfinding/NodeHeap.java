@@ -0,0 +1,84 @@
+package game.pathfinding;
+
+/**
+ * Tas binaire minimal de noeuds (index de case) ordonnés par priorité entière
+ * Les tableaux sont réutilisés d'une recherche à l'autre : aucune allocation
+ * une fois la capacité atteinte. Pas de "decrease-key" : un noeud amélioré est
+ * simplement réinséré et l'ancienne entrée est ignorée à la sortie.
+ */
+final class NodeHeap {
+    private int[] nodes;
+    private int[] priorities;
+    private int size;
+
+    NodeHeap(int initialCapacity) {
+        this.nodes = new int[Math.max(16, initialCapacity)];
+        this.priorities = new int[nodes.length];
+        this.size = 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int node, int priority) {
+        if (size == nodes.length) {
+            int[] grownNodes = new int[size * 2];
+            int[] grownPriorities = new int[size * 2];
+            System.arraycopy(nodes, 0, grownNodes, 0, size);
+            System.arraycopy(priorities, 0, grownPriorities, 0, size);
+            nodes = grownNodes;
+            priorities = grownPriorities;
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            priorities[i] = priorities[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        priorities[i] = priority;
+    }
+
+    /**
+     * Priorité du sommet du tas (tas supposé non vide)
+     */
+    int peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Retire et renvoie le noeud de plus petite priorité (tas supposé non vide)
+     */
+    int pop() {
+        int top = nodes[0];
+        int lastNode = nodes[--size];
+        int lastPriority = priorities[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && priorities[right] < priorities[child]) {
+                child = right;
+            }
+            if (priorities[child] >= lastPriority) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        nodes[i] = lastNode;
+        priorities[i] = lastPriority;
+        return top;
+    }
+}
@@ -0,0 +1,103 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.GameMap;
+import game.map.MapListener;
+import game.unit.Unit;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Cache des cases atteignables par unité et par tour
+ *
+ * Un résultat reste valide tant que l'unité n'a pas bougé, que le tour n'a pas
+ * changé et qu'aucune occupation (unité ou bâtiment) n'a changé dans son rayon
+ * de recherche. Le cache s'abonne à la carte : seules les entrées dont le rayon
+ * contient la case modifiée sont invalidées.
+ */
+public class ReachabilityCache implements MapListener {
+    private final GridPathfinder pathfinder;
+    private final Map<Unit, Entry> entries;
+
+    public ReachabilityCache(GameMap map) {
+        this.pathfinder = new GridPathfinder(map);
+        this.entries = new IdentityHashMap<>();
+        map.addListener(this);
+    }
+
+    /**
+     * Cases où l'unité peut aller ce tour (calculées une seule fois tant que rien ne change)
+     * @param turn Numéro du tour courant
+     */
+    public ReachableSet getReachable(Unit unit, int turn) {
+        int budget = GridPathfinder.movementBudget(unit);
+        Entry entry = entries.get(unit);
+        if (entry != null && entry.turn == turn && entry.x == unit.getX()
+                && entry.y == unit.getY() && entry.budget == budget) {
+            return entry.reachable;
+        }
+
+        pathfinder.computeReachable(unit.getOwner(), unit.getX(), unit.getY(), budget);
+        ReachableSet reachable = pathfinder.snapshotReachable();
+        // Au-delà de ce rayon de Manhattan, aucune case n'a pu être visitée
+        int radius = budget / GridPathfinder.minStepCost() + 1;
+        entries.put(unit, new Entry(turn, unit.getX(), unit.getY(), budget, radius, reachable));
+        return reachable;
+    }
+
+    /**
+     * Vide complètement le cache
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void onUnitChanged(int x, int y, Unit previous, Unit current) {
+        invalidateAround(x, y);
+        if (previous != null && !previous.isAlive()) {
+            entries.remove(previous);
+        }
+    }
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        invalidateAround(x, y);
+    }
+
+    @Override
+    public void onUnitDied(int x, int y, Unit unit) {
+        invalidateAround(x, y);     // Sa zone de contrôle disparaît
+        entries.remove(unit);
+    }
+
+    private void invalidateAround(int x, int y) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (Math.abs(entry.x - x) + Math.abs(entry.y - y) <= entry.radius) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final int turn;
+        final int x;
+        final int y;
+        final int budget;
+        final int radius;
+        final ReachableSet reachable;
+
+        Entry(int turn, int x, int y, int budget, int radius, ReachableSet reachable) {
+            this.turn = turn;
+            this.x = x;
+            this.y = y;
+            this.budget = budget;
+            this.radius = radius;
+            this.reachable = reachable;
+        }
+    }
+}
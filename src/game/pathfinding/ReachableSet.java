@@ -0,0 +1,42 @@
+package game.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble immuable des cases où une unité peut terminer son déplacement
+ * Les cases sont stockées triées (index y * largeur + x) pour un test d'appartenance
+ * par recherche dichotomique
+ */
+public final class ReachableSet {
+    private final int width;
+    private final int[] nodes;
+
+    ReachableSet(int width, int[] nodes, int count) {
+        this.width = width;
+        this.nodes = Arrays.copyOf(nodes, count);
+        Arrays.sort(this.nodes);
+    }
+
+    public boolean contains(int x, int y) {
+        if (x < 0 || x >= width) {
+            return false;
+        }
+        return Arrays.binarySearch(nodes, y * width + x) >= 0;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    public int getX(int i) {
+        return nodes[i] % width;
+    }
+
+    public int getY(int i) {
+        return nodes[i] / width;
+    }
+}
@@ -0,0 +1,374 @@
+package game.pathfinding;
+
+import game.building.Building;
+import game.map.Bitboard;
+import game.map.GameMap;
+import game.map.MapListener;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carte des menaces : pour chaque case, les unités qui pourraient l'attaquer au
+ * prochain tour (déplacement complet puis portée d'attaque)
+ *
+ * Chaque unité posée sur la carte a sa zone menacée (BitboardMoveGenerator.threatenedArea).
+ * Par joueur, la carte tient le nombre de ses unités qui menacent chaque case et un
+ * bitboard des cases menacées au moins une fois.
+ *
+ * La carte s'abonne à GameMap : un changement d'occupation (déplacement, recrutement
+ * depuis un Camp d'Entraînement, retrait) ou une mort ne marque à recalculer que
+ * l'unité concernée et celles dont le rayon de déplacement contient la case modifiée.
+ * Ces dernières sont retrouvées par seaux de BUCKET_SIZE × BUCKET_SIZE cases : chaque
+ * zone est inscrite dans les seaux que couvre son rayon. Le rafraîchissement, fait
+ * paresseusement avant chaque requête, ne parcourt que les unités marquées (et retire
+ * celles qui sont mortes ou hors carte) : sans changement en attente, une requête est
+ * en O(1), et le coût d'un tour est proportionnel au nombre d'unités touchées, pas au
+ * nombre total d'unités × cases atteignables.
+ */
+public class ThreatMap implements MapListener {
+    private static final int BUCKET_SHIFT = 4;
+    /** Côté des seaux de l'index spatial des zones, en cases */
+    public static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
+
+    private final GameMap map;
+    private final int width;
+    private final int bucketsX;
+    private final List<List<Coverage>> buckets;     // Zones dont le rayon touche chaque seau (null : aucune)
+    private final BitboardMoveGenerator generator;
+    private final Map<Player, Layer> layers;
+    private final List<Layer> layerList;
+    private final Map<Unit, Coverage> coverages;
+    private final List<Coverage> dirty;
+
+    public ThreatMap(GameMap map) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.bucketsX = (width + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        int bucketsY = (map.getHeight() + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        this.buckets = new ArrayList<>(Collections.nCopies(bucketsX * bucketsY, (List<Coverage>) null));
+        this.generator = new BitboardMoveGenerator(map);
+        this.layers = new IdentityHashMap<>();
+        this.layerList = new ArrayList<>();
+        this.coverages = new IdentityHashMap<>();
+        this.dirty = new ArrayList<>();
+        trackExisting();
+        map.addListener(this);
+    }
+
+    /**
+     * Suit les unités déjà posées en parcourant le bitboard d'occupation
+     */
+    private void trackExisting() {
+        Bitboard units = map.getUnitBoard();
+        for (int cell = units.nextSetBit(0); cell >= 0; cell = units.nextSetBit(cell + 1)) {
+            track(map.getUnitAt(cell % width, cell / width));
+        }
+    }
+
+    @Override
+    public void onUnitChanged(int x, int y, Unit previous, Unit current) {
+        invalidateAround(x, y);
+        if (previous != null) {
+            markDirty(coverages.get(previous));
+        }
+        if (current != null) {
+            track(current);
+        }
+    }
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        invalidateAround(x, y);
+    }
+
+    @Override
+    public void onUnitDied(int x, int y, Unit unit) {
+        invalidateAround(x, y);     // Sa zone de contrôle disparaît
+        markDirty(coverages.get(unit));
+    }
+
+    /**
+     * Force le recalcul d'une unité pour un changement que la carte ne voit pas
+     * (points de déplacement ou portée modifiés)
+     */
+    public void invalidate(Unit unit) {
+        markDirty(coverages.get(unit));
+    }
+
+    /**
+     * Recalcule entièrement toutes les zones (référence pour les tests et les mesures)
+     */
+    public void recomputeAll() {
+        for (Coverage coverage : coverages.values()) {
+            markDirty(coverage);
+        }
+        refresh();
+    }
+
+    /**
+     * Applique les changements signalés par la carte : retire les unités mortes ou
+     * qui ne sont plus sur la carte, puis recalcule les zones marquées
+     */
+    public void refresh() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (Coverage coverage : dirty) {
+            coverage.dirty = false;
+            if (coverage.removed) {
+                continue;
+            }
+            remove(coverage);
+            Unit unit = coverage.unit;
+            if (!unit.isAlive() || !isOnMap(unit)) {
+                coverage.removed = true;
+                coverages.remove(unit);
+                continue;
+            }
+            add(coverage);
+        }
+        dirty.clear();
+    }
+
+    // ===== Requêtes =====
+
+    /**
+     * Nombre d'unités d'un joueur qui menacent une case
+     */
+    public int getThreatCount(Player attacker, int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return 0;
+        }
+        refresh();
+        Layer layer = layers.get(attacker);
+        return layer == null ? 0 : layer.counts[y * width + x];
+    }
+
+    /**
+     * Nombre d'unités ennemies (tous les autres joueurs) qui menacent une case
+     */
+    public int getThreatCountAgainst(Player defender, int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return 0;
+        }
+        refresh();
+        int cell = y * width + x;
+        int count = 0;
+        for (Layer layer : layerList) {
+            if (layer.owner != defender) {
+                count += layer.counts[cell];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Vrai si au moins une unité ennemie peut attaquer la case au prochain tour
+     */
+    public boolean isThreatened(Player defender, int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return false;
+        }
+        refresh();
+        for (Layer layer : layerList) {
+            if (layer.owner != defender && layer.board.get(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cases menacées par au moins une unité d'un joueur (à lire sans modifier)
+     */
+    public Bitboard getThreatBoard(Player attacker) {
+        refresh();
+        return layerOf(attacker).board;
+    }
+
+    /**
+     * Unités ennemies qui peuvent attaquer la case au prochain tour
+     */
+    public List<Unit> getThreateningUnits(Player defender, int x, int y) {
+        List<Unit> result = new ArrayList<>();
+        if (!map.isValidPosition(x, y)) {
+            return result;
+        }
+        refresh();
+        int cell = y * width + x;
+        for (Coverage coverage : coverages.values()) {
+            if (coverage.unit.getOwner() != defender && coverage.covers(cell)) {
+                result.add(coverage.unit);
+            }
+        }
+        return result;
+    }
+
+    public int getTrackedUnitCount() {
+        return coverages.size();
+    }
+
+    // ===== Mise à jour =====
+
+    private void track(Unit unit) {
+        Coverage coverage = coverages.get(unit);
+        if (coverage == null) {
+            coverage = new Coverage(unit);
+            coverages.put(unit, coverage);
+        }
+        markDirty(coverage);
+    }
+
+    private void markDirty(Coverage coverage) {
+        if (coverage != null && !coverage.dirty) {
+            coverage.dirty = true;
+            dirty.add(coverage);
+        }
+    }
+
+    /**
+     * Marque les unités dont le déplacement peut passer par la case (x, y)
+     */
+    private void invalidateAround(int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return;
+        }
+        List<Coverage> bucket = buckets.get((y >> BUCKET_SHIFT) * bucketsX + (x >> BUCKET_SHIFT));
+        if (bucket == null) {
+            return;
+        }
+        for (Coverage coverage : bucket) {
+            if (!coverage.dirty && Math.abs(coverage.x - x) + Math.abs(coverage.y - y) <= coverage.radius) {
+                markDirty(coverage);
+            }
+        }
+    }
+
+    /**
+     * Inscrit (ou retire) une zone calculée dans les seaux que couvre son rayon
+     */
+    private void index(Coverage coverage, boolean insert) {
+        int fromX = Math.max(0, coverage.x - coverage.radius) >> BUCKET_SHIFT;
+        int toX = Math.min(width - 1, coverage.x + coverage.radius) >> BUCKET_SHIFT;
+        int fromY = Math.max(0, coverage.y - coverage.radius) >> BUCKET_SHIFT;
+        int toY = Math.min(map.getHeight() - 1, coverage.y + coverage.radius) >> BUCKET_SHIFT;
+        for (int by = fromY; by <= toY; by++) {
+            for (int bx = fromX; bx <= toX; bx++) {
+                int b = by * bucketsX + bx;
+                List<Coverage> bucket = buckets.get(b);
+                if (insert) {
+                    if (bucket == null) {
+                        bucket = new ArrayList<>();
+                        buckets.set(b, bucket);
+                    }
+                    bucket.add(coverage);
+                } else if (bucket != null) {
+                    bucket.remove(coverage);
+                }
+            }
+        }
+    }
+
+    private boolean isOnMap(Unit unit) {
+        return map.isValidPosition(unit.getX(), unit.getY())
+                && map.getUnitAt(unit.getX(), unit.getY()) == unit;
+    }
+
+    /**
+     * Calcule la zone de l'unité à sa position actuelle et l'ajoute aux compteurs
+     */
+    private void add(Coverage coverage) {
+        Unit unit = coverage.unit;
+        ReachableSet area = generator.threatenedArea(unit);
+        int[] cells = new int[area.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = area.getY(i) * width + area.getX(i);
+        }
+        coverage.cells = cells;
+        coverage.x = unit.getX();
+        coverage.y = unit.getY();
+        // Une unité posée à radius + 1 cases peut encore changer la zone de contrôle traversée
+        coverage.radius = GridPathfinder.movementBudget(unit) / GridPathfinder.minStepCost() + 1;
+        coverage.layer = layerOf(unit.getOwner());
+        index(coverage, true);
+
+        Layer layer = coverage.layer;
+        for (int cell : cells) {
+            if (layer.counts[cell]++ == 0) {
+                layer.board.set(cell % width, cell / width);
+            }
+        }
+    }
+
+    /**
+     * Retire des compteurs la dernière zone calculée de l'unité
+     */
+    private void remove(Coverage coverage) {
+        int[] cells = coverage.cells;
+        if (cells == null) {
+            return;
+        }
+        index(coverage, false);
+        Layer layer = coverage.layer;
+        for (int cell : cells) {
+            if (--layer.counts[cell] == 0) {
+                layer.board.clear(cell % width, cell / width);
+            }
+        }
+        coverage.cells = null;
+    }
+
+    private Layer layerOf(Player owner) {
+        Layer layer = layers.get(owner);
+        if (layer == null) {
+            layer = new Layer(owner, map.getWidth(), map.getHeight());
+            layers.put(owner, layer);
+            layerList.add(layer);
+        }
+        return layer;
+    }
+
+    /**
+     * Compteurs de menace d'un joueur
+     */
+    private static final class Layer {
+        final Player owner;
+        final int[] counts;         // Unités du joueur qui menacent chaque case (y * largeur + x)
+        final Bitboard board;       // Cases dont le compteur est non nul
+
+        Layer(Player owner, int width, int height) {
+            this.owner = owner;
+            this.counts = new int[width * height];
+            this.board = new Bitboard(width, height);
+        }
+    }
+
+    /**
+     * Dernière zone calculée d'une unité
+     */
+    private static final class Coverage {
+        final Unit unit;
+        int[] cells;                // Cases menacées, triées (null : pas encore calculée)
+        Layer layer;
+        int x;                      // Position et rayon de déplacement lors du calcul
+        int y;
+        int radius;
+        boolean dirty;
+        boolean removed;
+
+        Coverage(Unit unit) {
+            this.unit = unit;
+        }
+
+        boolean covers(int cell) {
+            return cells != null && Arrays.binarySearch(cells, cell) >= 0;
+        }
+    }
+}
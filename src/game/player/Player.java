@@ -1,5 +1,6 @@
 package game.player;
 
+import game.random.Zobrist;
 import game.resource.ResourceType;
 import game.unit.Unit;
 import game.building.Building;
@@ -9,6 +10,10 @@ import java.util.*;
 /**
  * Représente un joueur dans le jeu
  * Gère ses ressources, unités et bâtiments
+ *
+ * Le joueur tient une empreinte de Zobrist de son état : ressources, et clés des
+ * unités et bâtiments de ses listes (que ceux-ci lui reportent à chaque
+ * modification). Chaque changement la met à jour en O(1).
  */
 public class Player {
     private final String name;
@@ -16,6 +21,10 @@ public class Player {
     private final List<Unit> units;
     private final List<Building> buildings;
     private boolean isAlive;
+    private int unitsLost;
+    private int buildingsLost;
+    private final long ownerKey;
+    private long zobristKey;
 
     /**
      * Constructeur du joueur
@@ -23,10 +32,11 @@ public class Player {
      */
     public Player(String name) {
         this.name = name;
-        this.resources = new HashMap<>();
+        this.resources = new EnumMap<>(ResourceType.class);
         this.units = new ArrayList<>();
         this.buildings = new ArrayList<>();
         this.isAlive = true;
+        this.ownerKey = Zobrist.owner(name);
         
         // Initialisation des ressources de départ
         initializeResources();
@@ -36,10 +46,19 @@ public class Player {
      * Initialise les ressources de départ du joueur
      */
     private void initializeResources() {
-        resources.put(ResourceType.GOLD, 100);
-        resources.put(ResourceType.WOOD, 50);
-        resources.put(ResourceType.STONE, 50);
-        resources.put(ResourceType.FOOD, 100);
+        setResource(ResourceType.GOLD, 100);
+        setResource(ResourceType.WOOD, 50);
+        setResource(ResourceType.STONE, 50);
+        setResource(ResourceType.FOOD, 100);
+    }
+
+    /**
+     * Fixe le stock d'une ressource et met l'empreinte à jour
+     */
+    private void setResource(ResourceType type, int amount) {
+        Integer previous = resources.put(type, amount);
+        zobristKey ^= Zobrist.resource(ownerKey, type.ordinal(), previous != null ? previous : 0)
+                ^ Zobrist.resource(ownerKey, type.ordinal(), amount);
     }
 
     /**
@@ -49,7 +68,7 @@ public class Player {
      */
     public void addResource(ResourceType type, int amount) {
         int current = resources.getOrDefault(type, 0);
-        resources.put(type, current + amount);
+        setResource(type, current + amount);
     }
 
     /**
@@ -61,7 +80,7 @@ public class Player {
     public boolean removeResource(ResourceType type, int amount) {
         int current = resources.getOrDefault(type, 0);
         if (current >= amount) {
-            resources.put(type, current - amount);
+            setResource(type, current - amount);
             return true;
         }
         return false;
@@ -103,13 +122,21 @@ public class Player {
      */
     public void addUnit(Unit unit) {
         units.add(unit);
+        zobristKey ^= unit.getZobristKey();
+        unit.setListed(true);
     }
 
     /**
-     * Retire une unité de la liste du joueur
+     * Retire une unité de la liste du joueur (une unité morte compte comme perdue)
      */
     public void removeUnit(Unit unit) {
-        units.remove(unit);
+        if (units.remove(unit)) {
+            zobristKey ^= unit.getZobristKey();
+            unit.setListed(false);
+            if (!unit.isAlive()) {
+                unitsLost++;
+            }
+        }
     }
 
     /**
@@ -117,13 +144,29 @@ public class Player {
      */
     public void addBuilding(Building building) {
         buildings.add(building);
+        zobristKey ^= building.getZobristKey();
+        building.setListed(true);
     }
 
     /**
-     * Retire un bâtiment de la liste du joueur
+     * Retire un bâtiment de la liste du joueur (un bâtiment détruit compte comme perdu)
      */
     public void removeBuilding(Building building) {
-        buildings.remove(building);
+        if (buildings.remove(building)) {
+            zobristKey ^= building.getZobristKey();
+            building.setListed(false);
+            if (building.isDestroyed()) {
+                buildingsLost++;
+            }
+        }
+    }
+
+    /**
+     * Remplace dans l'empreinte la clé d'une unité ou d'un bâtiment de ses listes
+     * (appelée par Unit.rekey et Building.rekey)
+     */
+    public void replaceKey(long previousKey, long newKey) {
+        zobristKey ^= previousKey ^ newKey;
     }
 
     /**
@@ -159,7 +202,7 @@ public class Player {
     }
 
     public Map<ResourceType, Integer> getResources() {
-        return new HashMap<>(resources); // Retourne une copie pour l'encapsulation
+        return new EnumMap<>(resources); // Retourne une copie pour l'encapsulation
     }
 
     public List<Unit> getUnits() {
@@ -170,6 +213,35 @@ public class Player {
         return new ArrayList<>(buildings); // Retourne une copie
     }
 
+    /**
+     * Unités mortes depuis le début de la partie, y compris celles recrutées et
+     * tuées dans le même tour
+     */
+    public int getUnitsLost() {
+        return unitsLost;
+    }
+
+    /**
+     * Bâtiments détruits depuis le début de la partie
+     */
+    public int getBuildingsLost() {
+        return buildingsLost;
+    }
+
+    /**
+     * Empreinte de Zobrist du joueur : ressources, unités et bâtiments (voir Zobrist)
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Clé identifiant le joueur dans les clés de ses unités et bâtiments
+     */
+    public long getOwnerKey() {
+        return ownerKey;
+    }
+
     public boolean isAlive() {
         return isAlive;
     }
@@ -0,0 +1,96 @@
+package game.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateurs aléatoires d'une partie, tous dérivés d'une seule graine
+ *
+ * Chaque sous-système (carte, combat, IA, effets visuels) reçoit son propre flux
+ * SplittableRandom, et chaque thread de travail le sien : aucun générateur n'est
+ * partagé, il n'y a donc ni graine atomique ni contention dans les boucles chaudes.
+ * Les graines sont dérivées par hachage (SplitMix64) de la graine de partie, du
+ * sous-système et de l'indice du thread : deux parties de même graine tirent
+ * exactement les mêmes nombres, donc produisent les mêmes journaux.
+ *
+ * Un flux appartient à un seul propriétaire : un même appel renvoie toujours un
+ * flux neuf dans le même état, à demander une fois et à conserver.
+ */
+public final class RandomStreams {
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    public enum Subsystem {
+        MAP,
+        COMBAT,
+        AI,
+        EFFECTS
+    }
+
+    private final long matchSeed;
+
+    public RandomStreams(long matchSeed) {
+        this.matchSeed = matchSeed;
+    }
+
+    /**
+     * Nouvelle partie de graine imprévisible (à afficher pour pouvoir la rejouer)
+     */
+    public static RandomStreams withRandomSeed() {
+        return new RandomStreams(mix(System.nanoTime() ^ System.identityHashCode(new Object())));
+    }
+
+    /**
+     * Graine de la partie numéro match d'une série (self-play, tournois) : les parties
+     * d'une même série sont indépendantes et chacune se rejoue seule avec sa graine
+     */
+    public static long seriesSeed(long baseSeed, long match) {
+        return mix(baseSeed + (match + 1) * GOLDEN_GAMMA);
+    }
+
+    public long getMatchSeed() {
+        return matchSeed;
+    }
+
+    /**
+     * Graine dérivée d'un sous-système
+     */
+    public long seedFor(Subsystem subsystem) {
+        return mix(matchSeed + (subsystem.ordinal() + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Graine de génération de la carte (voir GameMap(width, height, seed))
+     */
+    public long mapSeed() {
+        return seedFor(Subsystem.MAP);
+    }
+
+    /**
+     * Flux principal d'un sous-système
+     */
+    public SplittableRandom stream(Subsystem subsystem) {
+        return new SplittableRandom(seedFor(subsystem));
+    }
+
+    /**
+     * Flux propre au thread de travail d'indice worker dans un sous-système
+     * Indexé par numéro de tâche et non par identité de thread : le résultat ne
+     * dépend pas de l'ordonnancement tant que chaque tâche garde son indice
+     */
+    public SplittableRandom workerStream(Subsystem subsystem, int worker) {
+        return new SplittableRandom(mix(seedFor(subsystem) + (worker + 1L) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Finaliseur de SplitMix64 (aussi utilisé par Zobrist)
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(matchSeed);
+    }
+}
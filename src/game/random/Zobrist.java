@@ -0,0 +1,111 @@
+package game.random;
+
+/**
+ * Clés de Zobrist (64 bits) de l'état d'une partie
+ *
+ * L'empreinte d'un état est le XOR des clés de ses caractéristiques : une unité de
+ * tel type et tel propriétaire sur telle case, telle quantité d'or chez tel joueur...
+ * Quand une caractéristique change, l'empreinte se met à jour en O(1) : XOR de
+ * l'ancienne clé, XOR de la nouvelle. GameMap et Player tiennent ainsi la leur à
+ * jour à chaque modification, sans jamais la recalculer ; TurnEngine.getStateKey
+ * les combine.
+ *
+ * Au lieu d'une table de nombres aléatoires, chaque clé est tirée par SplitMix64 de
+ * la famille et des valeurs de la caractéristique : mêmes propriétés qu'une table,
+ * sans table à dimensionner (cases, quantités de ressources) et identique d'une
+ * exécution à l'autre, donc utilisable pour vérifier un rejeu.
+ */
+public final class Zobrist {
+    /** Tranches de PV : une unité à 95 ou 96 PV sur 100 a la même clé */
+    public static final int HEALTH_BUCKETS = 16;
+
+    // Familles de caractéristiques
+    private static final long TERRAIN = 1;
+    private static final long TYPE = 2;
+    private static final long OWNER = 3;
+    private static final long UNIT_ON_CELL = 4;
+    private static final long BUILDING_ON_CELL = 5;
+    private static final long UNIT = 6;
+    private static final long BUILDING = 7;
+    private static final long RESOURCE = 8;
+    private static final long PHASE = 9;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Terrain d'une carte : il ne dépend que de la graine, des dimensions et du
+     * générateur (voir GameMap), une seule clé le couvre donc entièrement
+     */
+    public static long terrain(long seed, int width, int height, Class<?> generator) {
+        return key(TERRAIN, seed, (long) width << 32 | height, generator.getName().hashCode());
+    }
+
+    /**
+     * Clé d'une classe d'unité ou de bâtiment
+     */
+    public static long type(Class<?> type) {
+        return key(TYPE, type.getName().hashCode(), 0, 0);
+    }
+
+    /**
+     * Clé d'un joueur, tirée de son nom (deux joueurs de même nom se confondent)
+     */
+    public static long owner(String name) {
+        return key(OWNER, name.hashCode(), 0, 0);
+    }
+
+    /**
+     * Occupation d'une case de la carte par une unité
+     * @param owner Clé du propriétaire (0 : aucun)
+     */
+    public static long unitOnCell(int cell, long type, long owner) {
+        return key(UNIT_ON_CELL, cell, type, owner);
+    }
+
+    public static long buildingOnCell(int cell, long type, long owner) {
+        return key(BUILDING_ON_CELL, cell, type, owner);
+    }
+
+    /**
+     * État d'une unité : type, propriétaire, santé, position, action jouée
+     * @param health Tranche de PV (healthBucket) ou PV exacts, au choix de l'appelant
+     */
+    public static long unit(long type, long owner, int health, int x, int y, boolean acted) {
+        return key(UNIT, type ^ owner, (long) health << 1 | (acted ? 1 : 0), (long) x << 32 | y);
+    }
+
+    /**
+     * État d'un bâtiment : type, propriétaire, santé, tours de construction restants, position
+     */
+    public static long building(long type, long owner, int health, int remaining, int x, int y) {
+        return key(BUILDING, type ^ owner, (long) health << 32 | remaining, (long) x << 32 | y);
+    }
+
+    /**
+     * Stock d'une ressource ; 0 pour un stock vide (une ressource absente n'a pas de clé)
+     */
+    public static long resource(long owner, int type, int amount) {
+        return amount == 0 ? 0 : key(RESOURCE, owner, type, amount);
+    }
+
+    /**
+     * Phase de jeu (camp qui joue)
+     */
+    public static long phase(int ordinal) {
+        return key(PHASE, ordinal, 0, 0);
+    }
+
+    /**
+     * Tranche de PV, de 0 (mort) à HEALTH_BUCKETS
+     */
+    public static int healthBucket(int health, int maxHealth) {
+        return health <= 0 ? 0 : 1 + (int) ((health - 1L) * HEALTH_BUCKETS / Math.max(1, maxHealth));
+    }
+
+    private static long key(long family, long a, long b, long c) {
+        long h = RandomStreams.mix(family * RandomStreams.GOLDEN_GAMMA + a);
+        h = RandomStreams.mix(h + b * RandomStreams.GOLDEN_GAMMA);
+        return RandomStreams.mix(h + c * RandomStreams.GOLDEN_GAMMA);
+    }
+}
@@ -334,8 +334,7 @@ public class ModernActionPanel extends JPanel {
                     else if (targetTile.hasBuilding()) {
                         Building target = targetTile.getBuilding();
                         
-                        if (canAttackBuilding(attacker, target)) {
-                            attackBuilding(attacker, target);
+                        if (combatSystem.performAttack(attacker, target)) {
                             gameFrame.refresh();
                             gameFrame.showNotification(
                                 attacker.getName() + " attaque " + target.getName() + " !",
@@ -367,50 +366,6 @@ public class ModernActionPanel extends JPanel {
         }
     }
     
-    /**
-     * Vérifie si une unité peut attaquer un bâtiment
-     */
-    private boolean canAttackBuilding(Unit attacker, Building target) {
-        if (attacker.hasActed()) {
-            return false;
-        }
-        
-        if (attacker.getOwner() == target.getOwner()) {
-            return false;
-        }
-        
-        int distance = attacker.distanceTo(target.getX(), target.getY());
-        return distance <= attacker.getRange();
-    }
-    
-    /**
-     * Attaque un bâtiment
-     */
-    private void attackBuilding(Unit attacker, Building target) {
-        if (!canAttackBuilding(attacker, target)) {
-            return;
-        }
-        
-        // Calcul des dégâts (les bâtiments n'ont pas de défense)
-        int damage = attacker.getAttack();
-        
-        target.takeDamage(damage);
-        attacker.setHasActed(true);
-        
-        System.out.println(attacker.getName() + " attaque " + target.getName() + 
-                         " et inflige " + damage + " degats !");
-        System.out.println(target.getName() + " : " + target.getCurrentHealth() + 
-                         "/" + target.getMaxHealth() + " PV");
-        
-        // Si le bâtiment est détruit, le retirer de la carte
-        if (target.isDestroyed()) {
-            Tile tile = gameFrame.getMap().getTile(target.getX(), target.getY());
-            if (tile != null) {
-                tile.removeBuilding();
-            }
-        }
-    }
-    
     public void updateButtons(Tile selectedTile) {
         if (selectedTile != null && selectedTile.hasUnit()) {
             Unit unit = selectedTile.getUnit();
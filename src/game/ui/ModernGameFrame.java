@@ -4,7 +4,17 @@ import game.map.GameMap;
 import game.map.Tile;
 import game.player.Player;
 import game.combat.CombatSystem;
-import game.building.*;
+import game.ai.MctsAI;
+import game.engine.MatchState;
+import game.engine.SimpleAI;
+import game.engine.TurnEngine;
+import game.engine.TurnListener;
+import game.engine.TurnPhase;
+import game.event.GameEvents;
+import game.pathfinding.ReachabilityCache;
+import game.pathfinding.ReachableSet;
+import game.pathfinding.ThreatMap;
+import game.random.RandomStreams;
 import game.unit.*;
 
 import javax.swing.*;
@@ -12,13 +22,16 @@ import java.awt.*;
 
 /**
  * Fenêtre de jeu moderne avec interface élégante
+ * La phase du joueur se joue dans la fenêtre ; le reste du tour (IA, production,
+ * victoire) est joué par TurnEngine
  */
-public class ModernGameFrame extends JFrame {
+public class ModernGameFrame extends JFrame implements TurnListener {
+    private TurnEngine engine;
     private GameMap map;
     private Player player;
-    private Player enemy;
     private CombatSystem combatSystem;
-    private int currentTurn;
+    private ReachabilityCache reachabilityCache;
+    private ThreatMap threatMap;
     
     private ModernGamePanel gamePanel;
     private ModernInfoPanel infoPanel;
@@ -29,19 +42,13 @@ public class ModernGameFrame extends JFrame {
     private JLabel phaseLabel;
     
     public ModernGameFrame(String playerName, int mapSize) {
-        this.map = new GameMap(mapSize, mapSize);
-        this.player = new Player(playerName);
-        this.enemy = new Player("IA Ennemi");
-        this.combatSystem = new CombatSystem(map);
-        this.currentTurn = 1;
-        
-        int playerX = 2;
-        int playerY = 2;
-        int enemyX = mapSize - 3;
-        int enemyY = mapSize - 3;
-        
-        initializePlayerBase(player, playerX, playerY);
-        initializePlayerBase(enemy, enemyX, enemyY);
+        this.engine = new TurnEngine(RandomStreams.withRandomSeed(), mapSize,
+                                     new Player(playerName), new Player("IA Ennemi"));
+        this.map = engine.getMap();
+        this.player = engine.getPlayer();
+        this.combatSystem = engine.getCombatSystem();
+        this.reachabilityCache = new ReachabilityCache(map);
+        this.threatMap = new ThreatMap(map);
         
         setTitle("Jeu de Stratégie - Interface Moderne");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -50,6 +57,8 @@ public class ModernGameFrame extends JFrame {
         
         createMenuBar();
         createComponents();
+        GameEvents.setSink(new NotificationEventSink(notificationPanel, player, map));
+        engine.addListener(this);
         
         pack();
         setLocationRelativeTo(null);
@@ -78,7 +87,21 @@ public class ModernGameFrame extends JFrame {
         
         exitItem.addActionListener(e -> System.exit(0));
         
+        JCheckBoxMenuItem zoneOfControlItem = new JCheckBoxMenuItem("Zone de controle", map.hasZoneOfControl());
+        zoneOfControlItem.setBackground(new Color(40, 40, 50));
+        zoneOfControlItem.setForeground(Color.WHITE);
+        zoneOfControlItem.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        zoneOfControlItem.addActionListener(e -> setZoneOfControl(zoneOfControlItem.isSelected()));
+        
+        JCheckBoxMenuItem mctsItem = new JCheckBoxMenuItem("IA Monte Carlo", false);
+        mctsItem.setBackground(new Color(40, 40, 50));
+        mctsItem.setForeground(Color.WHITE);
+        mctsItem.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        mctsItem.addActionListener(e -> setMonteCarloEnemy(mctsItem.isSelected()));
+        
         gameMenu.add(newGameItem);
+        gameMenu.add(zoneOfControlItem);
+        gameMenu.add(mctsItem);
         gameMenu.addSeparator();
         gameMenu.add(exitItem);
         
@@ -98,6 +121,26 @@ public class ModernGameFrame extends JFrame {
         setJMenuBar(menuBar);
     }
     
+    /**
+     * Active la règle de zone de contrôle : les cases voisines d'une unité ennemie
+     * terminent le déplacement
+     */
+    private void setZoneOfControl(boolean enabled) {
+        map.setZoneOfControl(enabled);
+        reachabilityCache.clear();
+        threatMap.recomputeAll();
+        notificationPanel.addInfo("Zone de controle " + (enabled ? "activee" : "desactivee"));
+        gamePanel.repaint();
+    }
+    
+    /**
+     * Fait jouer l'adversaire par la recherche Monte-Carlo (MctsAI) au lieu de SimpleAI
+     */
+    private void setMonteCarloEnemy(boolean enabled) {
+        engine.setEnemyController(enabled ? new MctsAI() : new SimpleAI());
+        notificationPanel.addInfo("IA " + (enabled ? "Monte Carlo" : "simple") + " activee");
+    }
+    
     private JMenu createModernMenu(String text) {
         JMenu menu = new JMenu(text);
         menu.setForeground(Color.WHITE);
@@ -126,7 +169,7 @@ public class ModernGameFrame extends JFrame {
         turnPanel.setBackground(new Color(40, 40, 50));
         turnPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         
-        turnLabel = new JLabel("TOUR " + currentTurn);
+        turnLabel = new JLabel("TOUR " + engine.getTurn());
         turnLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
         turnLabel.setForeground(new Color(76, 175, 80));
         
@@ -188,137 +231,58 @@ public class ModernGameFrame extends JFrame {
         add(rightScrollPane, BorderLayout.EAST);
     }
     
-    private void initializePlayerBase(Player player, int x, int y) {
-        CommandCenter cc = new CommandCenter(player, x, y);
-        for (int i = 0; i < 5; i++) cc.advanceConstruction();
-        player.addBuilding(cc);
-        map.getTile(x, y).setBuilding(cc);
-        
-        Soldier soldier = new Soldier(player, x + 1, y);
-        Archer archer = new Archer(player, x, y + 1);
-        
-        player.addUnit(soldier);
-        player.addUnit(archer);
-        
-        map.getTile(x + 1, y).setUnit(soldier);
-        map.getTile(x, y + 1).setUnit(archer);
-    }
-    
     public void onTileSelected(Tile tile) {
         infoPanel.displayTileInfo(tile);
         actionPanel.updateButtons(tile);
     }
     
     public void endTurn() {
-        notificationPanel.addInfo("Production des ressources...");
-        
-        produceResources();
-        
-        notificationPanel.addWarning("Tour de l'IA...");
-        performEnemyTurn();
-        
-        if (checkVictory()) return;
-        
-        resetUnits();
-        currentTurn++;
-        turnLabel.setText("TOUR " + currentTurn);
-        
-        refresh();
-        
-        notificationPanel.addSuccess("Tour " + currentTurn + " - A vous de jouer !");
-    }
-    
-    private void produceResources() {
-        for (Building building : player.getBuildings()) {
-            boolean wasBuilding = !building.isBuilt();
-            building.advanceConstruction();
-            
-            // Notifier quand un bâtiment est terminé
-            if (wasBuilding && building.isBuilt()) {
-                notificationPanel.addSuccess(
-                    building.getName() + " termine ! Production active."
-                );
-            }
-            
-            building.performAction();
-        }
-        
-        for (Building building : enemy.getBuildings()) {
-            building.advanceConstruction();
-            building.performAction();
+        engine.endPlayerTurn();
+        if (!engine.isOver()) {
+            refresh();
         }
     }
     
-    private void performEnemyTurn() {
-        for (Unit enemyUnit : enemy.getUnits()) {
-            if (!player.getUnits().isEmpty() && !enemyUnit.hasActed()) {
-                Unit target = player.getUnits().get(0);
-                if (combatSystem.canAttack(enemyUnit, target)) {
-                    combatSystem.performAttack(enemyUnit, target);
-                    notificationPanel.addCombat(
-                        enemyUnit.getName() + " ennemi attaque votre " + target.getName() + " !"
-                    );
-                    
-                    // Vérifier si l'unité est morte
-                    if (!target.isAlive()) {
-                        notificationPanel.addDeath(
-                            "Votre " + target.getName() + " a ete elimine !"
-                        );
-                    }
-                }
-            }
+    @Override
+    public void onPhaseStarted(int turn, TurnPhase phase) {
+        switch (phase) {
+            case ENEMY:
+                notificationPanel.addWarning("Tour de l'IA...");
+                break;
+            case PRODUCTION:
+                notificationPanel.addInfo("Production des ressources...");
+                break;
+            case PLAYER:
+                turnLabel.setText("TOUR " + turn);
+                notificationPanel.addSuccess("Tour " + turn + " - A vous de jouer !");
+                break;
+            default:
+                break;
         }
     }
     
-    private void resetUnits() {
-        for (Unit unit : player.getUnits()) unit.resetTurn();
-        for (Unit unit : enemy.getUnits()) unit.resetTurn();
-    }
-    
-    private boolean checkVictory() {
-        boolean playerHasCC = false;
-        boolean enemyHasCC = false;
-        
-        for (Building b : player.getBuildings()) {
-            if (b instanceof CommandCenter && !b.isDestroyed()) {
-                playerHasCC = true;
-            }
-        }
-        
-        for (Building b : enemy.getBuildings()) {
-            if (b instanceof CommandCenter && !b.isDestroyed()) {
-                enemyHasCC = true;
-            }
-        }
-        
-        if (!enemyHasCC) {
+    @Override
+    public void onMatchEnded(int turn, MatchState state) {
+        if (state == MatchState.PLAYER_WON) {
             JOptionPane.showMessageDialog(this,
                 " VICTOIRE !\nVous avez détruit le Centre de Commandement ennemi !",
                 "Victoire !",
                 JOptionPane.INFORMATION_MESSAGE);
-            dispose();
-            SwingUtilities.invokeLater(() -> new ModernMainMenuFrame());
-            return true;
-        }
-        
-        if (!playerHasCC) {
+        } else {
             JOptionPane.showMessageDialog(this,
                 " DÉFAITE !\nVotre Centre de Commandement a été détruit !",
                 "Défaite",
                 JOptionPane.ERROR_MESSAGE);
-            dispose();
-            SwingUtilities.invokeLater(() -> new ModernMainMenuFrame());
-            return true;
         }
-        
-        return false;
+        dispose();
+        SwingUtilities.invokeLater(() -> new ModernMainMenuFrame());
     }
     
     /**
      * Vérifie la victoire immédiatement (appelé après destruction d'un bâtiment)
      */
     public void checkVictoryNow() {
-        checkVictory();
+        engine.checkVictory();
     }
     
     public void refresh() {
@@ -379,10 +343,43 @@ public class ModernGameFrame extends JFrame {
         return gamePanel.getSelectedTile();
     }
     
+    public RandomStreams getRandomStreams() {
+        return engine.getRandomStreams();
+    }
+    
     public GameMap getMap() {
         return map;
     }
     
+    /**
+     * Cases où une unité peut se déplacer ce tour (mises en cache jusqu'au prochain changement)
+     */
+    public ReachableSet getReachableTiles(Unit unit) {
+        return reachabilityCache.getReachable(unit, engine.getTurn());
+    }
+    
+    /**
+     * Met à jour le brouillard de guerre du joueur (Tile.isVisible, Tile.isExplored)
+     */
+    public void refreshVisibility() {
+        engine.getVisibility().refresh();
+    }
+    
+    /**
+     * Applique les changements en attente de la carte des menaces (une fois par
+     * affichage, avant les appels à isThreatened)
+     */
+    public void refreshThreats() {
+        threatMap.refresh();
+    }
+    
+    /**
+     * Vrai si une unité ennemie de ce joueur pourra attaquer la case au prochain tour
+     */
+    public boolean isThreatened(Player player, int x, int y) {
+        return threatMap.isThreatened(player, x, y);
+    }
+    
     /**
      * Affiche une notification
      */
@@ -3,6 +3,9 @@ package game.ui;
 import game.map.GameMap;
 import game.map.Tile;
 import game.map.TileType;
+import game.pathfinding.ReachableSet;
+import game.player.Player;
+import game.random.RandomStreams;
 import game.unit.Unit;
 import game.building.Building;
 
@@ -12,6 +15,7 @@ import java.awt.event.*;
 import java.awt.geom.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Panneau de jeu moderne avec effets visuels avancés
@@ -25,6 +29,7 @@ public class ModernGamePanel extends JPanel {
     
     // Effets visuels
     private List<ParticleEffect> particles = new ArrayList<>();
+    private final SplittableRandom effectsRandom;
     private float animationProgress = 0f;
     
     // Couleurs modernes avec dégradés
@@ -40,10 +45,15 @@ public class ModernGamePanel extends JPanel {
     private static final Color DESERT_END = new Color(210, 180, 140);
     private static final Color SELECTION_GLOW = new Color(255, 215, 0, 150);
     private static final Color HOVER_GLOW = new Color(255, 255, 255, 80);
+    private static final Color REACHABLE_OVERLAY = new Color(33, 150, 243, 70);
+    private static final Color THREATENED_OVERLAY = new Color(244, 67, 54, 70);
+    private static final Color UNEXPLORED = new Color(12, 12, 18);
+    private static final Color FOG_OVERLAY = new Color(0, 0, 0, 110);
     
     public ModernGamePanel(GameMap map, ModernGameFrame gameFrame) {
         this.map = map;
         this.gameFrame = gameFrame;
+        this.effectsRandom = gameFrame.getRandomStreams().stream(RandomStreams.Subsystem.EFFECTS);
         this.selectedTile = null;
         this.hoveredTile = null;
         
@@ -124,13 +134,26 @@ public class ModernGamePanel extends JPanel {
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         
-        // Dessiner les tuiles avec effets
+        // Cases accessibles de l'unité sélectionnée (lues depuis le cache du tour)
+        ReachableSet reachable = getSelectedUnitReachable();
+        
+        // Brouillard de guerre du joueur, puis tuiles avec effets (lecture directe du stockage de la carte)
+        gameFrame.refreshVisibility();
         for (int y = 0; y < map.getHeight(); y++) {
             for (int x = 0; x < map.getWidth(); x++) {
-                Tile tile = map.getTile(x, y);
-                if (tile != null) {
-                    drawModernTile(g2d, tile, x * TILE_SIZE, y * TILE_SIZE);
-                }
+                drawModernTile(g2d, x, y, x * TILE_SIZE, y * TILE_SIZE);
+            }
+        }
+        
+        // Cases accessibles, en rouge celles qu'une unité ennemie pourra attaquer
+        if (reachable != null) {
+            Player owner = selectedTile.getUnit().getOwner();
+            gameFrame.refreshThreats();
+            for (int i = 0; i < reachable.size(); i++) {
+                int x = reachable.getX(i);
+                int y = reachable.getY(i);
+                g2d.setColor(gameFrame.isThreatened(owner, x, y) ? THREATENED_OVERLAY : REACHABLE_OVERLAY);
+                g2d.fillRect(x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
             }
         }
         
@@ -143,20 +166,28 @@ public class ModernGamePanel extends JPanel {
         drawModernGrid(g2d);
     }
     
-    private void drawModernTile(Graphics2D g2d, Tile tile, int x, int y) {
+    private void drawModernTile(Graphics2D g2d, int tileX, int tileY, int x, int y) {
+        // Case jamais vue : rien n'est révélé
+        if (!map.isExplored(tileX, tileY)) {
+            g2d.setColor(UNEXPLORED);
+            g2d.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+            return;
+        }
+        boolean visible = map.isVisible(tileX, tileY);
+        
         // Dégradé de terrain
-        GradientPaint gradient = getTerrainGradient(tile.getType(), x, y);
+        GradientPaint gradient = getTerrainGradient(map.getTileType(tileX, tileY), x, y);
         g2d.setPaint(gradient);
         g2d.fillRect(x, y, TILE_SIZE, TILE_SIZE);
         
         // Effet hover
-        if (tile == hoveredTile) {
+        if (isTileAt(hoveredTile, tileX, tileY)) {
             g2d.setColor(HOVER_GLOW);
             g2d.fillRect(x, y, TILE_SIZE, TILE_SIZE);
         }
         
         // Effet sélection avec glow animé
-        if (tile == selectedTile) {
+        if (isTileAt(selectedTile, tileX, tileY)) {
             float pulse = (float) (0.5 + 0.5 * Math.sin(animationProgress * Math.PI * 4));
             g2d.setColor(new Color(255, 215, 0, (int)(100 + 50 * pulse)));
             g2d.fillRect(x, y, TILE_SIZE, TILE_SIZE);
@@ -170,14 +201,37 @@ public class ModernGamePanel extends JPanel {
         // Ombre intérieure pour profondeur
         drawInnerShadow(g2d, x, y);
         
-        // Dessiner le contenu
-        if (tile.hasBuilding()) {
-            drawModernBuilding(g2d, tile.getBuilding(), x, y);
+        // Dessiner le contenu (hors de vue : bâtiments seulement, assombris)
+        Building building = map.getBuildingAt(tileX, tileY);
+        if (building != null) {
+            drawModernBuilding(g2d, building, x, y);
+        }
+        
+        Unit unit = map.getUnitAt(tileX, tileY);
+        if (unit != null && visible) {
+            drawModernUnit(g2d, unit, x, y);
         }
         
-        if (tile.hasUnit()) {
-            drawModernUnit(g2d, tile.getUnit(), x, y);
+        if (!visible) {
+            g2d.setColor(FOG_OVERLAY);
+            g2d.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+        }
+    }
+    
+    private ReachableSet getSelectedUnitReachable() {
+        if (selectedTile == null) {
+            return null;
+        }
+        Unit unit = selectedTile.getUnit();
+        if (unit == null || unit.hasActed() || unit.getOwner() == null
+                || unit.getOwner().getName().equals("IA Ennemi")) {
+            return null;
         }
+        return gameFrame.getReachableTiles(unit);
+    }
+    
+    private static boolean isTileAt(Tile tile, int tileX, int tileY) {
+        return tile != null && tile.getX() == tileX && tile.getY() == tileY;
     }
     
     private void drawInnerShadow(Graphics2D g2d, int x, int y) {
@@ -407,8 +461,8 @@ public class ModernGamePanel extends JPanel {
         ParticleEffect(int startX, int startY) {
             this.x = startX;
             this.y = startY;
-            double angle = Math.random() * Math.PI * 2;
-            float speed = 2 + (float) Math.random() * 3;
+            double angle = effectsRandom.nextDouble() * Math.PI * 2;
+            float speed = 2 + (float) effectsRandom.nextDouble() * 3;
             this.vx = (float) Math.cos(angle) * speed;
             this.vy = (float) Math.sin(angle) * speed;
             this.color = new Color(255, 215, 0);
@@ -0,0 +1,107 @@
+package game.ui;
+
+import game.building.Building;
+import game.event.ActionRejection;
+import game.event.GameEventSink;
+import game.map.GameMap;
+import game.player.Player;
+import game.unit.Unit;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Rendu des événements de jeu dans le panneau de notifications
+ * Seuls les détails que ModernActionPanel n'annonce pas lui-même sont affichés :
+ * coups critiques, contre-attaques, actions refusées, bâtiments détruits, actions
+ * de l'adversaire (déplacements seulement s'ils sont visibles) et pertes du joueur
+ */
+public class NotificationEventSink implements GameEventSink {
+    private final NotificationPanel panel;
+    private final Player viewer;
+    private final GameMap map;
+
+    /**
+     * @param viewer Joueur humain (ses propres actions ne sont pas annoncées)
+     * @param map Carte dont le brouillard de guerre (GameMap.isVisible) est celui du joueur
+     */
+    public NotificationEventSink(NotificationPanel panel, Player viewer, GameMap map) {
+        this.panel = panel;
+        this.viewer = viewer;
+        this.map = map;
+    }
+
+    @Override
+    public void onAttack(Unit attacker, Unit defender, int damage, int terrainBonus, boolean critical) {
+        if (attacker.getOwner() != viewer) {
+            post(() -> panel.addCombat(attacker.getName() + " ennemi attaque votre " + defender.getName() + " !"));
+        }
+        if (critical) {
+            post(() -> panel.addCombat("Coup critique ! " + attacker.getName() + " inflige " + damage + " degats"));
+        }
+    }
+
+    @Override
+    public void onUnitDied(Unit unit) {
+        if (unit.getOwner() == viewer) {
+            post(() -> panel.addDeath("Votre " + unit.getName() + " a ete elimine !"));
+        }
+    }
+
+    @Override
+    public void onUnitMoved(Unit unit, int fromX, int fromY, int toX, int toY) {
+        if (unit.getOwner() != viewer && map.isVisible(toX, toY)) {
+            post(() -> panel.addWarning(unit.getName() + " ennemi avance en (" + toX + ", " + toY + ")"));
+        }
+    }
+
+    @Override
+    public void onBuildingCompleted(Building building) {
+        if (building.getOwner() == viewer) {
+            post(() -> panel.addSuccess(building.getName() + " termine ! Production active."));
+        }
+    }
+
+    @Override
+    public void onCounterAttack(Unit defender, Unit attacker, int damage) {
+        post(() -> panel.addCombat(defender.getName() + " contre-attaque pour " + damage + " degats"));
+    }
+
+    @Override
+    public void onActionRejected(Unit unit, int targetX, int targetY, ActionRejection reason) {
+        String message = describe(unit, targetX, targetY, reason);
+        post(() -> panel.addWarning(message));
+    }
+
+    @Override
+    public void onBuildingDestroyed(Building building) {
+        post(() -> panel.addDeath(building.getName() + " a ete detruit !"));
+    }
+
+    private static String describe(Unit unit, int targetX, int targetY, ActionRejection reason) {
+        switch (reason) {
+            case ALREADY_ACTED:
+                return unit.getName() + " a deja agi ce tour !";
+            case FRIENDLY_TARGET:
+                return "Impossible d'attaquer vos propres unites !";
+            case OUT_OF_RANGE:
+                return "Cible hors de portee ! (Distance: " + unit.distanceTo(targetX, targetY)
+                       + ", Portee: " + unit.getRange() + ")";
+            case TARGET_DEAD:
+                return "Cible deja detruite !";
+            case INACCESSIBLE:
+                return "Case inaccessible !";
+            case UNREACHABLE:
+                return "Trop loin ou aucun chemin praticable !";
+            default:
+                return "Action impossible !";
+        }
+    }
+
+    private static void post(Runnable notification) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            notification.run();
+        } else {
+            SwingUtilities.invokeLater(notification);
+        }
+    }
+}
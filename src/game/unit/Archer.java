@@ -21,6 +21,7 @@ public class Archer extends Unit {
         this.defense = 5;
         this.range = 3;              // Attaque à distance
         this.movementPoints = 2;
+        this.visionRange = 5;        // Repère de loin
         
         // Coût de recrutement
         this.cost.put(ResourceType.GOLD, 40);
@@ -48,7 +49,7 @@ public class Archer extends Unit {
         int damage = Math.max(1, this.attack - effectiveDefense);
         
         target.takeDamage(damage);
-        this.hasActed = true;
+        setHasActed(true);
 
         System.out.println(this.name + " utilise Tir Précis sur " + target.getName() + 
                          " et inflige " + damage + " dégâts !");
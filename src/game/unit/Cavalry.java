@@ -21,6 +21,7 @@ public class Cavalry extends Unit {
         this.defense = 7;
         this.range = 1;              // Corps à corps
         this.movementPoints = 5;     // Très mobile
+        this.visionRange = 4;
         
         // Coût de recrutement
         this.cost.put(ResourceType.GOLD, 50);
@@ -46,7 +47,7 @@ public class Cavalry extends Unit {
         int damage = Math.max(1, (this.attack + 10) - target.getDefense());
         
         target.takeDamage(damage);
-        this.hasActed = true;
+        setHasActed(true);
 
         System.out.println(this.name + " charge " + target.getName() + 
                          " et inflige " + damage + " dégâts !");
@@ -21,6 +21,7 @@ public class Soldier extends Unit {
         this.defense = 10;
         this.range = 1;              // Corps à corps
         this.movementPoints = 3;
+        this.visionRange = 3;
         
         // Coût de recrutement
         this.cost.put(ResourceType.GOLD, 30);
@@ -34,7 +35,7 @@ public class Soldier extends Unit {
     public void shieldWall() {
         if (!this.hasActed) {
             this.defense += 5;
-            this.hasActed = true;
+            setHasActed(true);
             System.out.println(this.name + " active Mur de Boucliers ! Défense +5");
         } else {
             System.out.println(this.name + " a déjà agi ce tour !");
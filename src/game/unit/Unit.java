@@ -1,14 +1,22 @@
 package game.unit;
 
+import game.event.ActionRejection;
+import game.event.GameEvents;
+import game.map.GameMap;
 import game.player.Player;
+import game.random.Zobrist;
 import game.resource.ResourceType;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Classe abstraite représentant une unité militaire
  * Toutes les unités héritent de cette classe
+ *
+ * L'unité tient sa clé de Zobrist (type, propriétaire, tranche de PV, position,
+ * hasActed) à jour à chaque modification ; tant qu'elle est dans la liste de son
+ * propriétaire, celui-ci la compte dans son empreinte (voir Player.getZobristKey).
  */
 public abstract class Unit {
     protected String name;
@@ -19,10 +27,15 @@ public abstract class Unit {
     protected int defense;
     protected int range;           // Portée d'attaque (1 = corps à corps)
     protected int movementPoints;  // Points de déplacement par tour
+    protected int visionRange;     // Rayon de vision (voir game.vision.VisibilityMap)
     protected int x;               // Position X sur la carte
     protected int y;               // Position Y sur la carte
     protected boolean hasActed;    // Si l'unité a déjà agi ce tour
     protected Map<ResourceType, Integer> cost;
+    private final long typeKey;
+    private long zobristKey;
+    private boolean listed;        // Comptée dans l'empreinte du propriétaire
+    private GameMap map;           // Dernière carte où l'unité a été posée, prévenue de sa mort
 
     /**
      * Constructeur de l'unité
@@ -33,8 +46,10 @@ public abstract class Unit {
         this.x = x;
         this.y = y;
         this.hasActed = false;
-        this.cost = new HashMap<>();
+        this.cost = new EnumMap<>(ResourceType.class);
         initializeStats();
+        this.typeKey = Zobrist.type(getClass());
+        rekey();
     }
 
     /**
@@ -50,7 +65,7 @@ public abstract class Unit {
      */
     public int attack(Unit target) {
         if (this.hasActed) {
-            System.out.println(this.name + " a déjà agi ce tour !");
+            GameEvents.sink().onActionRejected(this, target.getX(), target.getY(), ActionRejection.ALREADY_ACTED);
             return 0;
         }
 
@@ -58,10 +73,8 @@ public abstract class Unit {
         int damage = Math.max(1, this.attack - target.defense);
         
         target.takeDamage(damage);
-        this.hasActed = true;
-
-        System.out.println(this.name + " attaque " + target.getName() + 
-                         " et inflige " + damage + " dégâts !");
+        setHasActed(true);
+        GameEvents.sink().onAttack(this, target, damage, 0, false);
 
         return damage;
     }
@@ -74,6 +87,9 @@ public abstract class Unit {
         this.currentHealth -= damage;
         if (this.currentHealth <= 0) {
             this.currentHealth = 0;
+        }
+        rekey();
+        if (this.currentHealth == 0) {
             die();
         }
     }
@@ -84,7 +100,8 @@ public abstract class Unit {
      */
     public void heal(int amount) {
         this.currentHealth = Math.min(this.currentHealth + amount, this.maxHealth);
-        System.out.println(this.name + " récupère " + amount + " PV !");
+        rekey();
+        GameEvents.sink().onUnitHealed(this, amount);
     }
 
     /**
@@ -93,10 +110,13 @@ public abstract class Unit {
      * @param newY Nouvelle position Y
      */
     public void moveTo(int newX, int newY) {
+        int fromX = this.x;
+        int fromY = this.y;
         this.x = newX;
         this.y = newY;
         this.hasActed = true;
-        System.out.println(this.name + " se déplace vers (" + newX + ", " + newY + ")");
+        rekey();
+        GameEvents.sink().onUnitMoved(this, fromX, fromY, newX, newY);
     }
 
     /**
@@ -122,7 +142,10 @@ public abstract class Unit {
      * L'unité meurt
      */
     protected void die() {
-        System.out.println(this.name + " est mort !");
+        GameEvents.sink().onUnitDied(this);
+        if (map != null) {
+            map.unitDied(this);
+        }
         if (owner != null) {
             owner.removeUnit(this);
         }
@@ -139,7 +162,19 @@ public abstract class Unit {
      * Réinitialise l'état de l'unité pour un nouveau tour
      */
     public void resetTurn() {
-        this.hasActed = false;
+        setHasActed(false);
+    }
+
+    /**
+     * Recalcule la clé de Zobrist après une modification et la reporte sur le propriétaire
+     */
+    protected void rekey() {
+        long previous = zobristKey;
+        zobristKey = Zobrist.unit(typeKey, owner != null ? owner.getOwnerKey() : 0,
+                                  Zobrist.healthBucket(currentHealth, maxHealth), x, y, hasActed);
+        if (listed && previous != zobristKey) {
+            owner.replaceKey(previous, zobristKey);
+        }
     }
 
     /**
@@ -154,6 +189,7 @@ public abstract class Unit {
         System.out.println("Défense: " + defense);
         System.out.println("Portée: " + range);
         System.out.println("Déplacement: " + movementPoints);
+        System.out.println("Vision: " + visionRange);
         System.out.println("Statut: " + (hasActed ? "A agi" : "Prêt"));
     }
 
@@ -190,6 +226,10 @@ public abstract class Unit {
         return movementPoints;
     }
 
+    public int getVisionRange() {
+        return visionRange;
+    }
+
     public int getX() {
         return x;
     }
@@ -204,10 +244,41 @@ public abstract class Unit {
 
     public void setHasActed(boolean hasActed) {
         this.hasActed = hasActed;
+        rekey();
+    }
+
+    /**
+     * Clé de Zobrist de l'état de l'unité (voir Zobrist.unit)
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Clé du type d'unité (voir Zobrist.type)
+     */
+    public long getTypeKey() {
+        return typeKey;
+    }
+
+    /**
+     * Appelée par Player.addUnit et removeUnit : une unité listée reporte ses
+     * changements de clé sur l'empreinte de son propriétaire
+     */
+    public void setListed(boolean listed) {
+        this.listed = listed;
+    }
+
+    /**
+     * Appelée par GameMap.setUnitAt : la carte est prévenue quand l'unité meurt
+     * (son cadavre reste posé, mais n'exerce plus de zone de contrôle)
+     */
+    public void setMap(GameMap map) {
+        this.map = map;
     }
 
     public Map<ResourceType, Integer> getCost() {
-        return new HashMap<>(cost);
+        return new EnumMap<>(cost);
     }
 
     @Override
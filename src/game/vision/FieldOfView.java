@@ -0,0 +1,173 @@
+package game.vision;
+
+import game.map.GameMap;
+
+import java.util.Arrays;
+
+/**
+ * Champ de vision par ombrage récursif (recursive shadowcasting)
+ *
+ * Le disque de vision est parcouru octant par octant, ligne par ligne en s'éloignant
+ * de l'origine ; chaque ligne est balayée entre deux pentes, et une case opaque
+ * (TileType.blocksSight : Forêt, Montagne) réduit l'intervalle des lignes suivantes,
+ * la partie cachée derrière elle étant relancée comme sous-balayage. Une case opaque
+ * est elle-même visible. Chaque case n'est visitée qu'une fois par octant : le coût
+ * est proportionnel à la surface réellement vue, pas à rayon × nombre de rayons.
+ *
+ * Une case est dans le disque si dx² + dy² ≤ r² + r (bord arrondi, sans pointes sur
+ * les axes). L'origine est toujours visible ; les cases hors carte sont opaques.
+ *
+ * Les cases vues sont lisibles via getCell (index y * largeur + x, sans doublon).
+ * Une instance réutilise ses tableaux de travail : une par thread.
+ */
+public class FieldOfView {
+    // Transformation (xx, xy, yx, yy) de chacun des 8 octants
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}, {-1, 0, 0, 1},
+        {-1, 0, 0, -1}, {0, -1, -1, 0}, {0, 1, -1, 0}, {1, 0, 0, -1}
+    };
+
+    private final GameMap map;
+    private final int width;
+
+    // Requête en cours
+    private int originX;
+    private int originY;
+    private int radius;
+    private int radiusSquared;      // r² + r
+    private int side;               // Côté de la fenêtre de dédoublonnage (2r + 1)
+    private int[] stamps;           // Génération où chaque case de la fenêtre a été vue
+    private int generation;
+
+    // Résultat de la dernière requête
+    private int[] cells;
+    private int cellCount;
+
+    public FieldOfView(GameMap map) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.stamps = new int[0];
+        this.generation = 0;
+        this.cells = new int[64];
+        this.cellCount = 0;
+    }
+
+    /**
+     * Calcule les cases visibles depuis (x, y) dans un rayon donné
+     * @return Nombre de cases visibles (origine comprise)
+     */
+    public int compute(int x, int y, int visionRadius) {
+        cellCount = 0;
+        if (!map.isValidPosition(x, y) || visionRadius < 0) {
+            return 0;
+        }
+        originX = x;
+        originY = y;
+        radius = visionRadius;
+        radiusSquared = visionRadius * visionRadius + visionRadius;
+        prepareWindow();
+
+        reveal(x, y);
+        for (int[] octant : OCTANTS) {
+            castLight(1, 1.0, 0.0, octant[0], octant[1], octant[2], octant[3]);
+        }
+        return cellCount;
+    }
+
+    /**
+     * Balaye les lignes row..radius d'un octant entre les pentes start et end
+     */
+    private void castLight(int row, double start, double end, int xx, int xy, int yx, int yy) {
+        if (start < end) {
+            return;
+        }
+        double nextStart = start;
+        for (int j = row; j <= radius; j++) {
+            boolean blocked = false;
+            int dy = -j;
+            for (int dx = -j; dx <= 0; dx++) {
+                double leftSlope = (dx - 0.5) / (dy + 0.5);
+                double rightSlope = (dx + 0.5) / (dy - 0.5);
+                if (start < rightSlope) {
+                    continue;
+                }
+                if (end > leftSlope) {
+                    break;
+                }
+
+                int x = originX + dx * xx + dy * xy;
+                int y = originY + dx * yx + dy * yy;
+                if (dx * dx + dy * dy <= radiusSquared && map.isValidPosition(x, y)) {
+                    reveal(x, y);
+                }
+
+                boolean opaque = isOpaque(x, y);
+                if (blocked) {
+                    if (opaque) {
+                        nextStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        start = nextStart;
+                    }
+                } else if (opaque && j < radius) {
+                    blocked = true;
+                    castLight(j + 1, start, leftSlope, xx, xy, yx, yy);
+                    nextStart = rightSlope;
+                }
+            }
+            if (blocked) {
+                break;
+            }
+        }
+    }
+
+    private boolean isOpaque(int x, int y) {
+        return !map.isValidPosition(x, y) || map.getTileType(x, y).blocksSight();
+    }
+
+    /**
+     * Ajoute une case au résultat si elle n'y est pas déjà (axes et diagonales
+     * sont partagés par deux octants)
+     */
+    private void reveal(int x, int y) {
+        int local = (y - originY + radius) * side + (x - originX + radius);
+        if (stamps[local] == generation) {
+            return;
+        }
+        stamps[local] = generation;
+        if (cellCount == cells.length) {
+            cells = Arrays.copyOf(cells, cellCount * 2);
+        }
+        cells[cellCount++] = y * width + x;
+    }
+
+    private void prepareWindow() {
+        side = 2 * radius + 1;
+        if (stamps.length < side * side) {
+            stamps = new int[side * side];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Case visible numéro i de la dernière requête (index y * largeur + x)
+     */
+    public int getCell(int i) {
+        return cells[i];
+    }
+
+    /**
+     * Copie des cases visibles de la dernière requête
+     */
+    public int[] snapshotCells() {
+        return Arrays.copyOf(cells, cellCount);
+    }
+}
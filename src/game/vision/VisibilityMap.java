@@ -0,0 +1,311 @@
+package game.vision;
+
+import game.building.Building;
+import game.map.Bitboard;
+import game.map.GameMap;
+import game.map.MapListener;
+import game.player.Player;
+import game.unit.Unit;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brouillard de guerre : cases vues maintenant et cases déjà explorées, par joueur
+ *
+ * Chaque unité voit dans son rayon de vision (Unit.getVisionRange), chaque bâtiment
+ * dans un rayon de BUILDING_VISION, selon FieldOfView (la Forêt et la Montagne
+ * cachent ce qui est derrière elles). Par joueur, la carte tient le nombre de ses
+ * sources qui voient chaque case, un bitboard des cases vues (compteur non nul) et
+ * un bitboard des cases explorées (vues au moins une fois).
+ *
+ * Le terrain ne change pas et les unités ne bloquent pas la vue : seul le champ de
+ * vision d'une source qui a bougé est à recalculer. La carte s'abonne à GameMap pour
+ * suivre les poses, déplacements, retraits et morts : seules les sources signalées
+ * sont recalculées (ou retirées, si l'unité est morte ou n'est plus sur la carte)
+ * au rafraîchissement, fait paresseusement avant chaque requête. Sans changement
+ * en attente, une requête est en O(1).
+ *
+ * Les cases vues et explorées du joueur observateur sont aussi recopiées dans la
+ * carte (Tile.isVisible, Tile.isExplored) pour l'affichage.
+ */
+public class VisibilityMap implements MapListener {
+    /** Rayon de vision des bâtiments */
+    public static final int BUILDING_VISION = 2;
+
+    private final GameMap map;
+    private final int width;
+    private final Player viewer;
+    private final FieldOfView fieldOfView;
+    private final Map<Player, Layer> layers;
+    private final Map<Object, Sight> sights;       // Par unité ou bâtiment
+    private final List<Sight> dirty;
+
+    /**
+     * @param viewer Joueur dont la vue est recopiée dans la carte (null : aucun)
+     */
+    public VisibilityMap(GameMap map, Player viewer) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.viewer = viewer;
+        this.fieldOfView = new FieldOfView(map);
+        this.layers = new IdentityHashMap<>();
+        this.sights = new IdentityHashMap<>();
+        this.dirty = new ArrayList<>();
+        trackExisting();
+        map.addListener(this);
+    }
+
+    /**
+     * Suit les unités et bâtiments déjà posés en parcourant les bitboards d'occupation
+     */
+    private void trackExisting() {
+        Bitboard units = map.getUnitBoard();
+        for (int cell = units.nextSetBit(0); cell >= 0; cell = units.nextSetBit(cell + 1)) {
+            track(map.getUnitAt(cell % width, cell / width));
+        }
+        Bitboard buildings = map.getBuildingBoard();
+        for (int cell = buildings.nextSetBit(0); cell >= 0; cell = buildings.nextSetBit(cell + 1)) {
+            trackBuilding(map.getBuildingAt(cell % width, cell / width), cell % width, cell / width);
+        }
+    }
+
+    @Override
+    public void onUnitChanged(int x, int y, Unit previous, Unit current) {
+        if (previous != null) {
+            markDirty(sights.get(previous));
+        }
+        if (current != null) {
+            track(current);
+        }
+    }
+
+    @Override
+    public void onUnitDied(int x, int y, Unit unit) {
+        markDirty(sights.get(unit));
+    }
+
+    @Override
+    public void onBuildingChanged(int x, int y, Building previous, Building current) {
+        if (previous != null) {
+            Sight sight = sights.remove(previous);
+            if (sight != null) {
+                sight.removed = true;
+                remove(sight);
+            }
+        }
+        if (current != null) {
+            trackBuilding(current, x, y);
+        }
+    }
+
+    /**
+     * Recalcule entièrement tous les champs de vision (référence pour les mesures)
+     */
+    public void recomputeAll() {
+        for (Sight sight : sights.values()) {
+            markDirty(sight);
+        }
+        refresh();
+    }
+
+    /**
+     * Applique les changements signalés par la carte : retire les unités mortes ou
+     * qui ne sont plus sur la carte, puis recalcule les champs de vision des sources
+     * qui ont bougé
+     */
+    public void refresh() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (Sight sight : dirty) {
+            sight.dirty = false;
+            if (sight.removed) {
+                continue;
+            }
+            remove(sight);
+            Unit unit = sight.unit;
+            if (unit != null && (!unit.isAlive() || !isOnMap(unit))) {
+                sight.removed = true;
+                sights.remove(unit);
+                continue;
+            }
+            add(sight);
+        }
+        dirty.clear();
+    }
+
+    // ===== Requêtes =====
+
+    /**
+     * Vrai si une unité ou un bâtiment du joueur voit la case en ce moment
+     */
+    public boolean isVisible(Player player, int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return false;
+        }
+        refresh();
+        Layer layer = layers.get(player);
+        return layer != null && layer.visible.get(x, y);
+    }
+
+    /**
+     * Vrai si le joueur a déjà vu la case
+     */
+    public boolean isExplored(Player player, int x, int y) {
+        if (!map.isValidPosition(x, y)) {
+            return false;
+        }
+        refresh();
+        Layer layer = layers.get(player);
+        return layer != null && layer.explored.get(x, y);
+    }
+
+    /**
+     * Cases vues en ce moment par le joueur (à lire sans modifier)
+     */
+    public Bitboard getVisibleBoard(Player player) {
+        refresh();
+        return layerOf(player).visible;
+    }
+
+    /**
+     * Cases déjà vues par le joueur (à lire sans modifier)
+     */
+    public Bitboard getExploredBoard(Player player) {
+        refresh();
+        return layerOf(player).explored;
+    }
+
+    public Player getViewer() {
+        return viewer;
+    }
+
+    // ===== Mise à jour =====
+
+    private void track(Unit unit) {
+        Sight sight = sights.get(unit);
+        if (sight == null) {
+            sight = new Sight(unit.getOwner(), unit);
+            sights.put(unit, sight);
+        }
+        markDirty(sight);
+    }
+
+    private void trackBuilding(Building building, int x, int y) {
+        Sight sight = new Sight(building.getOwner(), null);
+        sight.x = x;
+        sight.y = y;
+        sights.put(building, sight);
+        markDirty(sight);
+    }
+
+    private void markDirty(Sight sight) {
+        if (sight != null && !sight.dirty) {
+            sight.dirty = true;
+            dirty.add(sight);
+        }
+    }
+
+    private boolean isOnMap(Unit unit) {
+        return map.isValidPosition(unit.getX(), unit.getY())
+                && map.getUnitAt(unit.getX(), unit.getY()) == unit;
+    }
+
+    /**
+     * Calcule le champ de vision de la source à sa position actuelle et l'ajoute
+     * aux compteurs de son propriétaire
+     */
+    private void add(Sight sight) {
+        int radius = BUILDING_VISION;
+        if (sight.unit != null) {
+            sight.x = sight.unit.getX();
+            sight.y = sight.unit.getY();
+            radius = sight.unit.getVisionRange();
+        }
+        fieldOfView.compute(sight.x, sight.y, radius);
+        sight.cells = fieldOfView.snapshotCells();
+
+        Layer layer = layerOf(sight.owner);
+        boolean mirrored = sight.owner == viewer;
+        for (int cell : sight.cells) {
+            if (layer.counts[cell]++ == 0) {
+                int x = cell % width;
+                int y = cell / width;
+                layer.visible.set(x, y);
+                layer.explored.set(x, y);
+                if (mirrored) {
+                    map.setVisible(x, y, true);
+                    map.setExplored(x, y, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retire des compteurs le dernier champ de vision calculé de la source
+     */
+    private void remove(Sight sight) {
+        int[] cells = sight.cells;
+        if (cells == null) {
+            return;
+        }
+        Layer layer = layerOf(sight.owner);
+        boolean mirrored = sight.owner == viewer;
+        for (int cell : cells) {
+            if (--layer.counts[cell] == 0) {
+                int x = cell % width;
+                int y = cell / width;
+                layer.visible.clear(x, y);
+                if (mirrored) {
+                    map.setVisible(x, y, false);
+                }
+            }
+        }
+        sight.cells = null;
+    }
+
+    private Layer layerOf(Player owner) {
+        Layer layer = layers.get(owner);
+        if (layer == null) {
+            layer = new Layer(map.getWidth(), map.getHeight());
+            layers.put(owner, layer);
+        }
+        return layer;
+    }
+
+    /**
+     * Vue d'un joueur
+     */
+    private static final class Layer {
+        final int[] counts;         // Sources du joueur qui voient chaque case (y * largeur + x)
+        final Bitboard visible;     // Cases dont le compteur est non nul
+        final Bitboard explored;    // Cases vues au moins une fois
+
+        Layer(int width, int height) {
+            this.counts = new int[width * height];
+            this.visible = new Bitboard(width, height);
+            this.explored = new Bitboard(width, height);
+        }
+    }
+
+    /**
+     * Dernier champ de vision calculé d'une unité ou d'un bâtiment
+     */
+    private static final class Sight {
+        final Player owner;
+        final Unit unit;            // null pour un bâtiment (position fixe)
+        int[] cells;                // Cases vues (null : pas encore calculé)
+        int x;                      // Position lors du calcul
+        int y;
+        boolean dirty;
+        boolean removed;
+
+        Sight(Player owner, Unit unit) {
+            this.owner = owner;
+            this.unit = unit;
+        }
+    }
+}